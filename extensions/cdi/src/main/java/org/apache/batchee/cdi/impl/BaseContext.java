@@ -56,12 +56,14 @@ public abstract class BaseContext implements Context {
         final ConcurrentMap<Contextual<?>, Instance<?>> storage = getOrCreateCurrentStorage();
         Instance<T> instance = (Instance<T>) storage.get(component);
         if (instance == null) {
-            synchronized (this) {
+            // only the current execution storage is locked so other steps/partitions create their beans in parallel,
+            // not computeIfAbsent() since creating a bean can look up another bean of the same storage
+            synchronized (storage) {
                 instance = (Instance<T>)  storage.get(component);
                 if (instance == null) {
                     final T value = component.create(creationalContext);
                     instance = new Instance<T>(value, creationalContext);
-                    storage.putIfAbsent(component, instance);
+                    storage.put(component, instance);
                 }
             }
         }
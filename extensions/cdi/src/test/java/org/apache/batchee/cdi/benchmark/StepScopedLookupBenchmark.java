@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.cdi.benchmark;
+
+import org.apache.batchee.cdi.impl.BaseContext;
+import org.apache.batchee.cdi.scope.StepScoped;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64 partitions (threads), each one in its own step execution, creating then looking up their step scoped beans.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class StepScopedLookupBenchmark {
+    private static final int BEANS = 8;
+    private static final int LOOKUPS = 16;
+
+    @State(Scope.Benchmark)
+    public static class Scopes {
+        private final AtomicLong stepExecutionIds = new AtomicLong();
+        private final ThreadLocal<Long> currentStep = new ThreadLocal<Long>();
+        private final Contextual<?>[] beans = new Contextual<?>[BEANS];
+        private BaseContext context;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            for (int i = 0; i < BEANS; i++) {
+                beans[i] = new Bean();
+            }
+            context = new BaseContext(null) {
+                @Override
+                protected Long currentKey() {
+                    return currentStep.get();
+                }
+
+                @Override
+                public Class<? extends Annotation> getScope() {
+                    return StepScoped.class;
+                }
+            };
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void partitionStep(final Scopes scopes, final Blackhole blackhole) {
+        final Long step = scopes.stepExecutionIds.incrementAndGet();
+        scopes.currentStep.set(step);
+        try {
+            for (int i = 0; i < LOOKUPS; i++) {
+                final Contextual<Object> bean = (Contextual<Object>) scopes.beans[i % BEANS];
+                blackhole.consume(scopes.context.get(bean, new NoopCreationalContext()));
+            }
+        } finally {
+            scopes.context.endContext(step);
+            scopes.currentStep.remove();
+        }
+    }
+
+    private static class Bean implements Contextual<Object> {
+        @Override
+        public Object create(final CreationalContext<Object> creationalContext) {
+            Blackhole.consumeCPU(256); // injections, @PostConstruct...
+            return new Object();
+        }
+
+        @Override
+        public void destroy(final Object instance, final CreationalContext<Object> creationalContext) {
+            // no-op
+        }
+    }
+
+    private static class NoopCreationalContext implements CreationalContext<Object> {
+        @Override
+        public void push(final Object incompleteInstance) {
+            // no-op
+        }
+
+        @Override
+        public void release() {
+            // no-op
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StepScopedLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -21,19 +21,24 @@ import org.apache.batchee.doc.api.Documentation;
 import org.apache.batchee.extras.buffered.IteratorReader;
 import org.apache.batchee.extras.locator.BeanLocator;
 import org.apache.batchee.extras.transaction.CountedReader;
+import org.apache.batchee.extras.transaction.PositionedFileReader;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 import jakarta.batch.api.BatchProperty;
 import jakarta.inject.Inject;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.util.List;
 
 @Documentation("Reads a CSV file using commons-csv.")
 public class CommonsCsvReader extends CountedReader {
@@ -145,13 +150,18 @@ public class CommonsCsvReader extends CountedReader {
     private String readHeaders;
 
     private IteratorReader<CSVRecord> iterator;
+    private CSVFormat csvFormat;
     private CSVParser parser;
+    private PositionedFileReader positionedReader;
+    private long lastRecordPosition = -1;
     private BeanLocator.LocatorInstance<CsvReaderMapper> mapperInstance;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
-        final CSVFormat csvFormat = newFormat();
-        parser = csvFormat.parse(newReader());
+        csvFormat = newFormat();
+        final Reader reader = newReader();
+        positionedReader = PositionedFileReader.class.isInstance(reader) ? PositionedFileReader.class.cast(reader) : null;
+        parser = csvFormat.parse(reader);
         iterator = new IteratorReader<CSVRecord>(parser.iterator());
 
         mapperInstance = mapper == null ?
@@ -165,10 +175,43 @@ public class CommonsCsvReader extends CountedReader {
 
     @Override
     protected Object doRead() throws Exception {
-        final CSVRecord read = iterator.read();
+        final CSVRecord read = nextRecord();
         return read != null ? mapperInstance.getValue().fromRecord(read) : null;
     }
 
+    @Override
+    protected long readPosition() throws Exception {
+        return lastRecordPosition;
+    }
+
+    @Override
+    protected boolean seek(final long position) throws Exception {
+        if (positionedReader == null) {
+            return false;
+        }
+
+        CSVFormat format = csvFormat;
+        if (format.getSkipHeaderRecord() || (format.getHeader() != null && format.getHeader().length == 0)) {
+            // the header is at the beginning of the file, reuse what was read but don't expect it anymore
+            final List<String> names = parser.getHeaderNames();
+            format = format.builder().setHeader(names.toArray(new String[names.size()])).setSkipHeaderRecord(false).build();
+        }
+
+        positionedReader.seek(position); // previous parser is just dropped, closing it would close the reader
+        parser = new CSVParser(positionedReader, format);
+        iterator = new IteratorReader<CSVRecord>(parser.iterator());
+        nextRecord(); // the position is the one of the last read record
+        return true;
+    }
+
+    private CSVRecord nextRecord() {
+        final CSVRecord read = iterator.read();
+        if (read != null && positionedReader != null) {
+            lastRecordPosition = positionedReader.positionOf(read.getCharacterPosition());
+        }
+        return read;
+    }
+
     @Override
     public void close() throws Exception {
         mapperInstance.release();
@@ -179,11 +222,17 @@ public class CommonsCsvReader extends CountedReader {
 
     protected Reader newReader() {
         try { // no need of BufferedReader since [csv] does it
+            final Charset charset = encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
+            if (PositionedFileReader.supports(charset)) { // allows to restart from the last record offset
+                return new PositionedFileReader(new File(input), charset, 0);
+            }
             return encoding != null ? new InputStreamReader(new FileInputStream(input), encoding) : new FileReader(input);
         } catch (final FileNotFoundException e) {
             throw new IllegalArgumentException(e);
         } catch (final UnsupportedEncodingException e) {
             throw new IllegalArgumentException(e);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e);
         }
     }
 
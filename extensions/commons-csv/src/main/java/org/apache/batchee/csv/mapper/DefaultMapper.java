@@ -20,35 +20,44 @@ import org.apache.batchee.csv.CsvReaderMapper;
 import org.apache.batchee.csv.CsvWriterMapper;
 import org.apache.commons.csv.CSVRecord;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
 public class DefaultMapper<T> implements CsvReaderMapper<T>, CsvWriterMapper<T> {
     private final Class<T> type;
-    private final CoercingConverter coercingConverter;
 
     private final SortedMap<Integer, Field> fieldByPosition = new TreeMap<Integer, Field>();
     private final SortedMap<String, Field> fieldByName = new TreeMap<String, Field>();
     private final SortedMap<Integer, String> headers = new TreeMap<Integer, String>();
     private final int maxIndex;
 
+    // bound once from the previous maps, used per row
+    private final MethodHandle constructor;
+    private final int[] readPositions;
+    private final FieldAccessor[] positionAccessors;
+    private final String[] readNames;
+    private final FieldAccessor[] nameAccessors;
+    private final FieldAccessor[] writeAccessors; // by index, null for a gap
+
     public DefaultMapper(final Class<T> type) {
         this(type, loadConverter());
     }
 
     protected DefaultMapper(final Class<T> type, final CoercingConverter coercingConverter) {
         this.type = type;
-        this.coercingConverter = coercingConverter;
 
         int higherIdx = -1;
 
         Class<?> current = type;
         while (current != Object.class) {
-            for (final Field field : type.getDeclaredFields()) {
+            for (final Field field : current.getDeclaredFields()) {
                 final Csv csv = field.getAnnotation(Csv.class);
                 if (csv != null) {
                     final int pos = csv.index();
@@ -72,17 +81,45 @@ public class DefaultMapper<T> implements CsvReaderMapper<T>, CsvWriterMapper<T>
                     if (pos > higherIdx) {
                         higherIdx = pos;
                     }
-
-
-                    if (!field.isAccessible()) {
-                        field.setAccessible(true);
-                    }
                 }
             }
             current = current.getSuperclass();
         }
 
         maxIndex = higherIdx;
+
+        readPositions = new int[fieldByPosition.size()];
+        positionAccessors = new FieldAccessor[fieldByPosition.size()];
+        writeAccessors = new FieldAccessor[maxIndex + 1];
+        int i = 0;
+        for (final Map.Entry<Integer, Field> f : fieldByPosition.entrySet()) {
+            readPositions[i] = f.getKey();
+            positionAccessors[i] = FieldAccessor.of(f.getValue(), coercingConverter);
+            writeAccessors[f.getKey()] = positionAccessors[i];
+            i++;
+        }
+        readNames = new String[fieldByName.size()];
+        nameAccessors = new FieldAccessor[fieldByName.size()];
+        i = 0;
+        for (final Map.Entry<String, Field> f : fieldByName.entrySet()) {
+            readNames[i] = f.getKey();
+            nameAccessors[i] = FieldAccessor.of(f.getValue(), coercingConverter);
+            i++;
+        }
+
+        MethodHandle ctor;
+        try {
+            final Constructor<T> noArg = type.getDeclaredConstructor();
+            if (!noArg.isAccessible()) {
+                noArg.setAccessible(true);
+            }
+            ctor = MethodHandles.lookup().unreflectConstructor(noArg).asType(MethodType.methodType(Object.class));
+        } catch (final NoSuchMethodException e) { // only fails if used for reading
+            ctor = null;
+        } catch (final IllegalAccessException e) {
+            ctor = null;
+        }
+        constructor = ctor;
     }
 
     public Iterable<String> getHeaders() {
@@ -91,67 +128,53 @@ public class DefaultMapper<T> implements CsvReaderMapper<T>, CsvWriterMapper<T>
 
     @Override
     public T fromRecord(final CSVRecord record) {
+        if (constructor == null) {
+            throw new IllegalStateException(new InstantiationException("No default constructor for " + type));
+        }
         try {
-            final T instance = type.newInstance();
-            for (final Map.Entry<Integer, Field> f : fieldByPosition.entrySet()) {
-                final String obj = record.get(f.getKey());
-                final Field field = f.getValue();
-                setField(instance, obj, field);
+            final T instance = type.cast((Object) constructor.invokeExact());
+            for (int i = 0; i < readPositions.length; i++) {
+                final String obj = record.get(readPositions[i]);
+                if (obj != null) {
+                    positionAccessors[i].set(instance, obj);
+                }
             }
-            for (final Map.Entry<String, Field> f : fieldByName.entrySet()) {
-                final String obj = record.get(f.getKey());
-                final Field field = f.getValue();
-                setField(instance, obj, field);
+            for (int i = 0; i < readNames.length; i++) {
+                final String obj = record.get(readNames[i]);
+                if (obj != null) {
+                    nameAccessors[i].set(instance, obj);
+                }
             }
             return instance;
-        } catch (final InstantiationException e) {
-            throw new IllegalStateException(e);
-        } catch (IllegalAccessException e) {
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable e) {
             throw new IllegalStateException(e);
         }
     }
 
     @Override
     public Iterable<String> toRecord(final T instance) {
-        final Collection<String> record = new LinkedList<String>();
-
-        for (int i = 0; i < maxIndex + 1; i++) {
-            final Field f = fieldByPosition.get(i);
-            if (f == null) {
-                record.add(null);
+        final String[] record = new String[writeAccessors.length]; // printed right away, a single array per row is enough
+        for (int i = 0; i < writeAccessors.length; i++) {
+            final FieldAccessor accessor = writeAccessors[i];
+            if (accessor == null) {
                 continue;
             }
 
             try {
-                final Object val = f.get(instance);
-                record.add(val == null ? "" : val.toString());
-            } catch (final IllegalAccessException e) {
+                record[i] = accessor.get(instance);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Error e) {
+                throw e;
+            } catch (final Throwable e) {
                 throw new IllegalStateException(e);
             }
         }
-
-        return record;
-    }
-
-    private void setField(final T instance, final String obj, final Field field) throws IllegalAccessException {
-        if (obj != null) {
-            field.set(instance, convert(field.getType(), obj));
-        }
-    }
-
-    private Object convert(final Class<?> type, final String value) {
-        if (String.class == type) {
-            return value;
-        }
-
-        if (coercingConverter != null) {
-            final Object val = coercingConverter.valueFor(type, value);
-            if (val != null) {
-                return val;
-            }
-        }
-
-        throw new IllegalArgumentException("Unsupported type " + type);
+        return Arrays.asList(record);
     }
 
     private static CoercingConverter loadConverter() {
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.csv.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * A @Csv field bound once: typed method handles and, for numeric primitives with the built-in converters,
+ * a parsing which doesn't box the value. Values the fast path can't parse go through the converter as before.
+ */
+abstract class FieldAccessor {
+    protected final Class<?> type;
+    protected final CoercingConverter converter;
+    protected final MethodHandle getter;
+    protected final MethodHandle setter;
+
+    private FieldAccessor(final Field field, final CoercingConverter converter, final Class<?> handleType) {
+        this.type = field.getType();
+        this.converter = converter;
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.getter = lookup.unreflectGetter(field).asType(MethodType.methodType(handleType, Object.class));
+            this.setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, handleType));
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static FieldAccessor of(final Field field, final CoercingConverter converter) {
+        final Class<?> type = field.getType();
+        final boolean builtInConverter = converter == Primitives.INSTANCE || converter == XBeanConverter.INSTANCE;
+        if (builtInConverter && int.class == type) {
+            return new IntAccessor(field, converter);
+        }
+        if (builtInConverter && long.class == type) {
+            return new LongAccessor(field, converter);
+        }
+        if (builtInConverter && double.class == type) {
+            return new DoubleAccessor(field, converter);
+        }
+        if (builtInConverter && float.class == type) {
+            return new FloatAccessor(field, converter);
+        }
+        return new ObjectAccessor(field, converter);
+    }
+
+    /**
+     * @param instance the bean to fill.
+     * @param value the non null cell value.
+     */
+    abstract void set(Object instance, String value) throws Throwable;
+
+    /**
+     * @param instance the bean to read.
+     * @return the cell value, empty string for null.
+     */
+    abstract String get(Object instance) throws Throwable;
+
+    protected Object convert(final String value) {
+        if (String.class == type) {
+            return value;
+        }
+
+        if (converter != null) {
+            final Object val = converter.valueFor(type, value);
+            if (val != null) {
+                return val;
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+
+    private static final class ObjectAccessor extends FieldAccessor {
+        private ObjectAccessor(final Field field, final CoercingConverter converter) {
+            super(field, converter, Object.class);
+        }
+
+        @Override
+        void set(final Object instance, final String value) throws Throwable {
+            setter.invokeExact(instance, convert(value));
+        }
+
+        @Override
+        String get(final Object instance) throws Throwable {
+            final Object val = (Object) getter.invokeExact(instance);
+            return val == null ? "" : val.toString();
+        }
+    }
+
+    private static final class IntAccessor extends FieldAccessor {
+        private IntAccessor(final Field field, final CoercingConverter converter) {
+            super(field, converter, int.class);
+        }
+
+        @Override
+        void set(final Object instance, final String value) throws Throwable {
+            int val;
+            if (value.isEmpty()) {
+                val = 0;
+            } else {
+                try {
+                    val = Integer.parseInt(value);
+                } catch (final NumberFormatException nfe) {
+                    val = Integer.class.cast(convert(value));
+                }
+            }
+            setter.invokeExact(instance, val);
+        }
+
+        @Override
+        String get(final Object instance) throws Throwable {
+            return Integer.toString((int) getter.invokeExact(instance));
+        }
+    }
+
+    private static final class LongAccessor extends FieldAccessor {
+        private LongAccessor(final Field field, final CoercingConverter converter) {
+            super(field, converter, long.class);
+        }
+
+        @Override
+        void set(final Object instance, final String value) throws Throwable {
+            long val;
+            if (value.isEmpty()) {
+                val = 0L;
+            } else {
+                try {
+                    val = Long.parseLong(value);
+                } catch (final NumberFormatException nfe) {
+                    val = Long.class.cast(convert(value));
+                }
+            }
+            setter.invokeExact(instance, val);
+        }
+
+        @Override
+        String get(final Object instance) throws Throwable {
+            return Long.toString((long) getter.invokeExact(instance));
+        }
+    }
+
+    private static final class DoubleAccessor extends FieldAccessor {
+        private DoubleAccessor(final Field field, final CoercingConverter converter) {
+            super(field, converter, double.class);
+        }
+
+        @Override
+        void set(final Object instance, final String value) throws Throwable {
+            double val;
+            if (value.isEmpty()) {
+                val = 0.;
+            } else {
+                try {
+                    val = Double.parseDouble(value);
+                } catch (final NumberFormatException nfe) {
+                    val = Double.class.cast(convert(value));
+                }
+            }
+            setter.invokeExact(instance, val);
+        }
+
+        @Override
+        String get(final Object instance) throws Throwable {
+            return Double.toString((double) getter.invokeExact(instance));
+        }
+    }
+
+    private static final class FloatAccessor extends FieldAccessor {
+        private FloatAccessor(final Field field, final CoercingConverter converter) {
+            super(field, converter, float.class);
+        }
+
+        @Override
+        void set(final Object instance, final String value) throws Throwable {
+            float val;
+            if (value.isEmpty()) {
+                val = 0.f;
+            } else {
+                try {
+                    val = Float.parseFloat(value);
+                } catch (final NumberFormatException nfe) {
+                    val = Float.class.cast(convert(value));
+                }
+            }
+            setter.invokeExact(instance, val);
+        }
+
+        @Override
+        String get(final Object instance) throws Throwable {
+            return Float.toString((float) getter.invokeExact(instance));
+        }
+    }
+}
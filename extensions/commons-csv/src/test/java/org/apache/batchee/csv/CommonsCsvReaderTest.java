@@ -24,7 +24,9 @@ import org.testng.annotations.Test;
 import jakarta.batch.api.chunk.ItemProcessor;
 import jakarta.batch.operations.JobOperator;
 import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.BatchStatus;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
@@ -51,6 +53,45 @@ public class CommonsCsvReaderTest {
         }
     }
 
+    @Test
+    public void restartWithHeader() throws Exception {
+        final String path = "target/work/CommonsCsvReaderRestartTest.txt";
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("input", path);
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        IOs.write(path, "a,b\nv11,v12\nv21,v22\nv31,v32\nv41,v42\nv51,v52");
+        final long id = jobOperator.start("csv-reader-restart", jobParams);
+        Batches.waitForEnd(jobOperator, id);
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        assertEquals(FailOnce.ITEMS, Arrays.asList("v11/v12", "v21/v22"));
+
+        FailOnce.ITEMS.clear();
+        final long restartId = jobOperator.restart(id, jobParams);
+        Batches.waitForEnd(jobOperator, restartId);
+        assertEquals(jobOperator.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+        // restarted after the last committed record and the header names are still known
+        assertEquals(FailOnce.ITEMS, Arrays.asList("v31/v32", "v41/v42", "v51/v52"));
+    }
+
+    public static class FailOnce implements ItemProcessor {
+        public static final List<String> ITEMS = new ArrayList<String>();
+        private static boolean failed = false;
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            final CSVRecord record = CSVRecord.class.cast(item);
+            final String value = record.get("a") + '/' + record.get("b");
+            if (!failed && "v31/v32".equals(value)) {
+                failed = true;
+                throw new IllegalStateException("fail once");
+            }
+            ITEMS.add(value);
+            return item;
+        }
+    }
+
     public static class StoreItems implements ItemProcessor {
         public static final List<CSVRecord> ITEMS = new ArrayList<CSVRecord>(3);
 
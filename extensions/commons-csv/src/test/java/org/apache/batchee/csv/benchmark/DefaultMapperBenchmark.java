@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.csv.benchmark;
+
+import org.apache.batchee.csv.mapper.Csv;
+import org.apache.batchee.csv.mapper.DefaultMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the record to bean (reader) and bean to record (writer) mapping of the default mapper
+ * on a mix of primitive and string columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultMapperBenchmark {
+    private static final int ROWS = 1000;
+
+    private DefaultMapper<Row> mapper;
+    private List<CSVRecord> records;
+    private Row[] rows;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(i).append(',').append(i * 1000L).append(',').append(i / 3.).append(",name").append(i).append(",label").append(i).append('\n');
+        }
+
+        mapper = new DefaultMapper<Row>(Row.class);
+        records = CSVFormat.DEFAULT.parse(new StringReader(csv.toString())).getRecords();
+        rows = new Row[records.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = mapper.fromRecord(records.get(i));
+        }
+    }
+
+    @Benchmark
+    public void fromRecord(final Blackhole blackhole) {
+        for (final CSVRecord record : records) {
+            blackhole.consume(mapper.fromRecord(record));
+        }
+    }
+
+    @Benchmark
+    public void toRecord(final Blackhole blackhole) {
+        for (final Row row : rows) {
+            blackhole.consume(mapper.toRecord(row));
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DefaultMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    public static class Row {
+        @Csv(index = 0)
+        private int id;
+
+        @Csv(index = 1)
+        private long amount;
+
+        @Csv(index = 2)
+        private double ratio;
+
+        @Csv(index = 3)
+        private String name;
+
+        @Csv(index = 4)
+        private String label;
+    }
+}
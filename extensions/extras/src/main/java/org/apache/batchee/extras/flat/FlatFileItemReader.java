@@ -19,6 +19,7 @@ package org.apache.batchee.extras.flat;
 import org.apache.batchee.doc.api.Documentation;
 import org.apache.batchee.extras.locator.BeanLocator;
 import org.apache.batchee.extras.transaction.CountedReader;
+import org.apache.batchee.extras.transaction.PositionedFileReader;
 
 import jakarta.batch.api.BatchProperty;
 import jakarta.batch.api.chunk.ItemReader;
@@ -28,6 +29,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.Serializable;
+import java.nio.charset.Charset;
 
 @Documentation("Reads a flat file.")
 public class FlatFileItemReader extends CountedReader implements ItemReader {
@@ -51,7 +53,8 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
     @Documentation("Comments prefix marker (default #)")
     private String commentStr;
 
-    private BufferedReader reader = null;
+    private PositionedFileReader reader = null;
+    private BufferedReader fallbackReader = null;
     private String[] comments = new String[0];
     private BeanLocator.LocatorInstance<LineMapper> mapper;
 
@@ -75,7 +78,12 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
         }
         comments = commentStr.split(",");
 
-        reader = new BufferedReader(new FileReader(file));
+        final Charset charset = Charset.defaultCharset();
+        if (PositionedFileReader.supports(charset)) {
+            reader = new PositionedFileReader(file, charset, 0);
+        } else {
+            fallbackReader = new BufferedReader(new FileReader(file));
+        }
         super.open(checkpoint);
     }
 
@@ -84,6 +92,9 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
         if (reader != null) {
             reader.close();
         }
+        if (fallbackReader != null) {
+            fallbackReader.close();
+        }
         if (mapper != null) {
             mapper.release();
         }
@@ -93,7 +104,7 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
     protected Object doRead() throws Exception {
         String line;
         do {
-            line = reader.readLine();
+            line = reader != null ? reader.readLine() : fallbackReader.readLine();
             if (line == null) {
                 return null;
             }
@@ -102,6 +113,20 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
         return preReturn(line, items);
     }
 
+    @Override
+    protected long readPosition() throws Exception {
+        return reader != null ? reader.position() : -1;
+    }
+
+    @Override
+    protected boolean seek(final long position) throws Exception {
+        if (reader == null) {
+            return false;
+        }
+        reader.seek(position);
+        return true;
+    }
+
     protected boolean isComment(final String line) {
         for (final String prefix : comments) {
             if (line.startsWith(prefix)) {
@@ -80,6 +80,7 @@ public class StaxItemReader extends CountedReader implements ItemReader {
             throw new BatchRuntimeException("Can't find input '" + input + "'");
         }
 
+        // no readPosition()/seek(): JDK StAX character offsets drift from the real ones, a restart re-reads the items
         reader = XMLInputFactory.newInstance().createXMLEventReader(is);
 
         super.open(checkpoint);
@@ -32,6 +32,13 @@ public abstract class CountedReader implements ItemReader {
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
+        if (Position.class.isInstance(checkpoint)) {
+            final Position position = Position.class.cast(checkpoint);
+            if (seek(position.getOffset())) {
+                items = position.getItems();
+                return;
+            }
+        }
         if (checkpoint != null && Number.class.isInstance(checkpoint)) {
             items = Number.class.cast(checkpoint).longValue();
             if (items > 0) {
@@ -47,6 +54,21 @@ public abstract class CountedReader implements ItemReader {
 
     protected abstract Object doRead() throws Exception;
 
+    /**
+     * @return the byte offset in the input to restart from or a negative value if the reader can't be repositioned.
+     */
+    protected long readPosition() throws Exception {
+        return -1;
+    }
+
+    /**
+     * @param position a value previously returned by {@link #readPosition()}.
+     * @return false if the input can't be repositioned, already read items are then read again and ignored.
+     */
+    protected boolean seek(final long position) throws Exception {
+        return false;
+    }
+
     @Override
     public Object readItem() throws Exception {
         final Object s = doRead();
@@ -58,6 +80,56 @@ public abstract class CountedReader implements ItemReader {
 
     @Override
     public Serializable checkpointInfo() throws Exception {
+        final long position = readPosition();
+        if (position >= 0) {
+            return new Position(items, position);
+        }
         return items;
     }
+
+    /**
+     * Checkpoint of readers able to seek, still a Number (the item count) to restart readers which can't.
+     */
+    public static class Position extends Number {
+        private final long items;
+        private final long offset;
+
+        public Position(final long items, final long offset) {
+            this.items = items;
+            this.offset = offset;
+        }
+
+        public long getItems() {
+            return items;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        @Override
+        public int intValue() {
+            return (int) items;
+        }
+
+        @Override
+        public long longValue() {
+            return items;
+        }
+
+        @Override
+        public float floatValue() {
+            return items;
+        }
+
+        @Override
+        public double doubleValue() {
+            return items;
+        }
+
+        @Override
+        public String toString() {
+            return "Position{items=" + items + ", offset=" + offset + '}';
+        }
+    }
 }
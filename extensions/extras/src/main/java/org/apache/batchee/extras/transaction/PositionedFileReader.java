@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.extras.transaction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Reads a file line by line keeping track of the byte offset of each line
+ * so a reader can checkpoint it and seek back to it on restart.
+ *
+ * As a {@link Reader} the file is decoded by segments (a line or at most 8k bytes of a long line)
+ * and {@link #positionOf(long)} maps a character offset of a segment still in memory to its byte offset
+ * so parsers reporting character offsets (csv, JSON-P, StAX...) can checkpoint any position, not only line starts.
+ * Malformed input is replaced, offsets after it are then approximate.
+ *
+ * Only charsets encoding '\r' and '\n' on a single byte which never appears
+ * in another character are supported (ASCII, ISO-8859-*, UTF-8...), see {@link #supports(Charset)}.
+ */
+public class PositionedFileReader extends Reader {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharsetDecoder decoder;
+    private final CharsetEncoder encoder;
+    private final Deque<Segment> segments = new ArrayDeque<Segment>();
+    private byte[] line = new byte[256];
+    private long position;
+    private long chars;
+    private int carry; // bytes of an incomplete character at the end of the last segment
+    private Segment pending;
+    private int pendingIndex;
+
+    public PositionedFileReader(final File file, final Charset charset, final long offset) throws IOException {
+        if (!supports(charset)) {
+            throw new IllegalArgumentException("Line positions can't be computed with " + charset);
+        }
+        this.charset = charset;
+        this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.channel = new RandomAccessFile(file, "r").getChannel();
+        seek(offset);
+    }
+
+    public static boolean supports(final Charset charset) {
+        return Arrays.equals("\r\n".getBytes(charset), new byte[] { '\r', '\n' });
+    }
+
+    /**
+     * @param offset the byte offset of a line start or of a character, typically a previous {@link #position()} or {@link #positionOf(long)}.
+     * @throws IOException if the file is smaller than the offset.
+     */
+    public void seek(final long offset) throws IOException {
+        if (channel.size() < offset) {
+            throw new IOException("File seems too small to restart at " + offset);
+        }
+        channel.position(offset);
+        buffer.clear();
+        buffer.flip();
+        decoder.reset();
+        segments.clear();
+        position = offset;
+        chars = 0;
+        carry = 0;
+        pending = null;
+        pendingIndex = 0;
+    }
+
+    /**
+     * @return the byte offset of the next line to read.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * @param charOffset an offset in the characters read through the {@link Reader} API since the last seek,
+     *                   calls are expected with increasing offsets.
+     * @return the byte offset of this character or -1 if unknown. Segments before it are forgotten.
+     */
+    public long positionOf(final long charOffset) {
+        while (!segments.isEmpty() && segments.peekFirst().end() < charOffset) {
+            segments.pollFirst();
+        }
+        final Segment segment = segments.peekFirst();
+        if (segment == null || segment.chars > charOffset) {
+            return -1;
+        }
+
+        final int index = (int) (charOffset - segment.chars);
+        if (index < segment.markIndex) {
+            segment.markIndex = 0;
+            segment.markBytes = 0;
+        }
+        try { // encode only what is after the previous call, offsets mainly move forward
+            segment.markBytes += encoder.encode(CharBuffer.wrap(segment.text, segment.markIndex, index - segment.markIndex)).remaining();
+        } catch (final CharacterCodingException e) { // can't happen with REPLACE
+            return -1;
+        }
+        segment.markIndex = index;
+        return segment.bytes + segment.markBytes;
+    }
+
+    /**
+     * @return the next line without its separator or null at the end of the file.
+     */
+    public String readLine() throws IOException {
+        final int length = nextLine();
+        return length < 0 ? null : new String(line, 0, length, charset);
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (pending == null || pendingIndex == pending.text.length) {
+            pending = nextSegment();
+            if (pending == null) {
+                return -1;
+            }
+            pendingIndex = 0;
+        }
+
+        final int count = Math.min(len, pending.text.length - pendingIndex);
+        System.arraycopy(pending.text, pendingIndex, cbuf, off, count);
+        pendingIndex += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int nextLine() throws IOException {
+        int length = 0;
+        boolean read = false;
+        while (buffer.hasRemaining() || fill()) {
+            read = true;
+            final byte b = buffer.get();
+            position++;
+            if (b == '\n' || b == '\r') {
+                if (b == '\r' && (buffer.hasRemaining() || fill()) && buffer.get(buffer.position()) == '\n') {
+                    buffer.get();
+                    position++;
+                }
+                return length;
+            }
+            length = append(length, b);
+        }
+        return read ? length : -1;
+    }
+
+    private Segment nextSegment() throws IOException {
+        final long start = position - carry;
+        int length = carry;
+        boolean read = false;
+        while (length - carry < BUFFER_SIZE && (buffer.hasRemaining() || fill())) {
+            read = true;
+            final byte b = buffer.get();
+            position++;
+            length = append(length, b);
+            if (b == '\n') {
+                break;
+            }
+        }
+        if (!read && carry == 0) {
+            return null;
+        }
+
+        final ByteBuffer in = ByteBuffer.wrap(line, 0, length);
+        final CharBuffer out = CharBuffer.allocate((int) (length * decoder.maxCharsPerByte()) + 2);
+        decoder.decode(in, out, !read);
+        if (!read) {
+            decoder.flush(out);
+        }
+        carry = in.remaining();
+        System.arraycopy(line, in.position(), line, 0, carry);
+
+        out.flip();
+        final char[] text = new char[out.remaining()];
+        out.get(text);
+        final Segment segment = new Segment(chars, start, text);
+        chars += text.length;
+        segments.add(segment);
+        return segment;
+    }
+
+    private int append(final int length, final byte b) {
+        if (length == line.length) {
+            line = Arrays.copyOf(line, length * 2);
+        }
+        line[length] = b;
+        return length + 1;
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read > 0;
+    }
+
+    private static class Segment {
+        private final long chars;
+        private final long bytes;
+        private final char[] text;
+        private int markIndex;
+        private long markBytes;
+
+        private Segment(final long chars, final long bytes, final char[] text) {
+            this.chars = chars;
+            this.bytes = bytes;
+            this.text = text;
+        }
+
+        private long end() {
+            return chars + text.length;
+        }
+    }
+}
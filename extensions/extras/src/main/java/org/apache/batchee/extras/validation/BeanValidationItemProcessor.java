@@ -41,10 +41,12 @@ public class BeanValidationItemProcessor implements ItemProcessor {
     @Documentation("whether a validation failure throws a ConstraintViolationException or just returns null")
     private String skipNotValidated;
 
+    private volatile Validator validator;
+    private volatile Class<?>[] groups;
+
     @Override
     public Object processItem(final Object item) throws Exception {
-        final Validator validator = getValidator();
-        final Set<ConstraintViolation<Object>> result = validate(validator, item);
+        final Set<ConstraintViolation<Object>> result = validator().validate(item, groups());
         if (result != null && !result.isEmpty()) {
             if (Boolean.parseBoolean(skipNotValidated)) {
                 return null;
@@ -54,14 +56,28 @@ public class BeanValidationItemProcessor implements ItemProcessor {
         return item;
     }
 
-    private Set<ConstraintViolation<Object>> validate(final Validator validator, final Object item) throws ClassNotFoundException {
-        final Set<ConstraintViolation<Object>> result;
-        if (group == null) {
-            result = validator.validate(item);
-        } else {
-            result = validator.validate(item, loadGroup());
+    // resolved once per step, the processor can be shared by parallel chunk processing threads
+    private Validator validator() throws NamingException {
+        Validator current = validator;
+        if (current == null) {
+            synchronized (this) {
+                current = validator;
+                if (current == null) {
+                    current = getValidator();
+                    validator = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Class<?>[] groups() throws ClassNotFoundException {
+        Class<?>[] current = groups;
+        if (current == null) {
+            current = group == null ? new Class<?>[0] : new Class<?>[] { loadGroup() };
+            groups = current;
         }
-        return result;
+        return current;
     }
 
     protected Class<?> loadGroup() throws ClassNotFoundException {
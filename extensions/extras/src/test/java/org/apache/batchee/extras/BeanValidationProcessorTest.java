@@ -20,14 +20,19 @@ import org.apache.batchee.util.Batches;
 import org.testng.annotations.Test;
 
 import jakarta.batch.api.BatchProperty;
+import jakarta.batch.api.chunk.AbstractItemReader;
+import jakarta.batch.api.chunk.AbstractItemWriter;
 import jakarta.batch.api.chunk.ItemReader;
+import jakarta.batch.api.chunk.listener.SkipProcessListener;
 import jakarta.batch.operations.JobOperator;
 import jakarta.batch.runtime.BatchRuntime;
 import jakarta.batch.runtime.BatchStatus;
 import jakarta.inject.Inject;
 import jakarta.validation.constraints.NotNull;
 import java.io.Serializable;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.Assert.assertEquals;
 
@@ -42,6 +47,20 @@ public class BeanValidationProcessorTest {
         assertEquals(BatchStatus.FAILED, process("false"));
     }
 
+    @Test
+    public void parallelViolationsAreSkipped() throws Exception {
+        SkipCounter.SKIPPED.set(0);
+        CountingWriter.WRITTEN.set(0);
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long id = jobOperator.start("bean-validation-processor-skip", new Properties());
+        Batches.waitForEnd(jobOperator, id);
+
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.COMPLETED);
+        assertEquals(SkipCounter.SKIPPED.get(), ManyItemsReader.ITEMS / 2);
+        assertEquals(CountingWriter.WRITTEN.get(), ManyItemsReader.ITEMS / 2);
+    }
+
     private BatchStatus process(final String isOk) {
         final Properties jobParameters = new Properties();
         jobParameters.setProperty("ok", isOk);
@@ -99,4 +118,37 @@ public class BeanValidationProcessorTest {
             }
         }
     }
+
+    public static class ManyItemsReader extends AbstractItemReader {
+        public static final int ITEMS = 50;
+
+        private int read = 0;
+
+        @Override
+        public Object readItem() throws Exception {
+            if (read == ITEMS) {
+                return null;
+            }
+            read++;
+            return new TwoItemsReader.Bean(read % 2 == 0 ? "valid" : null);
+        }
+    }
+
+    public static class CountingWriter extends AbstractItemWriter {
+        public static final AtomicInteger WRITTEN = new AtomicInteger();
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            WRITTEN.addAndGet(items.size());
+        }
+    }
+
+    public static class SkipCounter implements SkipProcessListener {
+        public static final AtomicInteger SKIPPED = new AtomicInteger();
+
+        @Override
+        public void onSkipProcessItem(final Object item, final Exception ex) throws Exception {
+            SKIPPED.incrementAndGet();
+        }
+    }
 }
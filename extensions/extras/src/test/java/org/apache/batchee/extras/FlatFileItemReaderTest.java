@@ -23,8 +23,11 @@ import org.testng.annotations.Test;
 import jakarta.batch.api.chunk.ItemProcessor;
 import jakarta.batch.operations.JobOperator;
 import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.BatchStatus;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
 
 import static org.testng.Assert.assertEquals;
@@ -43,6 +46,41 @@ public class FlatFileItemReaderTest {
         assertEquals(StoreItems.ITEMS.size(), 2);
     }
 
+    @Test
+    public void restartFromPosition() throws Exception {
+        final String path = "target/work/FlatFileItemReaderRestart.txt";
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("input", path);
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        IOs.write(path, "line 1\r\n#ignored\nline 2\nline 3\r\nline 4\n\nline 5");
+        final long id = jobOperator.start("flat-file-reader-restart", jobParams);
+        Batches.waitForEnd(jobOperator, id);
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+
+        FailOnce.ITEMS.clear();
+        final long restartId = jobOperator.restart(id, jobParams);
+        Batches.waitForEnd(jobOperator, restartId);
+        assertEquals(jobOperator.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+        assertEquals(FailOnce.ITEMS, Arrays.<Object>asList("line 3", "line 4", "", "line 5"));
+    }
+
+    public static class FailOnce implements ItemProcessor {
+        public static final List<Object> ITEMS = new ArrayList<Object>();
+        private static boolean failed = false;
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            if (!failed && "line 3".equals(item)) {
+                failed = true;
+                throw new IllegalStateException("fail once");
+            }
+            ITEMS.add(item);
+            return item;
+        }
+    }
+
     public static class StoreItems implements ItemProcessor {
         public static final Collection<Object> ITEMS = new ArrayList<Object>();
 
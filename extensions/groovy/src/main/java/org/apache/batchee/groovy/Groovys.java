@@ -24,10 +24,28 @@ import jakarta.batch.runtime.context.StepContext;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public final class Groovys {
+    /**
+     * Max number of compiled scripts kept per classloader, 0 compiles the script each time an artifact is opened.
+     */
+    public static final String CACHE_SIZE_PROPERTY = "batchee.groovy.cache.size";
+
+    private static final int CACHE_SIZE = Integer.getInteger(CACHE_SIZE_PROPERTY, 100);
+
+    // compiled classes are softly referenced so the cache never pins an application classloader
+    private static final Map<ClassLoader, Map<String, CompiledScript>> CACHE = new WeakHashMap<ClassLoader, Map<String, CompiledScript>>();
+
     public static <T> GroovyInstance<T> newInstance(final Class<T> expected, final String path, final JobContext jobContext, final StepContext stepContext)
             throws IllegalAccessException, InstantiationException {
         if (path == null) {
@@ -39,18 +57,86 @@ public final class Groovys {
         }
 
         final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        final GroovyClassLoader loader = new GroovyClassLoader(tccl);
+        if (CACHE_SIZE <= 0) {
+            final GroovyClassLoader loader = new GroovyClassLoader(tccl);
+
+            final Class<?> clazz;
+            try {
+                clazz = loader.parseClass(script);
+            } catch (final IOException e) {
+                throw new BatchRuntimeException(e);
+            }
+
+            final T delegate = expected.cast(clazz.newInstance());
+            injectIfBatcheeIfAvailable(tccl, delegate, jobContext, stepContext);
+            return new GroovyInstance<T>(loader, delegate);
+        }
+
+        final T delegate = expected.cast(compile(tccl, script).newInstance());
+        injectIfBatcheeIfAvailable(tccl, delegate, jobContext, stepContext);
+        return new GroovyInstance<T>(null, delegate); // the loader is shared with other instances of the script
+    }
 
-        final Class<?> clazz;
+    /**
+     * Compiles and caches scripts for the given classloader, typically called when the application is deployed
+     * so the first executions don't pay the compilation.
+     *
+     * @param loader the classloader the scripts will be executed with (thread context classloader of the job).
+     * @param paths the script paths.
+     */
+    public static void precompile(final ClassLoader loader, final String... paths) {
+        for (final String path : paths) {
+            final File script = new File(path);
+            if (!script.exists()) {
+                throw new BatchRuntimeException("Can't find script: " + path);
+            }
+            compile(loader, script);
+        }
+    }
+
+    /**
+     * Drops the compiled scripts of a classloader, instances already created keep working.
+     *
+     * @param loader the classloader the scripts were compiled for.
+     */
+    public static void clearCache(final ClassLoader loader) {
+        synchronized (CACHE) {
+            CACHE.remove(loader);
+        }
+    }
+
+    private static Class<?> compile(final ClassLoader tccl, final File script) {
+        final String key;
         try {
-            clazz = loader.parseClass(script);
+            key = script.getCanonicalPath();
         } catch (final IOException e) {
             throw new BatchRuntimeException(e);
         }
 
-        final T delegate = expected.cast(clazz.newInstance());
-        injectIfBatcheeIfAvailable(tccl, delegate, jobContext, stepContext);
-        return new GroovyInstance<T>(loader, delegate);
+        CompiledScript compiled;
+        synchronized (CACHE) {
+            Map<String, CompiledScript> scripts = CACHE.get(tccl);
+            if (scripts == null) {
+                scripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, CompiledScript> eldest) {
+                        return size() > CACHE_SIZE;
+                    }
+                };
+                CACHE.put(tccl, scripts);
+            }
+            compiled = scripts.get(key);
+            if (compiled == null) {
+                compiled = new CompiledScript();
+                scripts.put(key, compiled);
+            }
+        }
+
+        try {
+            return compiled.get(tccl, script); // outside of the global lock, only the users of this script wait for its compilation
+        } catch (final IOException e) {
+            throw new BatchRuntimeException(e);
+        }
     }
 
     private static <T> void injectIfBatcheeIfAvailable(final ClassLoader tccl, final T delegate, final JobContext jobContext, final StepContext stepContext) {
@@ -75,6 +161,9 @@ public final class Groovys {
         }
 
         public void release() throws IOException {
+            if (loader == null) {
+                return;
+            }
             loader.clearCache();
             if (Closeable.class.isInstance(loader)) {
                 Closeable.class.cast(loader).close();
@@ -86,6 +175,41 @@ public final class Groovys {
         }
     }
 
+    private static class CompiledScript {
+        private long lastModified;
+        private long length;
+        private byte[] hash;
+        private SoftReference<Class<?>> clazz;
+
+        public synchronized Class<?> get(final ClassLoader parent, final File script) throws IOException {
+            final long modified = script.lastModified();
+            final long size = script.length();
+            Class<?> current = clazz == null ? null : clazz.get();
+            if (current != null && modified == lastModified && size == length) {
+                return current;
+            }
+
+            // the file was touched or the class was collected: only compile again if the content changed
+            final byte[] contentHash = hash(Files.readAllBytes(script.toPath()));
+            if (current == null || !Arrays.equals(contentHash, hash)) {
+                current = new GroovyClassLoader(parent).parseClass(script);
+                clazz = new SoftReference<Class<?>>(current);
+                hash = contentHash;
+            }
+            lastModified = modified;
+            length = size;
+            return current;
+        }
+
+        private static byte[] hash(final byte[] content) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(content);
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
     private Groovys() {
         // no-op
     }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.groovy;
+
+import org.apache.batchee.groovy.util.IOs;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class GroovysTest {
+    @Test
+    public void compiledScriptIsShared() throws Exception {
+        final String path = "target/work/GroovysTest/shared.groovy";
+        IOs.write(path, script("v1"));
+
+        final Callable<?> first = Groovys.newInstance(Callable.class, path, null, null).getInstance();
+        final Callable<?> second = Groovys.newInstance(Callable.class, path, null, null).getInstance();
+        assertNotSame(first, second);
+        assertSame(first.getClass(), second.getClass());
+        assertEquals(second.call(), "v1");
+    }
+
+    @Test
+    public void touchedScriptIsOnlyRecompiledWhenItsContentChanges() throws Exception {
+        final String path = "target/work/GroovysTest/touched.groovy";
+        IOs.write(path, script("v1"));
+        final Class<?> original = Groovys.newInstance(Callable.class, path, null, null).getInstance().getClass();
+
+        final File file = new File(path);
+        assertTrue(file.setLastModified(file.lastModified() - 10000));
+        assertSame(Groovys.newInstance(Callable.class, path, null, null).getInstance().getClass(), original);
+
+        IOs.write(path, script("v2"));
+        assertTrue(file.setLastModified(file.lastModified() - 20000)); // ensure the mtime differs even on coarse file systems
+        final Callable<?> updated = Groovys.newInstance(Callable.class, path, null, null).getInstance();
+        assertNotSame(updated.getClass(), original);
+        assertEquals(updated.call(), "v2");
+    }
+
+    @Test
+    public void precompile() throws Exception {
+        final String path = "target/work/GroovysTest/precompiled.groovy";
+        IOs.write(path, script("v1"));
+
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Groovys.precompile(loader, path);
+        final Class<?> precompiled = Groovys.newInstance(Callable.class, path, null, null).getInstance().getClass();
+        assertSame(Groovys.newInstance(Callable.class, path, null, null).getInstance().getClass(), precompiled);
+
+        Groovys.clearCache(loader);
+        assertNotSame(Groovys.newInstance(Callable.class, path, null, null).getInstance().getClass(), precompiled);
+    }
+
+    private static String script(final String value) {
+        return "class Script implements java.util.concurrent.Callable {\n" +
+            "    Object call() {\n" +
+            "        \"" + value + "\"\n" +
+            "    }\n" +
+            "}\n";
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.batchee.jackson;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -24,8 +25,14 @@ import org.apache.batchee.extras.transaction.CountedReader;
 
 import jakarta.batch.api.BatchProperty;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.SequenceInputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 
 @Documentation("Reads a JSON file using jackson.")
 public class JacksonJsonReader extends CountedReader {
@@ -49,14 +56,18 @@ public class JacksonJsonReader extends CountedReader {
     @Documentation("Should root be skipped (default: true)")
     private String skipRoot;
 
+    private JsonFactory factory;
     private JsonParser parser;
     private Class<?> clazz;
     private JsonToken end = null;
+    private long base = 0;
+    private long lastPosition = -1;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
         final ObjectMapper mapper = Jacksons.newMapper(configuration);
-        parser = mapper.getFactory().createParser(new File(file));
+        factory = mapper.getFactory();
+        parser = factory.createParser(new File(file));
         if (type != null) {
             clazz = Thread.currentThread().getContextClassLoader().loadClass(type);
         } else {
@@ -84,7 +95,40 @@ public class JacksonJsonReader extends CountedReader {
         if (clazz == null) {
             parser.readValueAsTree();
         }
-        return parser.readValueAs(clazz);
+        final Object value = parser.readValueAs(clazz);
+        if (value != null && end != null) {
+            final long offset = parser.currentLocation().getByteOffset(); // -1 when the file is not UTF-8
+            lastPosition = offset < 0 ? -1 : base + offset;
+        }
+        return value;
+    }
+
+    @Override
+    protected long readPosition() throws Exception {
+        return lastPosition;
+    }
+
+    @Override
+    protected boolean seek(final long position) throws Exception {
+        if (end == null) {
+            return false;
+        }
+
+        // the position is right after an item, restore a valid document with a fake empty item before it
+        final byte[] prefix = (end == JsonToken.END_ARRAY ? "[{}" : "{\"\":{}").getBytes(StandardCharsets.UTF_8);
+        final FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+        channel.position(position);
+        parser.close();
+        parser = factory.createParser(new SequenceInputStream(new ByteArrayInputStream(prefix), Channels.newInputStream(channel)));
+        parser.nextToken();
+        if (end == JsonToken.END_OBJECT) {
+            parser.nextToken();
+        }
+        parser.nextToken();
+        parser.nextToken();
+        base = position - prefix.length;
+        lastPosition = position;
+        return true;
     }
 
     @Override
@@ -21,11 +21,14 @@ import org.apache.batchee.jackson.util.IOs;
 import org.apache.batchee.util.Batches;
 import org.testng.annotations.Test;
 
+import jakarta.batch.api.chunk.ItemProcessor;
 import jakarta.batch.api.chunk.ItemWriter;
 import jakarta.batch.operations.JobOperator;
 import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.BatchStatus;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
@@ -55,6 +58,66 @@ public class JacksonJsonReaderTest {
         }
     }
 
+    @Test
+    public void restartArray() {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= 5; i++) {
+            json.append(i > 1 ? ",\n  " : "\n  ").append(record(i));
+        }
+        restart("target/work/jackson-restart-array.json", json.append("\n]").toString());
+    }
+
+    @Test
+    public void restartObject() {
+        final StringBuilder json = new StringBuilder("{");
+        for (int i = 1; i <= 5; i++) {
+            json.append(i > 1 ? ",\n  " : "\n  ").append("\"r").append(i).append("\": ").append(record(i));
+        }
+        restart("target/work/jackson-restart-object.json", json.append("\n}").toString());
+    }
+
+    private static void restart(final String path, final String json) {
+        IOs.write(path, json);
+        FailOnce.ITEMS.clear();
+        FailOnce.failed = false;
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("file", path);
+
+        final JobOperator operator = BatchRuntime.getJobOperator();
+        final long id = operator.start("jackson-reader-restart", jobParams);
+        Batches.waitForEnd(operator, id);
+        assertEquals(operator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        assertEquals(FailOnce.ITEMS, Arrays.asList("record 1 # field 1", "record 2 # field 1"));
+
+        FailOnce.ITEMS.clear();
+        final long restartId = operator.restart(id, jobParams);
+        Batches.waitForEnd(operator, restartId);
+        assertEquals(operator.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+        // restarted after the last committed item
+        assertEquals(FailOnce.ITEMS, Arrays.asList("record 3 # field 1", "record 4 # field 1", "record 5 # field 1"));
+    }
+
+    private static String record(final int i) {
+        return "{\"v1\":\"record " + i + " # field 1\",\"v2\":\"record " + i + " # field 2\"}";
+    }
+
+    public static class FailOnce implements ItemProcessor {
+        public static final List<String> ITEMS = new ArrayList<String>();
+        private static volatile boolean failed = false;
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            final String value = Record.class.cast(item).getV1();
+            if (!failed && "record 3 # field 1".equals(value)) {
+                failed = true;
+                throw new IllegalStateException("fail once");
+            }
+            ITEMS.add(value);
+            return item;
+        }
+    }
+
     public static class Writer implements ItemWriter {
         public static List<Record> ITEMS = new ArrayList<Record>(2);
 
@@ -18,13 +18,20 @@ package org.apache.batchee.jsonp;
 
 import org.apache.batchee.doc.api.Documentation;
 import org.apache.batchee.extras.transaction.CountedReader;
+import org.apache.batchee.extras.transaction.PositionedFileReader;
 
 import jakarta.batch.api.BatchProperty;
 import jakarta.inject.Inject;
+import jakarta.json.JsonStructure;
 import jakarta.json.spi.JsonProvider;
 import jakarta.json.stream.JsonParser;
+import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 @Documentation("Reads a JSON file using JSON-P providing JsonStructure as item.")
 public class JsonpReader extends CountedReader {
@@ -43,16 +50,31 @@ public class JsonpReader extends CountedReader {
     @Documentation("JSON-P provider if not using the default")
     private String provider;
 
+    @Inject
+    @BatchProperty
+    @Documentation("File encoding (default: UTF-8)")
+    private String encoding;
+
+    private JsonProvider jsonProvider;
+    private PositionedFileReader positionedReader;
     private JsonParser parser;
     private JsonPartialReader reader;
     private JsonParser.Event end = null;
+    private long base = 0;
+    private long lastPosition = -1;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
         final ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        final JsonProvider provider = this.provider == null ? JsonProvider.provider() : JsonProvider.class.cast(loader.loadClass(this.provider));
-        parser = provider.createParser(new FileInputStream(file));
-        reader = new JsonPartialReader(provider, parser);
+        jsonProvider = this.provider == null ? JsonProvider.provider() : JsonProvider.class.cast(loader.loadClass(this.provider));
+        final Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        if (PositionedFileReader.supports(charset)) { // allows to restart from the last item offset
+            positionedReader = new PositionedFileReader(new File(file), charset, 0);
+            parser = jsonProvider.createParser(positionedReader);
+        } else {
+            parser = jsonProvider.createParser(new InputStreamReader(new FileInputStream(file), charset));
+        }
+        reader = new JsonPartialReader(jsonProvider, parser);
 
         if (skipRoot == null || "true".equalsIgnoreCase(skipRoot)) {
             final JsonParser.Event event = parser.next();
@@ -78,7 +100,41 @@ public class JsonpReader extends CountedReader {
             return null;
         }
 
-        return reader.read(event);
+        final JsonStructure item = reader.read(event);
+        if (positionedReader != null && end != null) {
+            final long offset = parser.getLocation().getStreamOffset(); // character offset right after the item
+            lastPosition = offset < 0 ? -1 : positionedReader.positionOf(offset - base);
+        }
+        return item;
+    }
+
+    @Override
+    protected long readPosition() throws Exception {
+        return lastPosition;
+    }
+
+    @Override
+    protected boolean seek(final long position) throws Exception {
+        if (positionedReader == null || end == null) {
+            return false;
+        }
+
+        // the position is right after an item, restore a valid document with a fake empty item before it
+        final String prefix = end == JsonParser.Event.END_ARRAY ? "[{}" : "{\"\":{}";
+        positionedReader.seek(position); // previous parser is just dropped, closing it would close the file
+        final PushbackReader input = new PushbackReader(positionedReader, prefix.length());
+        input.unread(prefix.toCharArray());
+        parser = jsonProvider.createParser(input);
+        reader = new JsonPartialReader(jsonProvider, parser);
+        parser.next();
+        if (end == JsonParser.Event.END_OBJECT) {
+            parser.next();
+        }
+        parser.next();
+        parser.next();
+        base = prefix.length();
+        lastPosition = position;
+        return true;
     }
 
     @Override
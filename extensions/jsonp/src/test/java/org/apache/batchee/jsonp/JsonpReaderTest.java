@@ -20,12 +20,15 @@ import org.apache.batchee.jsonp.util.IOs;
 import org.apache.batchee.util.Batches;
 import org.testng.annotations.Test;
 
+import jakarta.batch.api.chunk.ItemProcessor;
 import jakarta.batch.api.chunk.ItemWriter;
 import jakarta.batch.operations.JobOperator;
 import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.BatchStatus;
 import jakarta.json.JsonObject;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
@@ -55,6 +58,66 @@ public class JsonpReaderTest {
         }
     }
 
+    @Test
+    public void restartArray() {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= 5; i++) {
+            json.append(i > 1 ? ",\n  " : "\n  ").append(record(i));
+        }
+        restart("target/work/jsonp-restart-array.json", json.append("\n]").toString());
+    }
+
+    @Test
+    public void restartObject() {
+        final StringBuilder json = new StringBuilder("{");
+        for (int i = 1; i <= 5; i++) {
+            json.append(i > 1 ? ",\n  " : "\n  ").append("\"r").append(i).append("\": ").append(record(i));
+        }
+        restart("target/work/jsonp-restart-object.json", json.append("\n}").toString());
+    }
+
+    private static void restart(final String path, final String json) {
+        IOs.write(path, json);
+        FailOnce.ITEMS.clear();
+        FailOnce.failed = false;
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("file", path);
+
+        final JobOperator operator = BatchRuntime.getJobOperator();
+        final long id = operator.start("jsonp-reader-restart", jobParams);
+        Batches.waitForEnd(operator, id);
+        assertEquals(operator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        assertEquals(FailOnce.ITEMS, Arrays.asList("record 1 # \u00e9", "record 2 # \u00e9"));
+
+        FailOnce.ITEMS.clear();
+        final long restartId = operator.restart(id, jobParams);
+        Batches.waitForEnd(operator, restartId);
+        assertEquals(operator.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+        // restarted after the last committed item, multi-byte characters before it shouldn't shift the offset
+        assertEquals(FailOnce.ITEMS, Arrays.asList("record 3 # \u00e9", "record 4 # \u00e9", "record 5 # \u00e9"));
+    }
+
+    private static String record(final int i) {
+        return "{\"v1\":\"record " + i + " # \u00e9\",\"v2\":{\"values\":[" + i + ",\"\u20ac\"]}}";
+    }
+
+    public static class FailOnce implements ItemProcessor {
+        public static final List<String> ITEMS = new ArrayList<String>();
+        private static volatile boolean failed = false;
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            final String value = JsonObject.class.cast(item).getString("v1");
+            if (!failed && value.startsWith("record 3 ")) {
+                failed = true;
+                throw new IllegalStateException("fail once");
+            }
+            ITEMS.add(value);
+            return item;
+        }
+    }
+
     public static class Writer implements ItemWriter {
         public static List<JsonObject> ITEMS = new ArrayList<JsonObject>(2);
 
@@ -18,9 +18,12 @@ package org.apache.batchee.jsonp.util;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 public class IOs {
     public static void write(final String path, final String content) {
@@ -30,7 +33,7 @@ public class IOs {
         }
 
         try {
-            final FileWriter writer = new FileWriter(file);
+            final Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
             writer.write(content);
             writer.close();
         } catch (final IOException e) {
@@ -35,6 +35,8 @@ import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
@@ -67,6 +69,7 @@ public class JBatchController extends HttpServlet {
     private static final String SIMPLEREST_MAPPING = "/rest/";
 
     private JobOperator operator;
+    private Method bulkExecutions;
     private SimpleRestController simpleRestController;
 
     private String context;
@@ -99,6 +102,11 @@ public class JBatchController extends HttpServlet {
     @Override
     public void init(final ServletConfig config) throws ServletException {
         this.operator = BatchRuntime.getJobOperator();
+        try { // BatchEE operator loads the executions of a whole page at once
+            this.bulkExecutions = operator.getClass().getMethod("getJobExecutions", Collection.class);
+        } catch (final NoSuchMethodException e) {
+            this.bulkExecutions = null;
+        }
 
         this.context = config.getServletContext().getContextPath();
         if ("/".equals(context)) {
@@ -260,10 +268,7 @@ public class JBatchController extends HttpServlet {
         final List<JobInstance> instances = new ArrayList<JobInstance>(operator.getJobInstances(name, start, pageSize));
         Collections.sort(instances, JobInstanceIdComparator.INSTANCE);
 
-        final Map<JobInstance, List<JobExecution>> executions = new LinkedHashMap<JobInstance, List<JobExecution>>();
-        for (final JobInstance instance : instances) {
-            executions.put(instance, operator.getJobExecutions(instance));
-        }
+        final Map<JobInstance, List<JobExecution>> executions = findExecutions(instances);
 
         req.setAttribute("view", "job-instances");
         req.setAttribute("name", name);
@@ -284,6 +289,24 @@ public class JBatchController extends HttpServlet {
         }
     }
 
+    private Map<JobInstance, List<JobExecution>> findExecutions(final List<JobInstance> instances) {
+        if (bulkExecutions != null) {
+            try {
+                return (Map<JobInstance, List<JobExecution>>) bulkExecutions.invoke(operator, instances);
+            } catch (final IllegalAccessException e) {
+                throw new BatchRuntimeException(e);
+            } catch (final InvocationTargetException e) {
+                throw new BatchRuntimeException(e.getCause());
+            }
+        }
+
+        final Map<JobInstance, List<JobExecution>> executions = new LinkedHashMap<JobInstance, List<JobExecution>>();
+        for (final JobInstance instance : instances) {
+            executions.put(instance, operator.getJobExecutions(instance));
+        }
+        return executions;
+    }
+
     private void listJobs(final HttpServletRequest req) throws ServletException, IOException {
         final Set<String> names = new HashSet<String>(appBatches);
         final Set<String> registered = operator.getJobNames();
@@ -40,6 +40,7 @@ public class JobExecutionImpl implements InternalJobExecution {
     private Properties jobProperties = null;
     private String jobName = null;
     private JobContextImpl jobContext = null;
+    private volatile boolean snapshot = false;
 
     public void setJobName(String jobName) {
         this.jobName = jobName;
@@ -49,6 +50,18 @@ public class JobExecutionImpl implements InternalJobExecution {
         this.jobContext = jobContext;
     }
 
+    /**
+     * @param snapshot true when all values were loaded at once by the persistence,
+     *                 getters then don't query it anymore until {@link #refresh()} is called.
+     */
+    public void setSnapshot(final boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
     public JobExecutionImpl(final long executionId, final long instanceId, final PersistenceManagerService persistenceManagerService) {
         this.persistenceManagerService = persistenceManagerService;
         this.executionID = executionId;
@@ -59,7 +72,7 @@ public class JobExecutionImpl implements InternalJobExecution {
     public BatchStatus getBatchStatus() {
         if (this.jobContext != null) {
             return this.jobContext.getBatchStatus();
-        } else {
+        } else if (!snapshot) {
             // old job, retrieve from the backend
             final String name = persistenceManagerService.jobOperatorQueryJobExecutionBatchStatus(executionID);
             if (name != null) {
@@ -71,7 +84,7 @@ public class JobExecutionImpl implements InternalJobExecution {
 
     @Override
     public Date getCreateTime() {
-        final Timestamp ts = persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.CREATE);
+        final Timestamp ts = snapshot ? null : persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.CREATE);
         if (ts != null) {
             createTime = ts;
         }
@@ -84,7 +97,7 @@ public class JobExecutionImpl implements InternalJobExecution {
 
     @Override
     public Date getEndTime() {
-        final Timestamp ts = persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.END);
+        final Timestamp ts = snapshot ? null : persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.END);
         if (ts != null) {
             endTime = ts;
         }
@@ -106,7 +119,7 @@ public class JobExecutionImpl implements InternalJobExecution {
             return this.jobContext.getExitStatus();
         }
 
-        final String persistenceExitStatus = persistenceManagerService.jobOperatorQueryJobExecutionExitStatus(executionID);
+        final String persistenceExitStatus = snapshot ? null : persistenceManagerService.jobOperatorQueryJobExecutionExitStatus(executionID);
         if (persistenceExitStatus != null) {
             exitStatus = persistenceExitStatus;
         }
@@ -116,7 +129,7 @@ public class JobExecutionImpl implements InternalJobExecution {
 
     @Override
     public Date getLastUpdatedTime() {
-        final Timestamp ts = persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.LAST_UPDATED);
+        final Timestamp ts = snapshot ? null : persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.LAST_UPDATED);
         if (ts != null) {
             this.updateTime = ts;
         }
@@ -129,7 +142,7 @@ public class JobExecutionImpl implements InternalJobExecution {
 
     @Override
     public Date getStartTime() {
-        final Timestamp ts = persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.STARTED);
+        final Timestamp ts = snapshot ? null : persistenceManagerService.jobOperatorQueryJobExecutionTimestamp(executionID, TimestampType.STARTED);
         if (ts != null) {
             startTime = ts;
         }
@@ -145,6 +158,25 @@ public class JobExecutionImpl implements InternalJobExecution {
         return jobProperties;
     }
 
+    @Override
+    public InternalJobExecution refresh() {
+        final InternalJobExecution latest = persistenceManagerService.jobOperatorGetJobExecution(executionID);
+        if (latest != this && JobExecutionImpl.class.isInstance(latest)) {
+            final JobExecutionImpl loaded = JobExecutionImpl.class.cast(latest);
+            createTime = loaded.createTime;
+            startTime = loaded.startTime;
+            endTime = loaded.endTime;
+            updateTime = loaded.updateTime;
+            batchStatus = loaded.batchStatus;
+            exitStatus = loaded.exitStatus;
+            jobProperties = loaded.jobProperties;
+            if (loaded.jobName != null) {
+                jobName = loaded.jobName;
+            }
+        }
+        return this;
+    }
+
     // IMPL specific setters
 
     public void setBatchStatus(String status) {
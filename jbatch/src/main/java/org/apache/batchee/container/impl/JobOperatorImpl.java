@@ -20,8 +20,11 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.logging.Level;
@@ -48,7 +51,6 @@ import org.apache.batchee.container.services.BatchKernelService;
 import org.apache.batchee.container.services.InternalJobExecution;
 import org.apache.batchee.container.services.JobStatusManagerService;
 import org.apache.batchee.container.services.ServicesManager;
-import org.apache.batchee.container.status.JobStatus;
 import org.apache.batchee.spi.JobExecutionCallbackService;
 import org.apache.batchee.spi.JobXMLLoaderService;
 import org.apache.batchee.spi.PersistenceManagerService;
@@ -174,33 +176,43 @@ public class JobOperatorImpl implements JobOperator {
     public List<JobInstance> getJobInstances(String jobName, int start,
                                              int count) throws NoSuchJobException, JobSecurityException {
 
-        List<JobInstance> jobInstances = new ArrayList<JobInstance>();
-
         if (count == 0) {
             return new ArrayList<JobInstance>();
         } else if (count < 0) {
             throw new IllegalArgumentException("Count should be a positive integer (or 0, which will return an empty list)");
         }
 
-        final List<Long> instanceIds = persistenceManagerService.jobOperatorGetJobInstanceIds(jobName, start, count);
-
-        // get the jobinstance ids associated with this job name
-
-        if (instanceIds.size() > 0) {
-            // for every job instance id
-            for (long id : instanceIds) {
-                // get the job instance obj, add it to the list
-                final JobStatus jobStatus = statusManagerService.getJobStatus(id);
-                final JobInstance jobInstance = jobStatus.getJobInstance();
-                jobInstances.add(jobInstance);
-            }
-            // send the list of objs back to caller
+        // a single query for the whole page
+        final List<JobInstance> jobInstances = persistenceManagerService.jobOperatorGetJobInstances(jobName, start, count);
+        if (jobInstances.size() > 0) {
             return jobInstances;
         }
 
         throw new NoSuchJobException("Job Name " + jobName + " not found");
     }
 
+    /**
+     * Bulk flavor of {@link #getJobExecutions(JobInstance)} loading the executions of all instances at once,
+     * typically a page returned by {@link #getJobInstances(String, int, int)}.
+     *
+     * @param instances the job instances.
+     * @return the executions of each instance in the same order, instances without execution get an empty list.
+     */
+    public Map<JobInstance, List<JobExecution>> getJobExecutions(final Collection<JobInstance> instances) throws JobSecurityException {
+        final Collection<Long> ids = new ArrayList<Long>(instances.size());
+        for (final JobInstance instance : instances) {
+            ids.add(instance.getInstanceId());
+        }
+
+        final Map<Long, List<InternalJobExecution>> executionsById = persistenceManagerService.jobOperatorGetJobExecutions(ids);
+        final Map<JobInstance, List<JobExecution>> executions = new LinkedHashMap<JobInstance, List<JobExecution>>();
+        for (final JobInstance instance : instances) {
+            final List<InternalJobExecution> found = executionsById.get(instance.getInstanceId());
+            executions.put(instance, found == null ? new ArrayList<JobExecution>() : new ArrayList<JobExecution>(found));
+        }
+        return executions;
+    }
+
     /*
      * This should only be called by the "external" JobOperator API, since it filters
      * out the "subjob" parallel execution entries.
@@ -44,6 +44,7 @@ import jakarta.batch.operations.JobRestartException;
 import jakarta.batch.operations.JobStartException;
 import jakarta.batch.runtime.BatchStatus;
 import jakarta.batch.runtime.JobInstance;
+import jakarta.batch.runtime.Metric;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectOutputStream;
 import java.sql.Timestamp;
@@ -204,6 +205,8 @@ public abstract class BaseStepController implements ExecutionElementController {
             rethrowWithMsg("Failure ending step execution", t);
         }
 
+        publishPartitionMetrics();
+
         //
         // Only happens on main thread.
         //
@@ -215,6 +218,20 @@ public abstract class BaseStepController implements ExecutionElementController {
         return new ExecutionStatus(ExtendedBatchStatus.NORMAL_COMPLETION, stepStatus.getExitStatus());
     }
 
+    // partition threads hand their final metrics to the partitioned step with the work unit instead of it reading the step execution back
+    private void publishPartitionMetrics() {
+        if (jobExecutionImpl.getPartitionInstance() == null) {
+            return;
+        }
+
+        final Metric[] metrics = stepContext.getMetrics();
+        final Metric[] snapshot = new Metric[metrics.length];
+        for (int i = 0; i < metrics.length; i++) {
+            snapshot[i] = new MetricImpl(metrics[i].getType(), metrics[i].getValue());
+        }
+        jobExecutionImpl.setPartitionMetrics(snapshot);
+    }
+
     private void defaultExitStatusIfNecessary() {
         final String stepExitStatus = stepContext.getExitStatus();
         final String processRetVal = stepContext.getBatchletProcessRetVal();
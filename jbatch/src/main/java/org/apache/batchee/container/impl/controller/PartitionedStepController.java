@@ -51,12 +51,22 @@ import jakarta.batch.runtime.BatchStatus;
 import jakarta.batch.runtime.Metric;
 import jakarta.batch.runtime.StepExecution;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class PartitionedStepController extends BaseStepController {
+    private static final Logger LOGGER = Logger.getLogger(PartitionedStepController.class.getName());
+
+    static final String ANALYZER_QUEUE_SIZE_PROPERTY = "org.apache.batchee.partition.analyzer.queue-size";
+    static final String ANALYZER_BACKPRESSURE_TIMEOUT_PROPERTY = "org.apache.batchee.partition.analyzer.backpressure-timeout";
+
     private static final int DEFAULT_PARTITION_INSTANCES = 1;
     private static final int DEFAULT_THREADS = 0; //0 means default to number of instances
 
@@ -67,7 +77,21 @@ public class PartitionedStepController extends BaseStepController {
 
     private Properties[] partitionProperties = null;
 
-    private volatile List<BatchPartitionWorkUnit> parallelBatchWorkUnits;
+    // partitions are materialized when a thread slot is free so only the running ones are kept
+    private final Collection<BatchPartitionWorkUnit> runningWorkUnits = new ArrayList<BatchPartitionWorkUnit>();
+    private PartitionsBuilderConfig partitionsConfig = null;
+    private int nextPartition = 0;
+    private boolean restartPartitions = false;
+
+    // partitions are submitted by the thread of the partition freeing the slot, the analyzer can't delay them
+    private final AtomicInteger submittedWorkUnits = new AtomicInteger();
+    private volatile Throwable schedulingFailure = null;
+
+    // analyzer queue statistics
+    private int maxAnalyzerQueueDepth = 0;
+    private long maxAnalyzerLag = 0;
+    private long totalAnalyzerLag = 0;
+    private long analyzedEvents = 0;
 
     private PartitionReducer partitionReducerProxy = null;
 
@@ -97,10 +121,9 @@ public class PartitionedStepController extends BaseStepController {
 
     private PartitionAnalyzer analyzerProxy = null;
 
-    final List<JSLJob> subJobs = new ArrayList<JSLJob>();
     protected List<StepListener> stepListeners = null;
 
-    List<BatchPartitionWorkUnit> completedWork = new ArrayList<BatchPartitionWorkUnit>();
+    private boolean failedPartition = false;
 
     BlockingQueue<BatchPartitionWorkUnit> completedWorkQueue = null;
 
@@ -118,24 +141,21 @@ public class PartitionedStepController extends BaseStepController {
         updateBatchStatus(BatchStatus.STOPPING);
 
         // It's possible we may try to stop a partitioned step before any
-        // sub steps have been started.
-        synchronized (subJobs) {
-
-            if (parallelBatchWorkUnits != null) {
-                for (BatchWorkUnit subJob : parallelBatchWorkUnits) {
-                    try {
+        // sub steps have been started, not yet materialized partitions will just not be started.
+        synchronized (runningWorkUnits) {
+            for (BatchWorkUnit subJob : runningWorkUnits) {
+                try {
 
-                        // only try to stop the sub-jobs if they are running
-                        if (subJob.getJobExecutionImpl().getBatchStatus() == BatchStatus.STARTING ||
-                            subJob.getJobExecutionImpl().getBatchStatus() == BatchStatus.STARTED) {
+                    // only try to stop the sub-jobs if they are running
+                    if (subJob.getJobExecutionImpl().getBatchStatus() == BatchStatus.STARTING ||
+                        subJob.getJobExecutionImpl().getBatchStatus() == BatchStatus.STARTED) {
 
-                            kernelService.stopJob(subJob.getJobExecutionImpl().getExecutionId());
-                        }
-                    } catch (Exception e) {
-                        // TODO - Is this what we want to know.
-                        // Blow up if it happens to force the issue.
-                        throw new IllegalStateException(e);
+                        kernelService.stopJob(subJob.getJobExecutionImpl().getExecutionId());
                     }
+                } catch (Exception e) {
+                    // TODO - Is this what we want to know.
+                    // Blow up if it happens to force the issue.
+                    throw new IllegalStateException(e);
                 }
             }
         }
@@ -330,145 +350,216 @@ public class PartitionedStepController extends BaseStepController {
 
         //Set up a blocking queue to pick up collector data from a partitioned thread
         if (this.analyzerProxy != null) {
-            this.analyzerStatusQueue = new LinkedBlockingQueue<PartitionDataWrapper>();
+            final int queueSize = analyzerQueueSize();
+            this.analyzerStatusQueue = queueSize > 0 ? new LinkedBlockingQueue<PartitionDataWrapper>(queueSize) : new LinkedBlockingQueue<PartitionDataWrapper>();
         }
         this.completedWorkQueue = new LinkedBlockingQueue<BatchPartitionWorkUnit>();
+        this.partitionsConfig = new PartitionsBuilderConfig(partitionProperties, analyzerStatusQueue, completedWorkQueue, jobExecutionImpl.getExecutionId());
+        this.partitionsConfig.setCompletionCallback(new PartitionsBuilderConfig.CompletionCallback() {
+            @Override
+            public void onCompletion(final BatchPartitionWorkUnit workUnit) {
+                onPartitionThreadCompletion(workUnit);
+            }
+        });
 
-        // Build all sub jobs from partitioned step
-        buildSubJobBatchWorkUnits();
-
-        // kick off the threads
+        // kick off the threads, sub jobs are built from the partitioned step when they can start
         executeAndWaitForCompletion();
 
         // Deal with the results.
         checkCompletedWork();
     }
 
-    private void buildSubJobBatchWorkUnits() throws JobRestartException, JobStartException, JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException {
-        synchronized (subJobs) {
-            //check if we've already issued a stop
-            if (jobExecutionImpl.getJobContext().getBatchStatus().equals(BatchStatus.STOPPING)) {
-                return;
-            }
+    /**
+     * Builds the next partition to run, skipping the ones completed by a previous execution.
+     *
+     * @return the partition work unit in STARTING state or null if there is nothing left to start or no free thread slot
+     */
+    private BatchPartitionWorkUnit nextWorkUnit() throws JobRestartException, JobStartException, JobExecutionNotMostRecentException {
+        synchronized (runningWorkUnits) {
+            while (nextPartition < partitions && runningWorkUnits.size() < threads) {
+                //check if we've already issued a stop
+                if (jobExecutionImpl.getJobContext().getBatchStatus().equals(BatchStatus.STOPPING)) {
+                    return null;
+                }
+
+                final int instance = nextPartition++;
+                final JSLJob subJob = PartitionedStepBuilder.buildPartitionSubJob(jobExecutionImpl.getInstanceId(), jobExecutionImpl.getJobContext(), step, instance);
+
+                final BatchPartitionWorkUnit workUnit;
+                if (executionType == ExecutionType.RESTART_NORMAL) {
+                    workUnit = kernelService.buildOnRestartParallelPartition(partitionsConfig, subJob, instance, jobExecutionImpl.getJobContext(), stepContext);
+                } else {
+                    // This case includes RESTART_OVERRIDE and RESTART_AFTER_COMPLETION.
+                    //
+                    // So we're just going to create new "subjob" job instances in the DB in these cases,
+                    // and we'll have to make sure we're dealing with the correct ones, say in a subsequent "normal" restart
+                    // (of the current execution which is itself a restart)
+                    workUnit = kernelService.buildNewParallelPartition(partitionsConfig, subJob, instance, jobExecutionImpl.getJobContext(), stepContext);
+                }
+
+                if (workUnit == null) { // completed on a previous execution
+                    numPreviouslyCompleted++;
+                    continue;
+                }
 
-            for (int instance = 0; instance < partitions; instance++) {
-                subJobs.add(PartitionedStepBuilder.buildPartitionSubJob(jobExecutionImpl.getInstanceId(), jobExecutionImpl.getJobContext(), step, instance));
+                runningWorkUnits.add(workUnit);
+                submittedWorkUnits.incrementAndGet(); // before it can complete
+                return workUnit;
             }
+            return null;
+        }
+    }
+
+    private boolean startNextWorkUnit() throws JobRestartException, JobStartException, JobExecutionNotMostRecentException {
+        final BatchPartitionWorkUnit workUnit = nextWorkUnit();
+        if (workUnit == null) {
+            return false;
+        }
 
-            PartitionsBuilderConfig config =
-                    new PartitionsBuilderConfig(subJobs, partitionProperties, analyzerStatusQueue, completedWorkQueue, jobExecutionImpl.getExecutionId());
-            // Then build all the subjobs but do not start them yet
-            if (executionType == ExecutionType.RESTART_NORMAL) {
-                parallelBatchWorkUnits = kernelService.buildOnRestartParallelPartitions(config, jobExecutionImpl.getJobContext(), stepContext);
+        try {
+            if (restartPartitions) {
+                kernelService.restartGeneratedJob(workUnit);
             } else {
-                // This case includes RESTART_OVERRIDE and RESTART_AFTER_COMPLETION.
-                //
-                // So we're just going to create new "subjob" job instances in the DB in these cases,
-                // and we'll have to make sure we're dealing with the correct ones, say in a subsequent "normal" restart
-                // (of the current execution which is itself a restart)
-                parallelBatchWorkUnits = kernelService.buildNewParallelPartitions(config, jobExecutionImpl.getJobContext(), stepContext);
+                kernelService.startGeneratedJob(workUnit);
+            }
+        } catch (final RuntimeException re) { // not submitted so it will never complete
+            synchronized (runningWorkUnits) {
+                runningWorkUnits.remove(workUnit);
+                submittedWorkUnits.decrementAndGet();
             }
+            throw re;
+        }
+        return true;
+    }
 
-            // NOTE:  At this point I might not have as many work units as I had partitions, since some may have already completed.
+    /**
+     * Runs on the thread of a finished partition before it is put in the completed queue:
+     * the slot is released and the next partition started right away, whatever the analyzer is doing.
+     */
+    private void onPartitionThreadCompletion(final BatchPartitionWorkUnit workUnit) {
+        synchronized (runningWorkUnits) {
+            runningWorkUnits.remove(workUnit);
+        }
+        try {
+            startNextWorkUnit();
+        } catch (final Throwable t) {
+            LOGGER.log(Level.SEVERE, t.getMessage(), t);
+            if (schedulingFailure == null) {
+                schedulingFailure = t;
+            }
         }
     }
 
-    private void executeAndWaitForCompletion() throws JobRestartException {
+    private void executeAndWaitForCompletion() throws JobRestartException, JobStartException, JobExecutionNotMostRecentException {
 
         if (jobExecutionImpl.getJobContext().getBatchStatus().equals(BatchStatus.STOPPING)) {
             return;
         }
 
-        int numTotalForThisExecution = parallelBatchWorkUnits.size();
-        this.numPreviouslyCompleted = partitions - numTotalForThisExecution;
-        int numCurrentCompleted = 0;
-        int numCurrentSubmitted = 0;
-
-        // All partitions have already completed on a previous execution.
-        if (numTotalForThisExecution == 0) {
-          return;
-        }
+        this.numPreviouslyCompleted = 0;
+        this.restartPartitions = stepStatus.getStartCount() > 1 && !plan.getPartitionsOverride();
 
-        //Start up to to the max num we are allowed from the num threads attribute
-        for (int i = 0; i < this.threads && i < numTotalForThisExecution; i++, numCurrentSubmitted++) {
-            final BatchWorkUnit workUnit = parallelBatchWorkUnits.get(i);
-            if (stepStatus.getStartCount() > 1 && !plan.getPartitionsOverride()) {
-                kernelService.restartGeneratedJob(workUnit);
-            } else {
-                kernelService.startGeneratedJob(workUnit);
-            }
+        //Start up to to the max num we are allowed from the num threads attribute, next ones are started by the completion callback
+        while (startNextWorkUnit()) {
+            // no-op
         }
 
-        while (true) {
+        // A completed partition started its successor before being queued so once all submitted ones are taken we are done.
+        // All partitions have already completed on a previous execution if nothing was submitted.
+        int completedCount = 0;
+        while (completedCount < submittedWorkUnits.get()) {
+            final BatchPartitionWorkUnit completed;
             try {
                 if (analyzerProxy != null) {
-                    PartitionDataWrapper dataWrapper = analyzerStatusQueue.take();
+                    final PartitionDataWrapper dataWrapper = analyzerStatusQueue.take();
+                    onAnalyzerEvent(dataWrapper);
                     if (PartitionEventType.ANALYZE_COLLECTOR_DATA.equals(dataWrapper.getEventType())) {
                         try {
                             analyzerProxy.analyzeCollectorData(dataWrapper.getCollectorData());
                         } catch (Exception e) {
                             ExceptionConfig.wrapBatchException(e);
                         }
-                        continue; // without being ready to submit another
+                        continue; // not a completion
                     } else if (PartitionEventType.ANALYZE_STATUS.equals(dataWrapper.getEventType())) {
                         try {
                             analyzerProxy.analyzeStatus(dataWrapper.getBatchstatus(), dataWrapper.getExitStatus());
                         } catch (Exception e) {
                             ExceptionConfig.wrapBatchException(e);
                         }
-                        completedWork.add(completedWorkQueue.take());  // Shouldn't be a a long wait.
+                        completed = completedWorkQueue.take();  // Shouldn't be a a long wait.
                     } else {
                         throw new IllegalStateException("Invalid partition state");
                     }
                 } else {
-                    // block until at least one thread has finished to
-                    // submit more batch work. hold on to the finished work to look at later
-                    completedWork.add(completedWorkQueue.take());
+                    // block until at least one thread has finished, hold on to the finished work to look at later
+                    completed = completedWorkQueue.take();
                 }
             } catch (final InterruptedException e) {
                 throw new BatchContainerRuntimeException(e);
             }
 
-            numCurrentCompleted++;
-            if (numCurrentCompleted < numTotalForThisExecution) {
-                if (numCurrentSubmitted < numTotalForThisExecution) {
-                    if (stepStatus.getStartCount() > 1) {
-                        kernelService.startGeneratedJob(parallelBatchWorkUnits.get(numCurrentSubmitted++));
-                    } else {
-                        kernelService.restartGeneratedJob(parallelBatchWorkUnits.get(numCurrentSubmitted++));
-                    }
-                }
-            } else {
-                break;
-            }
+            onCompletedWork(completed);
+            completedCount++;
+        }
+
+        if (analyzerProxy != null && analyzedEvents > 0 && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Step " + step.getId() + " analyzer: " + analyzedEvents + " events, max queue depth " + maxAnalyzerQueueDepth
+                + ", max lag " + TimeUnit.NANOSECONDS.toMillis(maxAnalyzerLag) + "ms, average lag "
+                + TimeUnit.NANOSECONDS.toMillis(totalAnalyzerLag / analyzedEvents) + "ms");
+        }
+        if (schedulingFailure != null) {
+            throw new BatchContainerRuntimeException("Can't start a partition of step " + step.getId(), schedulingFailure);
         }
     }
 
-    private void checkCompletedWork() {
-        /**
-         * check the batch status of each subJob after it's done to see if we need to issue a rollback
-         * start rollback if any have stopped or failed
-         */
-        boolean rollback = false;
+    private void onAnalyzerEvent(final PartitionDataWrapper dataWrapper) {
+        final long lag = System.nanoTime() - dataWrapper.getEnqueueTime();
+        maxAnalyzerQueueDepth = Math.max(maxAnalyzerQueueDepth, analyzerStatusQueue.size() + 1);
+        maxAnalyzerLag = Math.max(maxAnalyzerLag, lag);
+        totalAnalyzerLag += lag;
+        analyzedEvents++;
+    }
+
+    private int analyzerQueueSize() {
+        final Properties p = stepContext.getProperties();
+        return p == null ? 0 : Integer.parseInt(p.getProperty(ANALYZER_QUEUE_SIZE_PROPERTY, "0"));
+    }
 
-        for (final BatchWorkUnit subJob : completedWork) {
+    // done when each partition ends so finished partitions can be released
+    private void onCompletedWork(final BatchPartitionWorkUnit subJob) {
+        final Metric[] partitionMetrics = subJob.getPartitionMetrics();
+        if (partitionMetrics != null) { // published by the partition thread, no need to read the step execution back
+            addMetrics(partitionMetrics);
+        } else {
             final List<StepExecution> steps = persistenceManagerService.getStepExecutionsForJobExecution(subJob.getJobExecutionImpl().getExecutionId());
             if (steps.size() == 1) {
-                for (final Metric metric : steps.iterator().next().getMetrics()) {
-                    stepContext.getMetric(metric.getType()).incValueBy(metric.getValue());
-                }
+                addMetrics(steps.iterator().next().getMetrics());
             }/* else {
                 // TODO: possible?
             }*/
+        }
 
-            final BatchStatus batchStatus = subJob.getJobExecutionImpl().getJobContext().getBatchStatus();
-            if (batchStatus.equals(BatchStatus.FAILED)) {
-                rollback = true;
+        final BatchStatus batchStatus = subJob.getJobExecutionImpl().getJobContext().getBatchStatus();
+        if (batchStatus.equals(BatchStatus.FAILED)) {
+            failedPartition = true;
 
-                //Keep track of the failing status and throw an exception to propagate after the rest of the partitions are complete
-                stepContext.setBatchStatus(BatchStatus.FAILED);
-            }
+            //Keep track of the failing status and throw an exception to propagate after the rest of the partitions are complete
+            stepContext.setBatchStatus(BatchStatus.FAILED);
+        }
+    }
+
+    private void addMetrics(final Metric[] metrics) {
+        for (final Metric metric : metrics) {
+            stepContext.getMetric(metric.getType()).incValueBy(metric.getValue());
         }
+    }
+
+    private void checkCompletedWork() {
+        /**
+         * the batch status of each subJob was checked when it was done to see if we need to issue a rollback
+         * start rollback if any have stopped or failed
+         */
+        final boolean rollback = failedPartition;
 
         //If rollback is false we never issued a rollback so we can issue a logicalTXSynchronizationBeforeCompletion
         //NOTE: this will get issued even in a subjob fails or stops if no logicalTXSynchronizationRollback method is provied
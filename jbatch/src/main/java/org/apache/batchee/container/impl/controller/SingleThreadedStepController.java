@@ -17,6 +17,7 @@
 package org.apache.batchee.container.impl.controller;
 
 import org.apache.batchee.container.Controller;
+import org.apache.batchee.container.exception.BatchContainerRuntimeException;
 import org.apache.batchee.container.impl.StepContextImpl;
 import org.apache.batchee.container.impl.controller.chunk.ExceptionConfig;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
@@ -32,7 +33,9 @@ import org.apache.batchee.spi.BatchArtifactFactory;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.batch.api.listener.StepListener;
 import jakarta.batch.api.partition.PartitionCollector;
@@ -129,7 +132,7 @@ public abstract class SingleThreadedStepController extends BaseStepController im
             final PartitionDataWrapper dataWrapper = new PartitionDataWrapper();
             dataWrapper.setCollectorData(data);
             dataWrapper.setEventType(PartitionEventType.ANALYZE_COLLECTOR_DATA);
-            analyzerStatusQueue.add(dataWrapper);
+            sendToAnalyzer(dataWrapper, backpressureTimeout());
         }
     }
 
@@ -141,7 +144,29 @@ public abstract class SingleThreadedStepController extends BaseStepController im
             dataWrapper.setBatchStatus(stepStatus.getBatchStatus());
             dataWrapper.setExitStatus(stepStatus.getExitStatus());
             dataWrapper.setEventType(PartitionEventType.ANALYZE_STATUS);
-            analyzerStatusQueue.add(dataWrapper);
+            sendToAnalyzer(dataWrapper, 0); // the final status is never dropped, the analyzer always drains the queue
         }
     }
+
+    // blocks while a bounded analyzer queue is full so fast collectors can't bury a slow analyzer
+    private void sendToAnalyzer(final PartitionDataWrapper dataWrapper, final long timeout) {
+        try {
+            dataWrapper.setEnqueueTime(System.nanoTime());
+            if (timeout > 0) {
+                if (!analyzerStatusQueue.offer(dataWrapper, timeout, TimeUnit.MILLISECONDS)) {
+                    throw new BatchContainerRuntimeException("Partition analyzer didn't accept collector data after " + timeout + "ms for step " + step.getId());
+                }
+            } else {
+                analyzerStatusQueue.put(dataWrapper);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchContainerRuntimeException(e);
+        }
+    }
+
+    private long backpressureTimeout() {
+        final Properties p = stepContext.getProperties();
+        return p == null ? 0 : Long.parseLong(p.getProperty(PartitionedStepController.ANALYZER_BACKPRESSURE_TIMEOUT_PROPERTY, "0"));
+    }
 }
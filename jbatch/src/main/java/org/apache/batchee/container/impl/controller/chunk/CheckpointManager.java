@@ -83,18 +83,35 @@ public class CheckpointManager {
      * and store them in the database
      */
     public Map<CheckpointDataKey, CheckpointData> prepareCheckpoints() {
+        return prepareCheckpoints(readerCheckpoint());
+    }
+
+    /**
+     * @return the serialized current reader checkpoint, used when the reader is ahead of the written data.
+     */
+    public byte[] readerCheckpoint() {
+        try {
+            return dataRepresentationService.toInternalRepresentation(readerProxy.checkpointInfo());
+        } catch (final Exception ex) {
+            throw new BatchContainerServiceException("Cannot persist the checkpoint data for [" + stepId + "]", ex);
+        }
+    }
+
+    /**
+     * Same as {@link #prepareCheckpoints()} but with an already captured reader checkpoint.
+     */
+    public Map<CheckpointDataKey, CheckpointData> prepareCheckpoints(final byte[] readerCheckpoint) {
         final CheckpointDataKey readerChkptDK;
         final CheckpointDataKey writerChkptDK;
         Map<CheckpointDataKey, CheckpointData> checkpoints = new HashMap<CheckpointDataKey, CheckpointData>(2);
         try {
-            byte[] checkpointBytes = dataRepresentationService.toInternalRepresentation(readerProxy.checkpointInfo());
             CheckpointData readerChkptData = new CheckpointData(jobInstanceID, stepId, CheckpointType.READER);
-            readerChkptData.setRestartToken(checkpointBytes);
+            readerChkptData.setRestartToken(readerCheckpoint);
             readerChkptDK = new CheckpointDataKey(jobInstanceID, stepId, CheckpointType.READER);
 
             checkpoints.put(readerChkptDK, readerChkptData);
 
-            checkpointBytes = dataRepresentationService.toInternalRepresentation(writerProxy.checkpointInfo());
+            byte[] checkpointBytes = dataRepresentationService.toInternalRepresentation(writerProxy.checkpointInfo());
             CheckpointData writerChkptData = new CheckpointData(jobInstanceID, stepId, CheckpointType.WRITER);
             writerChkptData.setRestartToken(checkpointBytes);
             writerChkptDK = new CheckpointDataKey(jobInstanceID, stepId, CheckpointType.WRITER);
@@ -110,9 +127,7 @@ public class CheckpointManager {
 
     public void storeCheckPoints(Map<CheckpointDataKey, CheckpointData> checkpoints) {
         try {
-            for (Map.Entry<CheckpointDataKey, CheckpointData> checkpointEntry : checkpoints.entrySet()) {
-                persistenceManagerService.setCheckpointData(checkpointEntry.getKey(), checkpointEntry.getValue());
-            }
+            persistenceManagerService.setCheckpointData(checkpoints);
         } catch (final Exception ex) {
             throw new BatchContainerServiceException("Cannot persist the checkpoint data for [" + stepId + "]", ex);
         }
@@ -57,6 +57,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -66,6 +72,16 @@ public class ChunkStepController extends SingleThreadedStepController {
 
     protected static final int DEFAULT_TRAN_TIMEOUT_SECONDS = 180;  // From the spec Sec. 9.7
 
+    protected static final String PIPELINED_PROPERTY = "org.apache.batchee.chunk.pipelined";
+    protected static final String PIPELINED_DEPTH_PROPERTY = "org.apache.batchee.chunk.pipelined.depth";
+    protected static final String PIPELINED_STOP_TIMEOUT_PROPERTY = "org.apache.batchee.chunk.pipelined.stop-timeout";
+    /**
+     * Processes the items of a chunk in a dedicated fork-join pool. The workers only get the step thread context classloader:
+     * they run outside of the chunk JTA transaction and without the other thread bound contexts (CDI request scope, security...)
+     * so the processor and its listeners must not rely on them.
+     */
+    protected static final String PROCESSOR_PARALLELISM_PROPERTY = "org.apache.batchee.chunk.processor.parallelism";
+
     private final PersistenceManagerService persistenceManagerService;
     private final BatchArtifactFactory artifactFactory;
     private final DataRepresentationService dataRepresentationService;
@@ -83,6 +99,8 @@ public class ChunkStepController extends SingleThreadedStepController {
     private List<ItemProcessListener> itemProcessListeners = null;
     private List<ItemWriteListener> itemWriteListeners = null;
     private RetryHandler retryHandler;
+    private ExecutorService processorPool = null;
+    private final Object processErrorLock = new Object();
 
     protected ChunkStatus currentChunkStatus;
     protected SingleItemStatus currentItemStatus;
@@ -128,6 +146,21 @@ public class ChunkStepController extends SingleThreadedStepController {
         private boolean filtered = false;
     }
 
+    /**
+     * Result of an item processed by the processor pool, filtered items have a null item.
+     */
+    private static final class ProcessedItem {
+        private final Object item;
+        private final boolean skipped;
+        private final Exception rollbackException;
+
+        private ProcessedItem(final Object item, final boolean skipped, final Exception rollbackException) {
+            this.item = item;
+            this.skipped = skipped;
+            this.rollbackException = rollbackException;
+        }
+    }
+
     private enum ChunkStatusType {
         NORMAL, RETRY_AFTER_ROLLBACK
     }
@@ -211,6 +244,10 @@ public class ChunkStepController extends SingleThreadedStepController {
      * @return an array list of objects to write
      */
     private List<Object> readAndProcess() {
+        if (processorPool != null && processorProxy != null && !currentChunkStatus.isRetryingAfterRollback()) {
+            return readAndProcessInParallel();
+        }
+
         List<Object> chunkToWrite = new ArrayList<Object>();
         Object itemRead;
         Object itemProcessed;
@@ -265,6 +302,159 @@ public class ChunkStepController extends SingleThreadedStepController {
         return chunkToWrite;
     }
 
+    /**
+     * Same as {@link #readAndProcess()} but the whole chunk is read before being processed concurrently.
+     *
+     * @return the processed items to write in read order
+     */
+    private List<Object> readAndProcessInParallel() {
+        final List<Object> itemsRead = new ArrayList<Object>();
+
+        while (true) {
+            currentItemStatus = new SingleItemStatus();
+            currentChunkStatus.incrementItemsTouchedInCurrentChunk();
+            final Object itemRead = readItem();
+
+            if (currentChunkStatus.wasMarkedForRollbackWithRetry()) {
+                return itemsRead;
+            }
+
+            if (!currentItemStatus.isSkipped() && !currentChunkStatus.isFinished()) {
+                itemsRead.add(itemRead);
+            }
+
+            if (stepContext.getBatchStatus().equals(BatchStatus.STOPPING)) {
+                currentChunkStatus.setFinished(true);
+            }
+
+            if (checkpointManager.applyCheckPointPolicy()) {
+                break;
+            }
+
+            if (currentChunkStatus.isFinished()) {
+                break;
+            }
+        }
+
+        return processItems(itemsRead);
+    }
+
+    /**
+     * Processes already read items, concurrently if a processor pool is configured.
+     *
+     * @return the processed items to write in read order
+     */
+    private List<Object> processItems(final List<Object> itemsRead) {
+        final List<Object> chunkToWrite = new ArrayList<Object>(itemsRead.size());
+        if (processorPool == null || processorProxy == null || itemsRead.size() < 2) {
+            for (final Object itemRead : itemsRead) {
+                currentItemStatus = new SingleItemStatus();
+                final Object itemProcessed = processItem(itemRead);
+                if (currentChunkStatus.wasMarkedForRollbackWithRetry()) {
+                    break;
+                }
+                if (!currentItemStatus.isSkipped() && !currentItemStatus.isFiltered()) {
+                    chunkToWrite.add(itemProcessed);
+                }
+            }
+            return chunkToWrite;
+        }
+
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final List<Future<ProcessedItem>> futures = new ArrayList<Future<ProcessedItem>>(itemsRead.size());
+        for (final Object itemRead : itemsRead) {
+            futures.add(processorPool.submit(new Callable<ProcessedItem>() {
+                @Override
+                public ProcessedItem call() throws Exception {
+                    // a previous item can have changed it, the step loader is the only context propagated to the workers
+                    final Thread thread = Thread.currentThread();
+                    final ClassLoader old = thread.getContextClassLoader();
+                    thread.setContextClassLoader(loader);
+                    try {
+                        return processItemConcurrently(itemRead);
+                    } finally {
+                        thread.setContextClassLoader(old);
+                    }
+                }
+            }));
+        }
+
+        // wait for all items even on failure to not process anything while rolling back
+        Throwable failure = null;
+        for (final Future<ProcessedItem> future : futures) {
+            try {
+                final ProcessedItem processed = future.get();
+                if (processed.rollbackException != null) {
+                    if (!currentChunkStatus.wasMarkedForRollbackWithRetry()) {
+                        currentChunkStatus.markForRollbackWithRetry(processed.rollbackException);
+                    }
+                } else if (!processed.skipped && processed.item != null) {
+                    chunkToWrite.add(processed.item);
+                }
+            } catch (final ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            throw new BatchContainerRuntimeException(failure);
+        }
+        return chunkToWrite;
+    }
+
+    /**
+     * Thread safe flavor of {@link #processItem(Object)} used by the processor pool,
+     * the item status is returned instead of being stored in {@link #currentItemStatus}.
+     * Never called while retrying after a rollback since items are then processed one by one.
+     */
+    private ProcessedItem processItemConcurrently(final Object itemRead) {
+        try {
+            for (final ItemProcessListener processListenerProxy : itemProcessListeners) {
+                processListenerProxy.beforeProcess(itemRead);
+            }
+
+            final Object processedItem = processorProxy.processItem(itemRead);
+
+            for (final ItemProcessListener processListenerProxy : itemProcessListeners) {
+                processListenerProxy.afterProcess(itemRead, processedItem);
+            }
+            return new ProcessedItem(processedItem, false, null);
+        } catch (final Exception e) {
+            for (final ItemProcessListener processListenerProxy : itemProcessListeners) {
+                try {
+                    processListenerProxy.onProcessError(itemRead, e);
+                } catch (Exception e1) {
+                    ExceptionConfig.wrapBatchException(e1);
+                }
+            }
+            synchronized (processErrorLock) { // skip and retry handlers are not thread safe
+                if (retryProcessException(e, itemRead)) {
+                    if (retryHandler.isRollbackException(e)) {
+                        return new ProcessedItem(null, false, e);
+                    }
+                } else if (skipProcessException(e, itemRead)) {
+                    stepContext.getMetric(MetricImpl.MetricType.PROCESS_SKIP_COUNT).incValue();
+                    return new ProcessedItem(null, true, null);
+                } else {
+                    throw new BatchContainerRuntimeException(e);
+                }
+            }
+            // retry without rollback
+            return processItemConcurrently(itemRead);
+        } catch (final Throwable e) {
+            throw new BatchContainerRuntimeException(e);
+        }
+    }
+
     /**
      * Reads an item from the reader
      *h
@@ -637,11 +827,158 @@ public class ChunkStepController extends SingleThreadedStepController {
         }
     }
 
+    /**
+     * Opt-in (step property {@value #PIPELINED_PROPERTY}) variant of {@link #invokeChunk()}:
+     * chunk N+1 is read in another thread while chunk N is processed, written and committed.
+     * Chunks are still committed in order and each checkpoint uses the reader checkpoint
+     * captured when the chunk was fully read.
+     */
+    private void invokePipelinedChunk() {
+        try {
+            transactionManager.begin();
+            this.openReaderAndWriter();
+            transactionManager.commit();
+        } catch (final Exception e) {
+            rollback(e);
+            return;
+        }
+
+        final PipelinedChunkReader pipeline = new PipelinedChunkReader(
+            readerProxy, itemReadListeners, checkpointManager, stepContext, getPipelineDepth(), getPipelineStopTimeout());
+        pipeline.start("batchee-chunk-reader-" + step.getId());
+        try {
+            while (true) {
+                currentChunkStatus = new ChunkStatus();
+
+                final PipelinedChunkReader.ReadChunk readChunk = pipeline.next();
+
+                setNextChunkTransactionTimeout();
+                transactionManager.begin();
+
+                for (ChunkListener chunkProxy : chunkListeners) {
+                    chunkProxy.beforeChunk();
+                }
+
+                final List<Object> chunkToWrite = processItems(readChunk.getItems());
+
+                if (chunkToWrite.size() > 0) {
+                    writeChunk(chunkToWrite);
+                }
+
+                for (ChunkListener chunkProxy : chunkListeners) {
+                    chunkProxy.afterChunk();
+                }
+
+                Map<CheckpointDataKey, CheckpointData> checkpoints = checkpointManager.prepareCheckpoints(readChunk.getReaderCheckpoint());
+                PersistentDataWrapper userData = resolveUserData();
+                try {
+                    transactionManager.commit();
+                    storeUserData(userData);
+                    checkpointManager.storeCheckPoints(checkpoints);
+                } catch (Exception e) {
+                    // only set the Exception if we didn't blow up before anyway
+                    if (this.stepContext.getException() != null) {
+                        this.stepContext.setException(e);
+                    }
+                    if (e instanceof BatchRuntimeException) {
+                        throw e;
+                    }
+                    throw new BatchContainerServiceException("Cannot commit the transaction for the step.", e);
+                }
+
+                checkpointManager.endCheckpoint();
+
+                invokeCollectorIfPresent();
+
+                updateNormalMetrics(readChunk.getItems().size(), chunkToWrite.size());
+
+                if (readChunk.isFinished()) {
+                    pipeline.awaitTermination();
+                    transactionManager.begin();
+                    if (doClose()) {
+                        transactionManager.commit();
+                    } else {
+                        transactionManager.rollback();
+                    }
+                    break;
+                }
+            }
+        } catch (final Exception e) {
+            pipeline.stop();
+            logger.log(Level.SEVERE, "Failure in Read-Process-Write Loop", e);
+            for (ChunkListener chunkProxy : chunkListeners) {
+                try {
+                    chunkProxy.onError(e);
+                } catch (final Exception e1) {
+                    logger.log(Level.SEVERE, e1.getMessage(), e1);
+                }
+            }
+            rollback(e);
+        } catch (final Throwable t) {
+            pipeline.stop();
+            rollback(t);
+        }
+    }
+
+    /**
+     * Pipelining needs the chunk boundaries to only depend on the reader, and skip/retry
+     * (which re-read or re-process items one by one) to not be used, else the serial loop is used.
+     */
+    private boolean isPipelined() {
+        final Properties p = stepContext.getProperties();
+        if (p == null || !Boolean.parseBoolean(p.getProperty(PIPELINED_PROPERTY, "false"))) {
+            return false;
+        }
+        if (customCheckpointPolicy || chunk.getSkippableExceptionClasses() != null || chunk.getRetryableExceptionClasses() != null) {
+            logger.info("Step " + step.getId() + " uses skip, retry or a custom checkpoint algorithm, ignoring " + PIPELINED_PROPERTY);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the pool processing the items of a chunk concurrently if the step property
+     * {@value #PROCESSOR_PARALLELISM_PROPERTY} is greater than 1, {@code null} otherwise.
+     */
+    private ExecutorService createProcessorPool() {
+        final Properties p = stepContext.getProperties();
+        final int parallelism = p == null ? 1 : Integer.parseInt(p.getProperty(PROCESSOR_PARALLELISM_PROPERTY, "1"));
+        if (parallelism <= 1 || chunk.getProcessor() == null) {
+            return null;
+        }
+
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final String name = "batchee-processor-" + step.getId() + "-";
+        return new ForkJoinPool(parallelism, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+            @Override
+            public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(name + thread.getPoolIndex());
+                thread.setContextClassLoader(loader);
+                return thread;
+            }
+        }, null, false);
+    }
+
+    private int getPipelineDepth() {
+        final Properties p = stepContext.getProperties();
+        return Math.max(1, Integer.parseInt(p.getProperty(PIPELINED_DEPTH_PROPERTY, "1")));
+    }
+
+    private long getPipelineStopTimeout() {
+        final Properties p = stepContext.getProperties();
+        return Math.max(0, Long.parseLong(p.getProperty(PIPELINED_STOP_TIMEOUT_PROPERTY, "30000")));
+    }
+
     private void updateNormalMetrics(int writeCount) {
         int readCount = currentChunkStatus.getItemsTouchedInCurrentChunk();
         if (currentChunkStatus.isFinished() && !BatchStatus.STOPPING.equals(stepContext.getBatchStatus())) {
             readCount--;
         }
+        updateNormalMetrics(readCount, writeCount);
+    }
+
+    private void updateNormalMetrics(int readCount, int writeCount) {
         int filterCount = readCount - writeCount;
 
         if (readCount < 0 || filterCount < 0 || writeCount < 0) {
@@ -727,7 +1064,19 @@ public class ChunkStepController extends SingleThreadedStepController {
 
         initializeCheckpointManager();
 
-        invokeChunk();
+        processorPool = createProcessorPool();
+        try {
+            if (isPipelined()) {
+                invokePipelinedChunk();
+            } else {
+                invokeChunk();
+            }
+        } finally {
+            if (processorPool != null) {
+                processorPool.shutdownNow();
+                processorPool = null;
+            }
+        }
     }
 
     private void initializeCheckpointManager() {
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.impl.controller.chunk;
+
+import org.apache.batchee.container.exception.BatchContainerRuntimeException;
+import org.apache.batchee.container.impl.StepContextImpl;
+
+import jakarta.batch.api.chunk.ItemReader;
+import jakarta.batch.api.chunk.listener.ItemReadListener;
+import jakarta.batch.runtime.BatchStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Reads the chunks ahead in a dedicated thread and hands them to the step thread through a bounded queue.
+ *
+ * Each chunk carries the reader checkpoint captured (and serialized) right after its last item was read
+ * so the checkpoint stored after writing it only reflects written data even if the reader is already further.
+ * Reading happens outside of the chunk transaction.
+ */
+class PipelinedChunkReader implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(PipelinedChunkReader.class.getName());
+    private static final long INTERRUPT_TIMEOUT = TimeUnit.SECONDS.toMillis(1);
+
+    private final ItemReader readerProxy;
+    private final List<ItemReadListener> itemReadListeners;
+    private final CheckpointManager checkpointManager;
+    private final StepContextImpl stepContext;
+    private final BlockingQueue<ReadChunk> chunks;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final ClassLoader loader;
+    private final long stopTimeout;
+    private volatile boolean stopped = false;
+    private Thread thread;
+
+    /**
+     * @param stopTimeout how long (ms) {@link #stop()} waits for the current read before interrupting the reader thread
+     */
+    PipelinedChunkReader(final ItemReader readerProxy, final List<ItemReadListener> itemReadListeners, final CheckpointManager checkpointManager,
+                         final StepContextImpl stepContext, final int depth, final long stopTimeout) {
+        this.readerProxy = readerProxy;
+        this.itemReadListeners = itemReadListeners;
+        this.checkpointManager = checkpointManager;
+        this.stepContext = stepContext;
+        this.chunks = new ArrayBlockingQueue<ReadChunk>(depth);
+        this.loader = Thread.currentThread().getContextClassLoader();
+        this.stopTimeout = stopTimeout;
+    }
+
+    void start(final String name) {
+        // not using the batch thread pool: a bounded one could never start the reader while the step thread waits for it
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.setContextClassLoader(loader);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            boolean finished = false;
+            while (!finished && !stopped) {
+                checkpointManager.beginCheckpoint();
+
+                final List<Object> items = new ArrayList<Object>();
+                while (true) {
+                    final Object item = readItem();
+                    if (item == null) {
+                        finished = true;
+                    } else {
+                        items.add(item);
+                    }
+                    if (stepContext.getBatchStatus() == BatchStatus.STOPPING) {
+                        finished = true;
+                    }
+                    if (checkpointManager.applyCheckPointPolicy() || finished || stopped) {
+                        break;
+                    }
+                }
+                publish(new ReadChunk(items, checkpointManager.readerCheckpoint(), finished, null));
+            }
+        } catch (final Throwable t) {
+            publish(new ReadChunk(null, null, true, t));
+        } finally {
+            done.countDown();
+        }
+    }
+
+    /**
+     * @return the next read chunk, blocking until it is available.
+     */
+    ReadChunk next() {
+        try {
+            final ReadChunk chunk = chunks.take();
+            if (chunk.error != null) {
+                if (chunk.error instanceof RuntimeException) {
+                    throw (RuntimeException) chunk.error;
+                }
+                throw new BatchContainerRuntimeException(chunk.error);
+            }
+            return chunk;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchContainerRuntimeException(e);
+        }
+    }
+
+    /**
+     * Stops reading ahead and waits for the reader thread to leave the reader.
+     * A read still running after the stop timeout is interrupted, the reader can then be closed while it is used.
+     */
+    void stop() {
+        stopped = true;
+        chunks.clear();
+        if (awaitTermination(stopTimeout)) {
+            return;
+        }
+
+        LOGGER.warning(thread.getName() + " still reading after " + stopTimeout + "ms, interrupting it");
+        thread.interrupt();
+        if (!awaitTermination(INTERRUPT_TIMEOUT)) {
+            LOGGER.severe(thread.getName() + " didn't stop, the reader is closed while it is still reading");
+        }
+    }
+
+    /**
+     * Waits for the reader thread once it published the last chunk, it only has to exit then.
+     */
+    void awaitTermination() {
+        try {
+            done.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean awaitTermination(final long timeout) {
+        try {
+            return done.await(timeout, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Object readItem() throws Exception {
+        try {
+            for (final ItemReadListener readListenerProxy : itemReadListeners) {
+                readListenerProxy.beforeRead();
+            }
+
+            final Object itemRead = readerProxy.readItem();
+
+            for (final ItemReadListener readListenerProxy : itemReadListeners) {
+                readListenerProxy.afterRead(itemRead);
+            }
+            return itemRead;
+        } catch (final Exception e) {
+            stepContext.setException(e);
+            for (final ItemReadListener readListenerProxy : itemReadListeners) {
+                try {
+                    readListenerProxy.onReadError(e);
+                } catch (final Exception e1) {
+                    ExceptionConfig.wrapBatchException(e1);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void publish(final ReadChunk chunk) {
+        try {
+            while (!stopped && !chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                // wait for the step thread to consume a chunk or to stop us
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+        }
+    }
+
+    static final class ReadChunk {
+        private final List<Object> items;
+        private final byte[] readerCheckpoint;
+        private final boolean finished;
+        private final Throwable error;
+
+        private ReadChunk(final List<Object> items, final byte[] readerCheckpoint, final boolean finished, final Throwable error) {
+            this.items = items;
+            this.readerCheckpoint = readerCheckpoint;
+            this.finished = finished;
+            this.error = error;
+        }
+
+        List<Object> getItems() {
+            return items;
+        }
+
+        byte[] getReaderCheckpoint() {
+            return readerCheckpoint;
+        }
+
+        boolean isFinished() {
+            return finished;
+        }
+    }
+}
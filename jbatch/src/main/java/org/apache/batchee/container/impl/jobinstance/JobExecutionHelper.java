@@ -46,8 +46,9 @@ public class JobExecutionHelper {
         // private utility class ct
     }
 
-    private static ModelNavigator<JSLJob> getResolvedJobNavigator(final String jobXml, final Properties jobParameters, final boolean parallelExecution) {
-        final JSLJob jobModel = new JobModelResolver().resolveModel(jobXml);
+    private static ModelNavigator<JSLJob> getResolvedJobNavigator(final JobModelResolver modelResolver, final String jobXml, final Properties jobParameters,
+                                                                  final boolean parallelExecution) {
+        final JSLJob jobModel = modelResolver.resolveModel(jobXml);
         final PropertyResolver<JSLJob> propResolver = PropertyResolverFactory.createJobPropertyResolver(parallelExecution);
         propResolver.substituteProperties(jobModel, jobParameters);
         return NavigatorFactory.createJobNavigator(jobModel);
@@ -92,8 +93,9 @@ public class JobExecutionHelper {
         }
     }
 
-    public static RuntimeJobExecution startJob(final ServicesManager servicesManager, final String jobXML, final Properties jobParameters) throws JobStartException {
-        final JSLJob jobModel = new JobModelResolver().resolveModel(jobXML);
+    public static RuntimeJobExecution startJob(final ServicesManager servicesManager, final JobModelResolver modelResolver, final String jobXML,
+                                               final Properties jobParameters) throws JobStartException {
+        final JSLJob jobModel = modelResolver.resolveModel(jobXML);
         final ModelNavigator<JSLJob> jobNavigator = getResolvedJobNavigator(jobModel, jobParameters, false);
         final JobContextImpl jobContext = getJobContext(jobNavigator);
         final JobInstance jobInstance = getNewJobInstance(servicesManager, jobNavigator.getRootModelElement().getId(), jobXML);
@@ -166,20 +168,22 @@ public class JobExecutionHelper {
     public static RuntimeJobExecution restartPartition(final ServicesManager servicesManager, final long execId, final JSLJob gennedJobModel, final Properties partitionProps)
             throws JobRestartException,
         JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException, NoSuchJobExecutionException {
-        return restartExecution(servicesManager, execId, gennedJobModel, partitionProps, true, false);
+        return restartExecution(servicesManager, null, execId, gennedJobModel, partitionProps, true, false);
     }
 
     public static RuntimeFlowInSplitExecution restartFlowInSplit(final ServicesManager servicesManager, final long execId, final JSLJob gennedJobModel)
             throws JobRestartException, JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException, NoSuchJobExecutionException {
-        return (RuntimeFlowInSplitExecution) restartExecution(servicesManager, execId, gennedJobModel, null, true, true);
+        return (RuntimeFlowInSplitExecution) restartExecution(servicesManager, null, execId, gennedJobModel, null, true, true);
     }
 
-    public static RuntimeJobExecution restartJob(final ServicesManager servicesManager, final long executionId, final Properties restartJobParameters)
+    public static RuntimeJobExecution restartJob(final ServicesManager servicesManager, final JobModelResolver modelResolver, final long executionId,
+                                                 final Properties restartJobParameters)
             throws JobRestartException, JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException, NoSuchJobExecutionException {
-        return restartExecution(servicesManager, executionId, null, restartJobParameters, false, false);
+        return restartExecution(servicesManager, modelResolver, executionId, null, restartJobParameters, false, false);
     }
 
-    private static RuntimeJobExecution restartExecution(final ServicesManager servicesManager, final long executionId, final JSLJob gennedJobModel,
+    private static RuntimeJobExecution restartExecution(final ServicesManager servicesManager, final JobModelResolver modelResolver,
+                                                        final long executionId, final JSLJob gennedJobModel,
                                                         final Properties restartJobParameters, final boolean parallelExecution, final boolean flowInSplit)
             throws JobRestartException, JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException, NoSuchJobExecutionException {
 
@@ -198,7 +202,7 @@ public class JobExecutionHelper {
         final ModelNavigator<JSLJob> jobNavigator;
         // If we are in a parallel job that is genned use the regenned JSL.
         if (gennedJobModel == null) {
-            jobNavigator = getResolvedJobNavigator(jobInstance.getJobXML(), restartJobParameters, parallelExecution);
+            jobNavigator = getResolvedJobNavigator(modelResolver, persistenceManagerService.getJobXml(jobInstanceId), restartJobParameters, parallelExecution);
         } else {
             jobNavigator = getResolvedJobNavigator(gennedJobModel, restartJobParameters, parallelExecution);
         }
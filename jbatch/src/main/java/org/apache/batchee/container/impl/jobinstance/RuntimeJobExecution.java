@@ -26,6 +26,7 @@ import org.apache.batchee.spi.PersistenceManagerService;
 
 import jakarta.batch.runtime.BatchStatus;
 import jakarta.batch.runtime.JobInstance;
+import jakarta.batch.runtime.Metric;
 import java.io.Closeable;
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -42,6 +43,7 @@ public class RuntimeJobExecution {
     private ListenerFactory listenerFactory;
     private InternalJobExecution operatorJobExecution = null;
     private Integer partitionInstance = null;
+    private volatile Metric[] partitionMetrics = null;
     private Collection<Closeable> releasables = new ArrayList<Closeable>();
 
     public RuntimeJobExecution(final JobInstance jobInstance, final long executionId, final PersistenceManagerService persistenceManagerService) {
@@ -185,6 +187,17 @@ public class RuntimeJobExecution {
         this.partitionInstance = partitionInstance;
     }
 
+    /**
+     * @return the final metrics of the step of this partition sub job, null if the step didn't end normally.
+     */
+    public Metric[] getPartitionMetrics() {
+        return partitionMetrics;
+    }
+
+    public void setPartitionMetrics(final Metric[] partitionMetrics) {
+        this.partitionMetrics = partitionMetrics;
+    }
+
     public Collection<Closeable> getReleasables() {
         return releasables;
     }
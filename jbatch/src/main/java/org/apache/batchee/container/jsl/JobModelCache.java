@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.jsl;
+
+import org.apache.batchee.container.exception.BatchContainerRuntimeException;
+import org.apache.batchee.jaxb.JSLJob;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the parsed and validated job models by XML content so a job started again doesn't pay
+ * the parsing and schema validation again.
+ *
+ * Cached models are templates: they are never handed out, callers always get a deep copy
+ * they can resolve and mutate freely.
+ */
+public class JobModelCache {
+    private static final ConcurrentMap<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<Class<?>, Field[]>();
+
+    private final Map<String, JSLJob> templates;
+
+    public JobModelCache(final int maxSize) {
+        this.templates = new LinkedHashMap<String, JSLJob>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, JSLJob> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param jobXML the job xml content, it is the key so an updated xml never hits an outdated model.
+     * @return a copy of the cached model or null if this xml was not parsed yet.
+     */
+    public JSLJob get(final String jobXML) {
+        final JSLJob template;
+        synchronized (templates) {
+            template = templates.get(jobXML);
+        }
+        return template == null ? null : copy(template);
+    }
+
+    /**
+     * @param jobXML the job xml content.
+     * @param model a freshly unmarshalled model, it must not be used by the caller after this call.
+     * @return a copy of the model the caller can use.
+     */
+    public JSLJob put(final String jobXML, final JSLJob model) {
+        synchronized (templates) {
+            templates.put(jobXML, model);
+        }
+        return copy(model);
+    }
+
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    // the JAXB model only has strings, lists and other model beans
+    @SuppressWarnings("unchecked")
+    static <T> T copy(final T model) {
+        if (model == null || model instanceof String) {
+            return model;
+        }
+        if (model instanceof List) {
+            final Collection<?> list = Collection.class.cast(model);
+            final List<Object> copy = new ArrayList<Object>(list.size());
+            for (final Object item : list) {
+                copy.add(copy(item));
+            }
+            return (T) copy;
+        }
+
+        try {
+            final Class<?> type = model.getClass();
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            if (!constructor.isAccessible()) {
+                constructor.setAccessible(true);
+            }
+            final Object copy = constructor.newInstance();
+            for (final Field field : fields(type)) {
+                field.set(copy, copy(field.get(model)));
+            }
+            return (T) copy;
+        } catch (final Exception e) {
+            throw new BatchContainerRuntimeException("Can't copy " + model, e);
+        }
+    }
+
+    private static Field[] fields(final Class<?> type) {
+        Field[] fields = FIELDS.get(type);
+        if (fields == null) {
+            final List<Field> list = new ArrayList<Field>();
+            Class<?> current = type;
+            while (current != null && current != Object.class) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    list.add(field);
+                }
+                current = current.getSuperclass();
+            }
+            fields = list.toArray(new Field[list.size()]);
+            final Field[] existing = FIELDS.putIfAbsent(type, fields);
+            if (existing != null) {
+                fields = existing;
+            }
+        }
+        return fields;
+    }
+}
@@ -51,6 +51,23 @@ public class JobModelResolver {
         }
     }
 
+    private final JobModelCache cache;
+
+    public JobModelResolver() {
+        this(null);
+    }
+
+    /**
+     * @param cache where parsed models are kept by xml content, null to parse the xml each time.
+     */
+    public JobModelResolver(final JobModelCache cache) {
+        this.cache = cache;
+    }
+
+    public JobModelCache getCache() {
+        return cache;
+    }
+
     private JSLJob unmarshalJobXML(final String jobXML) {
         final JSLJob result;
         final JSLValidationEventHandler handler = new JSLValidationEventHandler();
@@ -80,16 +97,28 @@ public class JobModelResolver {
 
     public JSLJob resolveModel(final String jobXML) {
         if (System.getSecurityManager() == null) {
-            return unmarshalJobXML(jobXML);
+            return cachedModel(jobXML);
         }
         return AccessController.doPrivileged(
             new PrivilegedAction<JSLJob>() {
                 public JSLJob run() {
-                    return unmarshalJobXML(jobXML);
+                    return cachedModel(jobXML);
                 }
             });
     }
 
+    // the returned model is always owned by the caller, property resolution mutates it
+    private JSLJob cachedModel(final String jobXML) {
+        if (cache == null) {
+            return unmarshalJobXML(jobXML);
+        }
+        final JSLJob cached = cache.get(jobXML);
+        if (cached != null) {
+            return cached;
+        }
+        return cache.put(jobXML, unmarshalJobXML(jobXML));
+    }
+
     private static class JakartaFilter extends XMLFilterImpl {
         private static final InputSource EMPTY_INPUT_SOURCE = new InputSource(new ByteArrayInputStream(new byte[0]));
 
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.proxy;
+
+import org.apache.batchee.container.exception.BatchContainerRuntimeException;
+
+/**
+ * Base of the typed proxies replacing {@link BatchProxyInvocationHandler} on the hot path:
+ * same semantic (injection references bound during the call, exceptions stored in the step context
+ * and wrapped) without the reflective dispatch.
+ */
+public abstract class AbstractInjectionProxy<T> extends AbstractProxy<T> {
+    protected final InjectionReferences injectionRefs;
+
+    AbstractInjectionProxy(final T delegate, final InjectionReferences injectionRefs) {
+        super(delegate);
+        this.injectionRefs = injectionRefs;
+        if (injectionRefs != null) {
+            setStepContext(injectionRefs.getStepContext());
+        }
+    }
+
+    protected final InjectionReferences enter() {
+        final InjectionReferences old = ProxyFactory.getInjectionReferences();
+        if (old != injectionRefs) {
+            ProxyFactory.setInjectionReferences(injectionRefs);
+        }
+        return old;
+    }
+
+    protected final void exit(final InjectionReferences old) {
+        if (old != injectionRefs) {
+            ProxyFactory.setInjectionReferences(old);
+        }
+    }
+
+    protected final BatchContainerRuntimeException handle(final Exception e) {
+        if (stepContext != null) {
+            stepContext.setException(e);
+        }
+        return new BatchContainerRuntimeException(e);
+    }
+}
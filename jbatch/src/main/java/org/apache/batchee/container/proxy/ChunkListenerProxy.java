@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.proxy;
+
+import jakarta.batch.api.chunk.listener.ChunkListener;
+
+public class ChunkListenerProxy extends AbstractInjectionProxy<ChunkListener> implements ChunkListener {
+    public ChunkListenerProxy(final ChunkListener delegate, final InjectionReferences injectionRefs) {
+        super(delegate, injectionRefs);
+    }
+
+    @Override
+    public void beforeChunk() {
+        final InjectionReferences old = enter();
+        try {
+            delegate.beforeChunk();
+        } catch (final Exception e) {
+            throw handle(e);
+        } finally {
+            exit(old);
+        }
+    }
+
+    @Override
+    public void onError(final Exception ex) {
+        final InjectionReferences old = enter();
+        try {
+            delegate.onError(ex);
+        } catch (final Exception e) {
+            throw handle(e);
+        } finally {
+            exit(old);
+        }
+    }
+
+    @Override
+    public void afterChunk() {
+        final InjectionReferences old = enter();
+        try {
+            delegate.afterChunk();
+        } catch (final Exception e) {
+            throw handle(e);
+        } finally {
+            exit(old);
+        }
+    }
+}
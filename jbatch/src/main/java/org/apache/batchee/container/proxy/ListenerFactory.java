@@ -139,7 +139,7 @@ public class ListenerFactory {
         final List<T> retVal = new ArrayList<T>();
         for (final ListenerInfo li : stepListenerInfo) {
             if (listenerClazz.isAssignableFrom(li.getArtifact().getClass())) {
-                final T proxy = ProxyFactory.createProxy((T) li.getArtifact(), injectionRefs);
+                final T proxy = ProxyFactory.createListenerProxy(listenerClazz, (T) li.getArtifact(), injectionRefs);
                 retVal.add(proxy);
             }
         }
@@ -29,6 +29,10 @@ import jakarta.batch.api.chunk.CheckpointAlgorithm;
 import jakarta.batch.api.chunk.ItemProcessor;
 import jakarta.batch.api.chunk.ItemReader;
 import jakarta.batch.api.chunk.ItemWriter;
+import jakarta.batch.api.chunk.listener.ChunkListener;
+import jakarta.batch.api.chunk.listener.ItemProcessListener;
+import jakarta.batch.api.chunk.listener.ItemReadListener;
+import jakarta.batch.api.chunk.listener.ItemWriteListener;
 import jakarta.batch.api.partition.PartitionAnalyzer;
 import jakarta.batch.api.partition.PartitionCollector;
 import jakarta.batch.api.partition.PartitionMapper;
@@ -90,6 +94,28 @@ public class ProxyFactory {
     }
 
 
+    /**
+     * Uses a typed proxy for the listeners called per item or chunk and a dynamic proxy for the others.
+     */
+    public static <T> T createListenerProxy(final Class<T> type, final T delegate, final InjectionReferences injectionRefs) {
+        if (delegate == null) {
+            return null;
+        }
+        if (type == ItemReadListener.class) {
+            return type.cast(new ItemReadListenerProxy(ItemReadListener.class.cast(delegate), injectionRefs));
+        }
+        if (type == ItemProcessListener.class) {
+            return type.cast(new ItemProcessListenerProxy(ItemProcessListener.class.cast(delegate), injectionRefs));
+        }
+        if (type == ItemWriteListener.class) {
+            return type.cast(new ItemWriteListenerProxy(ItemWriteListener.class.cast(delegate), injectionRefs));
+        }
+        if (type == ChunkListener.class) {
+            return type.cast(new ChunkListenerProxy(ChunkListener.class.cast(delegate), injectionRefs));
+        }
+        return createProxy(delegate, injectionRefs);
+    }
+
     /*
      * Decider
      */
@@ -122,19 +148,19 @@ public class ProxyFactory {
     public static ItemReader createItemReaderProxy(final BatchArtifactFactory factory, final String id, final InjectionReferences injectionRefs,
                                                    final RuntimeJobExecution execution) {
         final ItemReader loadedArtifact = (ItemReader) loadArtifact(factory, id, injectionRefs, execution);
-        return createProxy(loadedArtifact, injectionRefs, "readItem");
+        return loadedArtifact == null ? null : new ItemReaderProxy(loadedArtifact, injectionRefs);
     }
 
     public static ItemProcessor createItemProcessorProxy(final BatchArtifactFactory factory, final String id, final InjectionReferences injectionRefs,
                                                          final RuntimeJobExecution execution) {
         final ItemProcessor loadedArtifact = (ItemProcessor) loadArtifact(factory, id, injectionRefs, execution);
-        return createProxy(loadedArtifact, injectionRefs, "processItem");
+        return loadedArtifact == null ? null : new ItemProcessorProxy(loadedArtifact, injectionRefs);
     }
 
     public static ItemWriter createItemWriterProxy(final BatchArtifactFactory factory, final String id, final InjectionReferences injectionRefs,
                                                    final RuntimeJobExecution execution) {
         final ItemWriter loadedArtifact = (ItemWriter) loadArtifact(factory, id, injectionRefs, execution);
-        return createProxy(loadedArtifact, injectionRefs, "writeItems");
+        return loadedArtifact == null ? null : new ItemWriterProxy(loadedArtifact, injectionRefs);
     }
 
     /*
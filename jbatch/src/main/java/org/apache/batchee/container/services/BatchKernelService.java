@@ -24,6 +24,7 @@ import org.apache.batchee.container.util.BatchPartitionWorkUnit;
 import org.apache.batchee.container.util.BatchWorkUnit;
 import org.apache.batchee.container.util.FlowInSplitBuilderConfig;
 import org.apache.batchee.container.util.PartitionsBuilderConfig;
+import org.apache.batchee.jaxb.JSLJob;
 import org.apache.batchee.spi.BatchService;
 
 import jakarta.batch.operations.JobExecutionAlreadyCompleteException;
@@ -57,6 +58,28 @@ public interface BatchKernelService extends BatchService {
     List<BatchPartitionWorkUnit> buildOnRestartParallelPartitions(PartitionsBuilderConfig config, JobContextImpl jc, StepContextImpl sc) throws JobRestartException,
             JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException;
 
+    /**
+     * Builds a single partition sub job in STARTING state without starting it, used to materialize partitions on demand.
+     *
+     * @param config   the partitions configuration
+     * @param jobModel the partition sub job model
+     * @param instance the partition index
+     * @param jc       the parent job context
+     * @param sc       the partitioned step context
+     * @return the partition work unit
+     */
+    BatchPartitionWorkUnit buildNewParallelPartition(PartitionsBuilderConfig config, JSLJob jobModel, int instance, JobContextImpl jc, StepContextImpl sc)
+            throws JobRestartException, JobStartException;
+
+    /**
+     * Same as {@link #buildNewParallelPartition(PartitionsBuilderConfig, JSLJob, int, JobContextImpl, StepContextImpl)} for a normal restart,
+     * a partition never materialized by the previous executions is built as a new one.
+     *
+     * @return the partition work unit or null if this partition already completed
+     */
+    BatchPartitionWorkUnit buildOnRestartParallelPartition(PartitionsBuilderConfig config, JSLJob jobModel, int instance, JobContextImpl jc, StepContextImpl sc)
+            throws JobRestartException, JobExecutionNotMostRecentException;
+
     void startGeneratedJob(BatchWorkUnit batchWork);
 
     void restartGeneratedJob(BatchWorkUnit batchWork) throws JobRestartException;
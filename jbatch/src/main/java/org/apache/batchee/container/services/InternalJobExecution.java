@@ -32,4 +32,12 @@ public interface InternalJobExecution extends JobExecution {
     void setJobParameters(Properties jProps);
     long getInstanceId();
     void setJobContext(JobContextImpl jobContext);
+
+    /**
+     * Executions returned by the persistence are snapshots of the stored row,
+     * this reloads them to get current values.
+     *
+     * @return this execution with up to date values
+     */
+    InternalJobExecution refresh();
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.data;
+
+import org.apache.batchee.spi.CheckpointSerializer;
+import org.apache.batchee.spi.DataRepresentationService;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.apache.batchee.container.services.data.Varints.readVarLong;
+import static org.apache.batchee.container.services.data.Varints.varLongSize;
+import static org.apache.batchee.container.services.data.Varints.writeVarLong;
+
+/**
+ * Stores the common JDK lists, sets and maps (naturally ordered for the sorted ones)
+ * as a kind byte, the size and each element through the calling {@link DataRepresentationService}
+ * (varint length + 1, 0 meaning {@code null}) instead of java serialization.
+ */
+public class CollectionCheckpointSerializer implements CheckpointSerializer {
+    private static final Class<?>[] TYPES = new Class<?>[]{
+        ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, TreeSet.class,
+        HashMap.class, LinkedHashMap.class, TreeMap.class
+    };
+
+    @Override
+    public String name() {
+        return "collection";
+    }
+
+    @Override
+    public boolean accept(final Object value) {
+        final int kind = kind(value.getClass());
+        if (kind < 0) {
+            return false;
+        }
+        if (SortedSet.class.isInstance(value)) {
+            return SortedSet.class.cast(value).comparator() == null;
+        }
+        if (SortedMap.class.isInstance(value)) {
+            return SortedMap.class.cast(value).comparator() == null;
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] serialize(final Object value, final DataRepresentationService representation) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(kind(value.getClass()));
+        if (Map.class.isInstance(value)) {
+            final Map<?, ?> map = Map.class.cast(value);
+            writeVarLong(out, map.size());
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                writeElement(out, entry.getKey(), representation);
+                writeElement(out, entry.getValue(), representation);
+            }
+        } else {
+            final Collection<?> collection = Collection.class.cast(value);
+            writeVarLong(out, collection.size());
+            for (final Object item : collection) {
+                writeElement(out, item, representation);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(final byte[] data, final DataRepresentationService representation) {
+        final Class<?> type = TYPES[data[0]];
+        final int size = (int) readVarLong(data, 1);
+        final int[] position = new int[]{ 1 + varLongSize(size) };
+        if (Map.class.isAssignableFrom(type)) {
+            final Map<Object, Object> map = type == TreeMap.class ? new TreeMap<Object, Object>()
+                : (type == LinkedHashMap.class ? new LinkedHashMap<Object, Object>(size * 4 / 3 + 1) : new HashMap<Object, Object>(size * 4 / 3 + 1));
+            for (int i = 0; i < size; i++) {
+                final Object key = readElement(data, position, representation);
+                map.put(key, readElement(data, position, representation));
+            }
+            return map;
+        }
+
+        final Collection<Object> collection;
+        if (type == ArrayList.class) {
+            collection = new ArrayList<Object>(size);
+        } else if (type == LinkedList.class) {
+            collection = new LinkedList<Object>();
+        } else if (type == TreeSet.class) {
+            collection = new TreeSet<Object>();
+        } else if (type == LinkedHashSet.class) {
+            collection = new LinkedHashSet<Object>(size * 4 / 3 + 1);
+        } else {
+            collection = new HashSet<Object>(size * 4 / 3 + 1);
+        }
+        for (int i = 0; i < size; i++) {
+            collection.add(readElement(data, position, representation));
+        }
+        return collection;
+    }
+
+    private static int kind(final Class<?> type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i] == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void writeElement(final ByteArrayOutputStream out, final Object value, final DataRepresentationService representation) {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        final byte[] bytes = representation.toInternalRepresentation(value);
+        writeVarLong(out, bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static Object readElement(final byte[] data, final int[] position, final DataRepresentationService representation) {
+        final long length = readVarLong(data, position[0]);
+        position[0] += varLongSize(length);
+        if (length == 0) {
+            return null;
+        }
+        final int start = position[0];
+        position[0] += (int) length - 1;
+        final byte[] element = new byte[(int) length - 1];
+        System.arraycopy(data, start, element, 0, element.length);
+        return representation.toJavaRepresentation(element);
+    }
+}
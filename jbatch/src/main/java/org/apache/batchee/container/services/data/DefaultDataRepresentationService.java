@@ -25,18 +25,41 @@ import java.nio.charset.Charset;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.ServiceLoader;
 import java.util.TimeZone;
 import java.util.logging.Logger;
 
 import org.apache.batchee.container.exception.BatchContainerServiceException;
 import org.apache.batchee.container.util.TCCLObjectInputStream;
+import org.apache.batchee.spi.CheckpointSerializer;
 import org.apache.batchee.spi.DataRepresentationService;
 
+import static org.apache.batchee.container.services.data.Varints.readVarLong;
+import static org.apache.batchee.container.services.data.Varints.unzigzag;
+import static org.apache.batchee.container.services.data.Varints.varLongSize;
+import static org.apache.batchee.container.services.data.Varints.writeVarLong;
+import static org.apache.batchee.container.services.data.Varints.zigzag;
+
 
 /**
  * Default implementation of the {@link DataRepresentationService}
+ *
+ * By default natives, dates and enums are stored as a human readable {@link #BATCHEE_DATA_PREFIX} string.
+ * With {@code data.representation.binary=true} they are stored in a compact binary form instead:
+ * {@link #BINARY_MAGIC}, a one byte type tag and the value (zigzag varints for integral values,
+ * epoch values for dates). Both forms are always readable.
+ *
+ * In binary mode other types can be claimed by {@link CheckpointSerializer}s before falling back on java serialization,
+ * serializer values are always readable.
  */
 public class DefaultDataRepresentationService implements DataRepresentationService {
 
@@ -47,11 +70,70 @@ public class DefaultDataRepresentationService implements DataRepresentationServi
 
     private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
 
+    /**
+     * Header of the binary form, can't be the start of a java serialization stream (0xACED) nor of the string form.
+     */
+    public static final byte[] BINARY_MAGIC = new byte[]{ (byte) 0xBA, (byte) 0x7C };
+
+    private static final byte[] BATCHEE_DATA_PREFIX_BYTES = BATCHEE_DATA_PREFIX.getBytes(UTF8_CHARSET);
+
+    private static final int HEADER_LENGTH = BINARY_MAGIC.length + 1;
+
+    private static final byte TAG_INTEGER = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_STRING = 3;
+    private static final byte TAG_FLOAT = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_DATE = 6;
+    private static final byte TAG_TIMESTAMP = 7;
+    private static final byte TAG_ENUM = 8;
+    private static final byte TAG_LOCAL_DATE = 9;
+    private static final byte TAG_LOCAL_TIME = 10;
+    private static final byte TAG_LOCAL_DATE_TIME = 11;
+    private static final byte TAG_SERIALIZER = 12;
+
+    private boolean binary = false;
+
+    private final List<CheckpointSerializer> serializers = new ArrayList<CheckpointSerializer>();
+    private final Map<String, CheckpointSerializer> serializersByName = new HashMap<String, CheckpointSerializer>();
+
     private static final Logger LOGGER = Logger.getLogger(DefaultDataRepresentationService.class.getName());
 
 
     @Override
     public void init(Properties batchConfig) {
+        binary = Boolean.parseBoolean(batchConfig.getProperty("data.representation.binary", "false"));
+
+        final ClassLoader loader = getClassLoader();
+        final String configured = batchConfig.getProperty("data.representation.serializers");
+        if (configured != null) {
+            for (final String type : configured.split(",")) {
+                final String trimmed = type.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                try {
+                    addSerializer(CheckpointSerializer.class.cast(loader.loadClass(trimmed).newInstance()));
+                } catch (final Exception e) {
+                    throw new BatchContainerServiceException("Cannot create checkpoint serializer " + trimmed, e);
+                }
+            }
+        }
+        if (Boolean.parseBoolean(batchConfig.getProperty("data.representation.serializers.service-loader", "true"))) {
+            for (final CheckpointSerializer serializer : ServiceLoader.load(CheckpointSerializer.class, loader)) {
+                addSerializer(serializer);
+            }
+        }
+    }
+
+    /**
+     * Registers a serializer, the first one registered for a name wins.
+     */
+    public void addSerializer(final CheckpointSerializer serializer) {
+        if (!serializersByName.containsKey(serializer.name())) {
+            serializersByName.put(serializer.name(), serializer);
+            serializers.add(serializer);
+        }
     }
 
     @Override
@@ -60,7 +142,13 @@ public class DefaultDataRepresentationService implements DataRepresentationServi
             return null;
         }
 
-        byte[] serialValue = convertJavaNativeTypes(dataObject);
+        byte[] serialValue = null;
+        if (binary) {
+            serialValue = convertToBinary(dataObject);
+        }
+        if (serialValue == null) {
+            serialValue = convertJavaNativeTypes(dataObject);
+        }
         if (serialValue == null) {
             serialValue = convertJava7DateTypes(dataObject);
         }
@@ -90,10 +178,13 @@ public class DefaultDataRepresentationService implements DataRepresentationServi
             return null;
         }
 
-        T data = null;
-        String stringRep = new String(internalRepresentation, UTF8_CHARSET);
+        if (startsWith(internalRepresentation, BINARY_MAGIC)) {
+            return convertBackFromBinary(internalRepresentation);
+        }
 
-        if (stringRep.startsWith(BATCHEE_DATA_PREFIX)) {
+        T data = null;
+        if (startsWith(internalRepresentation, BATCHEE_DATA_PREFIX_BYTES)) { // only decode the string when it is one
+            String stringRep = new String(internalRepresentation, UTF8_CHARSET);
             String dataVal = stringRep.substring(BATCHEE_DATA_PREFIX.length());
             String typeVal = dataVal.substring(0, dataVal.indexOf(BATCHEE_SPLIT_TOKEN));
             String valueVal = dataVal.substring(dataVal.indexOf(BATCHEE_SPLIT_TOKEN) + BATCHEE_SPLIT_TOKEN.length());
@@ -131,6 +222,164 @@ public class DefaultDataRepresentationService implements DataRepresentationServi
         return data;
     }
 
+    /**
+     * Binary form of the types with a known layout, {@code null} for other types.
+     */
+    protected <T> byte[] convertToBinary(T dataObject) {
+        final Class<?> type = dataObject.getClass();
+        if (type == Integer.class) {
+            return binaryVarLong(TAG_INTEGER, zigzag(Integer.class.cast(dataObject)));
+        }
+        if (type == Long.class) {
+            return binaryVarLong(TAG_LONG, zigzag(Long.class.cast(dataObject)));
+        }
+        if (type == String.class) {
+            return binaryBytes(TAG_STRING, String.class.cast(dataObject).getBytes(UTF8_CHARSET));
+        }
+        if (type == Float.class) {
+            return binaryFixed(TAG_FLOAT, Float.floatToIntBits(Float.class.cast(dataObject)), 4);
+        }
+        if (type == Double.class) {
+            return binaryFixed(TAG_DOUBLE, Double.doubleToLongBits(Double.class.cast(dataObject)), 8);
+        }
+        if (type == Date.class) {
+            return binaryVarLong(TAG_DATE, zigzag(Date.class.cast(dataObject).getTime()));
+        }
+        if (type == Timestamp.class) {
+            final Timestamp timestamp = Timestamp.class.cast(dataObject);
+            return binaryVarLongs(TAG_TIMESTAMP, zigzag(timestamp.getTime()), timestamp.getNanos());
+        }
+        if (type == LocalDate.class) {
+            return binaryVarLong(TAG_LOCAL_DATE, zigzag(LocalDate.class.cast(dataObject).toEpochDay()));
+        }
+        if (type == LocalTime.class) {
+            return binaryVarLong(TAG_LOCAL_TIME, LocalTime.class.cast(dataObject).toNanoOfDay());
+        }
+        if (type == LocalDateTime.class) {
+            final LocalDateTime dateTime = LocalDateTime.class.cast(dataObject);
+            return binaryVarLongs(TAG_LOCAL_DATE_TIME, zigzag(dateTime.toLocalDate().toEpochDay()), dateTime.toLocalTime().toNanoOfDay());
+        }
+        if (dataObject instanceof Enum) {
+            final byte[] typeName = Enum.class.cast(dataObject).getDeclaringClass().getName().getBytes(UTF8_CHARSET);
+            final byte[] name = Enum.class.cast(dataObject).name().getBytes(UTF8_CHARSET);
+            final byte[] out = new byte[HEADER_LENGTH + varLongSize(typeName.length) + typeName.length + name.length];
+            int pos = writeVarLong(out, writeHeader(out, TAG_ENUM), typeName.length);
+            System.arraycopy(typeName, 0, out, pos, typeName.length);
+            System.arraycopy(name, 0, out, pos + typeName.length, name.length);
+            return out;
+        }
+        return null;
+    }
+
+    protected <T> T convertBackFromBinary(byte[] internalRepresentation) {
+        final byte tag = internalRepresentation[BINARY_MAGIC.length];
+        switch (tag) {
+            case TAG_INTEGER:
+                return (T) Integer.valueOf((int) unzigzag(readVarLong(internalRepresentation, HEADER_LENGTH)));
+            case TAG_LONG:
+                return (T) Long.valueOf(unzigzag(readVarLong(internalRepresentation, HEADER_LENGTH)));
+            case TAG_STRING:
+                return (T) new String(internalRepresentation, HEADER_LENGTH, internalRepresentation.length - HEADER_LENGTH, UTF8_CHARSET);
+            case TAG_FLOAT:
+                return (T) Float.valueOf(Float.intBitsToFloat((int) readFixed(internalRepresentation, 4)));
+            case TAG_DOUBLE:
+                return (T) Double.valueOf(Double.longBitsToDouble(readFixed(internalRepresentation, 8)));
+            case TAG_DATE:
+                return (T) new Date(unzigzag(readVarLong(internalRepresentation, HEADER_LENGTH)));
+            case TAG_TIMESTAMP: {
+                final long time = readVarLong(internalRepresentation, HEADER_LENGTH);
+                final Timestamp timestamp = new Timestamp(unzigzag(time));
+                timestamp.setNanos((int) readVarLong(internalRepresentation, HEADER_LENGTH + varLongSize(time)));
+                return (T) timestamp;
+            }
+            case TAG_LOCAL_DATE:
+                return (T) LocalDate.ofEpochDay(unzigzag(readVarLong(internalRepresentation, HEADER_LENGTH)));
+            case TAG_LOCAL_TIME:
+                return (T) LocalTime.ofNanoOfDay(readVarLong(internalRepresentation, HEADER_LENGTH));
+            case TAG_LOCAL_DATE_TIME: {
+                final long day = readVarLong(internalRepresentation, HEADER_LENGTH);
+                final long nanos = readVarLong(internalRepresentation, HEADER_LENGTH + varLongSize(day));
+                return (T) LocalDateTime.of(LocalDate.ofEpochDay(unzigzag(day)), LocalTime.ofNanoOfDay(nanos));
+            }
+            case TAG_SERIALIZER: {
+                final int nameLength = (int) readVarLong(internalRepresentation, HEADER_LENGTH);
+                final int nameStart = HEADER_LENGTH + varLongSize(nameLength);
+                final String name = new String(internalRepresentation, nameStart, nameLength, UTF8_CHARSET);
+                final CheckpointSerializer serializer = serializersByName.get(name);
+                if (serializer == null) {
+                    throw new IllegalStateException("No checkpoint serializer '" + name + "' registered");
+                }
+                final int dataStart = nameStart + nameLength;
+                final byte[] data = new byte[internalRepresentation.length - dataStart];
+                System.arraycopy(internalRepresentation, dataStart, data, 0, data.length);
+                return (T) serializer.deserialize(data, this);
+            }
+            case TAG_ENUM: {
+                final int typeLength = (int) readVarLong(internalRepresentation, HEADER_LENGTH);
+                final int typeStart = HEADER_LENGTH + varLongSize(typeLength);
+                final String typeVal = new String(internalRepresentation, typeStart, typeLength, UTF8_CHARSET);
+                final int nameStart = typeStart + typeLength;
+                return convertBackCustomEnumTypes(typeVal, new String(internalRepresentation, nameStart, internalRepresentation.length - nameStart, UTF8_CHARSET));
+            }
+            default:
+                throw new IllegalStateException("Unknown BatchEE binary data type: " + tag);
+        }
+    }
+
+    private static boolean startsWith(final byte[] data, final byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int writeHeader(final byte[] out, final byte tag) {
+        out[0] = BINARY_MAGIC[0];
+        out[1] = BINARY_MAGIC[1];
+        out[2] = tag;
+        return HEADER_LENGTH;
+    }
+
+    private static byte[] binaryVarLong(final byte tag, final long value) {
+        final byte[] out = new byte[HEADER_LENGTH + varLongSize(value)];
+        writeVarLong(out, writeHeader(out, tag), value);
+        return out;
+    }
+
+    private static byte[] binaryVarLongs(final byte tag, final long first, final long second) {
+        final byte[] out = new byte[HEADER_LENGTH + varLongSize(first) + varLongSize(second)];
+        writeVarLong(out, writeVarLong(out, writeHeader(out, tag), first), second);
+        return out;
+    }
+
+    private static byte[] binaryFixed(final byte tag, final long value, final int length) {
+        final byte[] out = new byte[HEADER_LENGTH + length];
+        writeHeader(out, tag);
+        for (int i = 0; i < length; i++) {
+            out[HEADER_LENGTH + i] = (byte) (value >>> (8 * (length - 1 - i)));
+        }
+        return out;
+    }
+
+    private static byte[] binaryBytes(final byte tag, final byte[] value) {
+        final byte[] out = new byte[HEADER_LENGTH + value.length];
+        System.arraycopy(value, 0, out, writeHeader(out, tag), value.length);
+        return out;
+    }
+
+    private static long readFixed(final byte[] data, final int length) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (data[HEADER_LENGTH + i] & 0xFF);
+        }
+        return value;
+    }
+
     private <T> byte[] convertCustomEnumTypes(T dataObject) {
         if (dataObject instanceof Enum) {
             return toBatchEeData(dataObject.getClass(), ((Enum) dataObject).name());
@@ -152,15 +401,32 @@ public class DefaultDataRepresentationService implements DataRepresentationServi
 
     /**
      * This is an extension point for other serialisation algorithms.
+     * By default it uses the first registered {@link CheckpointSerializer} accepting the value.
+     * Serializer values are stored in the binary form (tagged with the serializer name) so they are only
+     * written when {@code data.representation.binary} is enabled, otherwise the stored format doesn't change.
      */
     protected <T> byte[] convertCustomTypes(T dataObject) {
+        if (!binary) {
+            return null;
+        }
+        for (final CheckpointSerializer serializer : serializers) {
+            if (serializer.accept(dataObject)) {
+                final byte[] name = serializer.name().getBytes(UTF8_CHARSET);
+                final byte[] data = serializer.serialize(dataObject, this);
+                final byte[] out = new byte[HEADER_LENGTH + varLongSize(name.length) + name.length + data.length];
+                final int pos = writeVarLong(out, writeHeader(out, TAG_SERIALIZER), name.length);
+                System.arraycopy(name, 0, out, pos, name.length);
+                System.arraycopy(data, 0, out, pos + name.length, data.length);
+                return out;
+            }
+        }
         return null;
     }
 
     /**
      * This is an extension point for other serialsation algorithms.
      */
-    private <T> T convertBackCustomTypes(String typeVal, String valueVal) {
+    protected <T> T convertBackCustomTypes(String typeVal, String valueVal) {
         return null;
     }
 
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.data;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Unsigned LEB128 varints and zigzag helpers used by the binary data representation.
+ */
+public final class Varints {
+    private Varints() {
+        // no-op
+    }
+
+    public static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static int varLongSize(final long value) {
+        int size = 1;
+        long remaining = value >>> 7;
+        while (remaining != 0) {
+            remaining >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public static int writeVarLong(final byte[] out, final int offset, final long value) {
+        int pos = offset;
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out[pos++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out[pos++] = (byte) remaining;
+        return pos;
+    }
+
+    public static long readVarLong(final byte[] data, final int offset) {
+        long value = 0;
+        int shift = 0;
+        int pos = offset;
+        byte current;
+        do {
+            current = data[pos++];
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    public static void writeVarLong(final ByteArrayOutputStream out, final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+}
@@ -82,6 +82,20 @@ public abstract class AbstractThreadPoolService implements BatchThreadPoolServic
         return getClass().getName();
     }
 
+    /**
+     * Called in the executing thread before the work runs, can block to limit concurrency.
+     */
+    protected void beforeWork(final Runnable work) {
+        // no-op
+    }
+
+    /**
+     * Called in the executing thread after the work ran, even if it failed.
+     */
+    protected void afterWork(final Runnable work) {
+        // no-op
+    }
+
     class ActiveWorkTracker implements Runnable {
         private final Runnable work;
 
@@ -91,6 +105,7 @@ public abstract class AbstractThreadPoolService implements BatchThreadPoolServic
 
         @Override
         public void run() {
+            beforeWork(work);
             try {
                 if (work instanceof BatchWorkUnit) {
                     runningBatchWorkUnits.add((BatchWorkUnit) work);
@@ -100,6 +115,7 @@ public abstract class AbstractThreadPoolService implements BatchThreadPoolServic
                 if (work instanceof BatchWorkUnit) {
                     runningBatchWorkUnits.remove(work);
                 }
+                afterWork(work);
             }
         }
     }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.executor;
+
+import org.apache.batchee.container.util.BatchPartitionWorkUnit;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Runs each task in its own virtual thread when the JVM supports them (Java 21+),
+ * else falls back on the {@link DefaultThreadPoolService} behavior.
+ *
+ * Concurrency is limited with semaphores acquired by the task thread itself:
+ * globally (all work units) and per top level job execution for partitions only: they never wait
+ * for other work units so a job permit can't be held by a thread waiting for another one.
+ * Like with {@link BoundedThreadPoolService}, a global limit lower than the number of
+ * nested waiting work units (job, split flow, partitions) can block the jobs.
+ */
+public class VirtualThreadPoolService extends AbstractThreadPoolService {
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadPoolService.class.getName());
+
+    public static final String VIRTUAL_THREADPOOL_MAX_CONCURRENCY = "VIRTUAL_THREADPOOL_MAX_CONCURRENCY";
+    public static final String VIRTUAL_THREADPOOL_MAX_CONCURRENCY_PER_JOB = "VIRTUAL_THREADPOOL_MAX_CONCURRENCY_PER_JOB";
+
+    private final ConcurrentMap<Long, JobPermits> jobPermits = new ConcurrentHashMap<Long, JobPermits>();
+    private Semaphore globalPermits;
+    private int maxConcurrencyPerJob;
+
+    @Override
+    protected ExecutorService newExecutorService(final Properties batchConfig) {
+        final int maxConcurrency = Integer.parseInt(batchConfig.getProperty(VIRTUAL_THREADPOOL_MAX_CONCURRENCY, "-1"));
+        globalPermits = maxConcurrency > 0 ? new Semaphore(maxConcurrency, true) : null;
+        maxConcurrencyPerJob = Integer.parseInt(batchConfig.getProperty(VIRTUAL_THREADPOOL_MAX_CONCURRENCY_PER_JOB, "-1"));
+
+        final ThreadFactory virtualThreadFactory = newVirtualThreadFactory();
+        if (virtualThreadFactory == null) {
+            LOGGER.info("Virtual threads are not available, using platform threads");
+            return Executors.newCachedThreadPool(BatcheeThreadFactory.INSTANCE);
+        }
+        // no reuse: a thread per task is what virtual threads are designed for
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), virtualThreadFactory);
+    }
+
+    @Override
+    protected void beforeWork(final Runnable work) {
+        final Long job = jobKey(work);
+        if (job != null) {
+            acquire(job).permits.acquireUninterruptibly();
+        }
+        if (globalPermits != null) {
+            globalPermits.acquireUninterruptibly();
+        }
+    }
+
+    @Override
+    protected void afterWork(final Runnable work) {
+        if (globalPermits != null) {
+            globalPermits.release();
+        }
+        final Long job = jobKey(work);
+        if (job != null) {
+            release(job);
+        }
+    }
+
+    private Long jobKey(final Runnable work) {
+        if (maxConcurrencyPerJob <= 0) {
+            return null;
+        }
+        return jobExecutionId(work);
+    }
+
+    /**
+     * @param work the submitted task
+     * @return the top level job execution id the per job limit applies to, null if the task is not limited per job
+     */
+    protected Long jobExecutionId(final Runnable work) {
+        if (!(work instanceof BatchPartitionWorkUnit)) {
+            return null;
+        }
+        return BatchPartitionWorkUnit.class.cast(work).getJobExecutionImpl().getJobContext().getExecutionId();
+    }
+
+    private JobPermits acquire(final Long job) {
+        while (true) {
+            final JobPermits permits = jobPermits.get(job);
+            if (permits == null) {
+                final JobPermits created = new JobPermits(maxConcurrencyPerJob);
+                if (jobPermits.putIfAbsent(job, created) == null) {
+                    return created;
+                }
+            } else if (permits.retain()) {
+                return permits;
+            }
+        }
+    }
+
+    private void release(final Long job) {
+        final JobPermits permits = jobPermits.get(job);
+        permits.permits.release();
+        if (permits.free()) {
+            jobPermits.remove(job, permits);
+        }
+    }
+
+    /**
+     * Thread.ofVirtual() is looked up reflectively since the code targets Java 11.
+     *
+     * @return the virtual thread factory or null if the JVM doesn't support them
+     */
+    protected ThreadFactory newVirtualThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Object named = builderType.getMethod("name", String.class, long.class).invoke(builder, "batchee-virtual-thread-", 1L);
+            final ThreadFactory factory = ThreadFactory.class.cast(builderType.getMethod("factory").invoke(named));
+            return new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = Thread.currentThread();
+                    final ClassLoader loader = thread.getContextClassLoader();
+                    // avoid leaks when BatchEE is in the container, same as BatcheeThreadFactory
+                    thread.setContextClassLoader(BatcheeThreadFactory.class.getClassLoader());
+                    try {
+                        return factory.newThread(r);
+                    } finally {
+                        thread.setContextClassLoader(loader);
+                    }
+                }
+            };
+        } catch (final Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Per job semaphore, removed when no work unit of the job uses it anymore.
+     */
+    private static final class JobPermits {
+        private final Semaphore permits;
+        private int users = 1;
+
+        private JobPermits(final int max) {
+            permits = new Semaphore(max, true);
+        }
+
+        private synchronized boolean retain() {
+            if (users == 0) { // being removed
+                return false;
+            }
+            users++;
+            return true;
+        }
+
+        private synchronized boolean free() {
+            return --users == 0;
+        }
+    }
+}
@@ -108,7 +108,7 @@ public class CDIBatchArtifactFactory extends DefaultBatchArtifactFactory {
      */
     protected Bean<?> getUniqueBeanForBatchXMLEntry(BeanManager bm, String batchId) {
         final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        final ArtifactLocator artifactMap = createArtifactsLocator(tccl);
+        final ArtifactLocator artifactMap = findArtifactsLocator(tccl);
         final Class<?> clazz = artifactMap.getArtifactClassById(batchId);
         if (clazz != null) {
             try {
@@ -160,7 +160,7 @@ public class CDIBatchArtifactFactory extends DefaultBatchArtifactFactory {
 
     @Override
     public void init(final Properties batchConfig) throws BatchContainerServiceException {
-        // no-op
+        super.init(batchConfig);
     }
 
     protected BeanManager getBeanManager() {
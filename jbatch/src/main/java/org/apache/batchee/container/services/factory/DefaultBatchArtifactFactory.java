@@ -38,6 +38,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.WeakHashMap;
 
 public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStreamConstants {
     private final static String BATCH_XML = "META-INF/batch.xml";
@@ -48,11 +49,15 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
     private final static QName BATCH_ROOT_ELEM = new QName("http://xmlns.jcp.org/xml/ns/javaee", "batch-artifacts");
     private final static QName BATCH_ROOT_ELEM_JAKARTA = new QName("https://jakarta.ee/xml/ns/jakartaee", "batch-artifacts");
 
+    // batch.xml files are parsed once per loader, locators must not reference the loader to let it be collected
+    private final Map<ClassLoader, ArtifactLocator> locators = new WeakHashMap<ClassLoader, ArtifactLocator>();
+    private boolean cacheLocators = true;
+
     // Uses TCCL
     @Override
     public Instance load(final String batchId) {
         final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        final ArtifactLocator artifactMap = createArtifactsLocator(tccl);
+        final ArtifactLocator artifactMap = findArtifactsLocator(tccl);
 
         Object loadedArtifact = artifactMap.getArtifactById(batchId);
         if (loadedArtifact == null) {
@@ -81,6 +86,20 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
         return new Instance(loadedArtifact, null);
     }
 
+    protected ArtifactLocator findArtifactsLocator(final ClassLoader tccl) {
+        if (!cacheLocators) {
+            return createArtifactsLocator(tccl);
+        }
+        synchronized (locators) {
+            ArtifactLocator locator = locators.get(tccl);
+            if (locator == null) {
+                locator = createArtifactsLocator(tccl);
+                locators.put(tccl, locator);
+            }
+            return locator;
+        }
+    }
+
     protected ArtifactLocator createArtifactsLocator(final ClassLoader tccl) {
         final ArtifactMap artifactMap = new ArtifactMap();
         initArtifactMapFromClassLoader(artifactMap, tccl, BATCH_XML);
@@ -198,8 +217,9 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
         Class<?> getArtifactClassById(String id);
     }
 
-    private class ArtifactMap implements ArtifactLocator {
-        private Map<String, Class<?>> idToArtifactClassMap = new HashMap<String, Class<?>>();
+    private static class ArtifactMap implements ArtifactLocator {
+        // class names and not classes since the map is cached by loader
+        private Map<String, String> idToArtifactClassMap = new HashMap<String, String>();
 
         // Maps to a list of types not a single type since there's no reason a single artifact couldn't be annotated
         // with >1 batch artifact annotation type.
@@ -212,18 +232,16 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
             try {
                 final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
                 if (!idToArtifactClassMap.containsKey(id)) {
-                    Class<?> artifactClass = contextClassLoader.loadClass(className);
+                    contextClassLoader.loadClass(className); // fail fast
 
-                    idToArtifactClassMap.put(id, artifactClass);
+                    idToArtifactClassMap.put(id, className);
                     List<String> typeList = new ArrayList<String>();
                     typeList.add(batchTypeName);
                     idToArtifactTypeListMap.put(id, typeList);
                 } else {
-                    final Class<?> artifactClass = contextClassLoader.loadClass(className);
-
                     // Already contains entry for this 'id', let's make sure it's the same Class
                     // which thus must implement >1 batch artifact "type" (i.e. contains >1 batch artifact annotation).
-                    if (!idToArtifactClassMap.get(id).equals(artifactClass)) {
+                    if (!idToArtifactClassMap.get(id).equals(className)) {
                         throw new IllegalArgumentException("Already loaded a different class for id = " + id);
                     }
                     List<String> typeList = idToArtifactTypeListMap.get(id);
@@ -234,6 +252,10 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
             }
         }
 
+        private Collection<String> getIds() {
+            return idToArtifactClassMap.keySet();
+        }
+
         @Override
         public Object getArtifactById(final String id) {
             Object artifactInstance = null;
@@ -251,12 +273,33 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
 
         @Override
         public Class<?> getArtifactClassById(String id) {
-            return idToArtifactClassMap.get(id);
+            final String className = idToArtifactClassMap.get(id);
+            if (className == null) {
+                return null;
+            }
+            try { // the map is cached by loader so it is the loader which parsed it
+                return Thread.currentThread().getContextClassLoader().loadClass(className);
+            } catch (final ClassNotFoundException e) {
+                throw new BatchContainerRuntimeException("Tried but failed to load artifact with id: " + id, e);
+            }
         }
     }
 
     @Override
     public void init(final Properties batchConfig) throws BatchContainerServiceException {
-        // no-op
+        cacheLocators = Boolean.parseBoolean(batchConfig.getProperty("batch-artifacts.cache", "true"));
+        if (Boolean.parseBoolean(batchConfig.getProperty("batch-artifacts.prescan", "false"))) {
+            prescan(Thread.currentThread().getContextClassLoader());
+        }
+    }
+
+    // parses batch.xml and computes the injection plans of the declared artifacts upfront
+    private void prescan(final ClassLoader loader) {
+        final ArtifactLocator locator = findArtifactsLocator(loader);
+        if (ArtifactMap.class.isInstance(locator)) {
+            for (final String id : ArtifactMap.class.cast(locator).getIds()) {
+                DependencyInjections.prepare(locator.getArtifactClassById(id));
+            }
+        }
     }
 }
@@ -23,10 +23,13 @@ import org.apache.batchee.container.impl.StepContextImpl;
 import org.apache.batchee.container.impl.jobinstance.JobExecutionHelper;
 import org.apache.batchee.container.impl.jobinstance.RuntimeFlowInSplitExecution;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
+import org.apache.batchee.container.jsl.JobModelCache;
+import org.apache.batchee.container.jsl.JobModelResolver;
 import org.apache.batchee.container.services.BatchKernelService;
 import org.apache.batchee.container.services.InternalJobExecution;
 import org.apache.batchee.container.services.JobStatusManagerService;
 import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.container.services.loader.DefaultJobXMLLoaderService;
 import org.apache.batchee.container.util.BatchFlowInSplitWorkUnit;
 import org.apache.batchee.container.util.BatchPartitionWorkUnit;
 import org.apache.batchee.container.util.BatchWorkUnit;
@@ -35,6 +38,7 @@ import org.apache.batchee.container.util.PartitionsBuilderConfig;
 import org.apache.batchee.jaxb.JSLJob;
 import org.apache.batchee.spi.BatchThreadPoolService;
 import org.apache.batchee.spi.JobExecutionCallbackService;
+import org.apache.batchee.spi.JobXMLLoaderService;
 import org.apache.batchee.spi.PersistenceManagerService;
 
 import jakarta.batch.operations.JobExecutionAlreadyCompleteException;
@@ -53,8 +57,12 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class DefaultBatchKernel implements BatchKernelService {
+    private static final Logger LOGGER = Logger.getLogger(DefaultBatchKernel.class.getName());
+
     private final Map<Long, ThreadRootController> executionId2jobControllerMap = new ConcurrentHashMap<Long, ThreadRootController>();
     private final Set<Long> instanceIdExecutingSet = new HashSet<Long>();
 
@@ -62,6 +70,7 @@ public class DefaultBatchKernel implements BatchKernelService {
     private final PersistenceManagerService persistenceService;
     private final ServicesManager servicesManager;
     private final JobExecutionCallbackService jobExecutionCallback;
+    private JobModelResolver modelResolver = new JobModelResolver();
 
     public DefaultBatchKernel(final ServicesManager servicesManager) {
         this.servicesManager = servicesManager;
@@ -72,12 +81,30 @@ public class DefaultBatchKernel implements BatchKernelService {
 
     @Override
     public void init(final Properties pgcConfig) throws BatchContainerServiceException {
-        // no-op
+        final int cacheSize = Integer.parseInt(pgcConfig.getProperty("jsl.cache.size", "100"));
+        if (cacheSize > 0) {
+            modelResolver = new JobModelResolver(new JobModelCache(cacheSize));
+        }
+        if (Boolean.parseBoolean(pgcConfig.getProperty("jsl.preload", "false"))) {
+            preloadJobModels();
+        }
+    }
+
+    // parses and validates the jobs of META-INF/batch-jobs upfront so the first start is as fast as the next ones
+    private void preloadJobModels() {
+        final JobXMLLoaderService loader = servicesManager.service(JobXMLLoaderService.class);
+        for (final String id : DefaultJobXMLLoaderService.findJobIds(Thread.currentThread().getContextClassLoader())) {
+            try {
+                modelResolver.resolveModel(loader.loadJSL(id));
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Can't preload job " + id + ": " + e.getMessage(), e);
+            }
+        }
     }
 
     @Override
     public InternalJobExecution startJob(final String jobXML, final Properties jobParameters) throws JobStartException {
-        final RuntimeJobExecution jobExecution = JobExecutionHelper.startJob(servicesManager, jobXML, jobParameters);
+        final RuntimeJobExecution jobExecution = JobExecutionHelper.startJob(servicesManager, modelResolver, jobXML, jobParameters);
 
         // TODO - register with status manager
 
@@ -102,7 +129,7 @@ public class DefaultBatchKernel implements BatchKernelService {
     @Override
     public InternalJobExecution restartJob(final long executionId, final Properties jobOverrideProps)
             throws JobRestartException, JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException, NoSuchJobExecutionException {
-        final RuntimeJobExecution jobExecution = JobExecutionHelper.restartJob(servicesManager, executionId, jobOverrideProps);
+        final RuntimeJobExecution jobExecution = JobExecutionHelper.restartJob(servicesManager, modelResolver, executionId, jobOverrideProps);
         final BatchWorkUnit batchWork = new BatchWorkUnit(servicesManager, jobExecution);
 
         registerCurrentInstanceAndExecution(jobExecution, batchWork.getController());
@@ -163,28 +190,33 @@ public class DefaultBatchKernel implements BatchKernelService {
         throws JobRestartException, JobStartException {
 
         final List<JSLJob> jobModels = config.getJobModels();
-        final Properties[] partitionPropertiesArray = config.getPartitionProperties();
         final List<BatchPartitionWorkUnit> batchWorkUnits = new ArrayList<BatchPartitionWorkUnit>(jobModels.size());
 
         int instance = 0;
         for (final JSLJob parallelJob : jobModels) {
-            final Properties partitionProps = (partitionPropertiesArray == null) ? null : partitionPropertiesArray[instance];
-            final RuntimeJobExecution jobExecution = JobExecutionHelper.startPartition(servicesManager, parallelJob, partitionProps);
-            jobExecution.inheritJobContext(jc);
-            jobExecution.setPartitionInstance(instance);
-
-            final BatchPartitionWorkUnit batchWork = new BatchPartitionWorkUnit(jobExecution, config, servicesManager);
-            batchWork.inheritStepContext(sc);
-
-            registerCurrentInstanceAndExecution(jobExecution, batchWork.getController());
-
-            batchWorkUnits.add(batchWork);
+            batchWorkUnits.add(buildNewParallelPartition(config, parallelJob, instance, jc, sc));
             instance++;
         }
 
         return batchWorkUnits;
     }
 
+    @Override
+    public BatchPartitionWorkUnit buildNewParallelPartition(final PartitionsBuilderConfig config, final JSLJob jobModel, final int instance,
+                                                            final JobContextImpl jc, final StepContextImpl sc) throws JobRestartException, JobStartException {
+        final Properties[] partitionPropertiesArray = config.getPartitionProperties();
+        final Properties partitionProps = (partitionPropertiesArray == null) ? null : partitionPropertiesArray[instance];
+        final RuntimeJobExecution jobExecution = JobExecutionHelper.startPartition(servicesManager, jobModel, partitionProps);
+        jobExecution.inheritJobContext(jc);
+        jobExecution.setPartitionInstance(instance);
+
+        final BatchPartitionWorkUnit batchWork = new BatchPartitionWorkUnit(jobExecution, config, servicesManager);
+        batchWork.inheritStepContext(sc);
+
+        registerCurrentInstanceAndExecution(jobExecution, batchWork.getController());
+        return batchWork;
+    }
+
     /*
      * There are some assumptions that all partition subjobs have associated DB entries
      */
@@ -193,43 +225,52 @@ public class DefaultBatchKernel implements BatchKernelService {
             throws JobRestartException, JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException {
 
         final List<JSLJob> jobModels = config.getJobModels();
-        final Properties[] partitionProperties = config.getPartitionProperties();
         final List<BatchPartitionWorkUnit> batchWorkUnits = new ArrayList<BatchPartitionWorkUnit>(jobModels.size());
 
         //for now let always use a Properties array. We can add some more convenience methods later for null properties and what not
 
         int instance = 0;
         for (final JSLJob parallelJob : jobModels) {
-
-            final Properties partitionProps = (partitionProperties == null) ? null : partitionProperties[instance];
-
-            try {
-                final long execId = getMostRecentSubJobExecutionId(parallelJob);
-                final RuntimeJobExecution jobExecution;
-                try {
-                    jobExecution = JobExecutionHelper.restartPartition(servicesManager, execId, parallelJob, partitionProps);
-                    jobExecution.inheritJobContext(jc);
-                    jobExecution.setPartitionInstance(instance);
-                } catch (final NoSuchJobExecutionException e) {
-                    throw new IllegalStateException("Caught NoSuchJobExecutionException but this is an internal JobExecution so this shouldn't have happened: execId ="
-                            + execId, e);
-                }
-
-                final BatchPartitionWorkUnit batchWork = new BatchPartitionWorkUnit(jobExecution, config, servicesManager);
-                batchWork.inheritStepContext(sc);
-                registerCurrentInstanceAndExecution(jobExecution, batchWork.getController());
-
+            final BatchPartitionWorkUnit batchWork = buildOnRestartParallelPartition(config, parallelJob, instance, jc, sc);
+            if (batchWork != null) {
                 batchWorkUnits.add(batchWork);
-            } catch (final JobExecutionAlreadyCompleteException e) {
-                // no-op
             }
-
             instance++;
         }
 
         return batchWorkUnits;
     }
 
+    @Override
+    public BatchPartitionWorkUnit buildOnRestartParallelPartition(final PartitionsBuilderConfig config, final JSLJob jobModel, final int instance,
+                                                                  final JobContextImpl jc, final StepContextImpl sc)
+            throws JobRestartException, JobExecutionNotMostRecentException {
+        final Long execId = findMostRecentSubJobExecutionId(jobModel);
+        if (execId == null) { // stopped before this partition was materialized
+            return buildNewParallelPartition(config, jobModel, instance, jc, sc);
+        }
+
+        final Properties[] partitionProperties = config.getPartitionProperties();
+        final Properties partitionProps = (partitionProperties == null) ? null : partitionProperties[instance];
+
+        final RuntimeJobExecution jobExecution;
+        try {
+            jobExecution = JobExecutionHelper.restartPartition(servicesManager, execId, jobModel, partitionProps);
+            jobExecution.inheritJobContext(jc);
+            jobExecution.setPartitionInstance(instance);
+        } catch (final JobExecutionAlreadyCompleteException e) {
+            return null;
+        } catch (final NoSuchJobExecutionException e) {
+            throw new IllegalStateException("Caught NoSuchJobExecutionException but this is an internal JobExecution so this shouldn't have happened: execId ="
+                    + execId, e);
+        }
+
+        final BatchPartitionWorkUnit batchWork = new BatchPartitionWorkUnit(jobExecution, config, servicesManager);
+        batchWork.inheritStepContext(sc);
+        registerCurrentInstanceAndExecution(jobExecution, batchWork.getController());
+        return batchWork;
+    }
+
     @Override
     public void restartGeneratedJob(final BatchWorkUnit batchWork) throws JobRestartException {
         executorService.executeTask(batchWork, null);
@@ -248,12 +289,20 @@ public class DefaultBatchKernel implements BatchKernelService {
     }
 
     private long getMostRecentSubJobExecutionId(final JSLJob jobModel) {
+        final Long execId = findMostRecentSubJobExecutionId(jobModel);
+        if (execId == null) {
+            throw new IllegalStateException("Did not find an entry for job name = " + jobModel.getId());
+        }
+        return execId;
+    }
+
+    private Long findMostRecentSubJobExecutionId(final JSLJob jobModel) {
 
         // Pick off the first, knowing the ordering.  There could be more than one.
         final List<Long> instanceIds = persistenceService.jobOperatorGetJobInstanceIds(jobModel.getId(), 0, 1);
 
         if (instanceIds.size() == 0) {
-            throw new IllegalStateException("Did not find an entry for job name = " + jobModel.getId());
+            return null;
         }
 
         final List<InternalJobExecution> partitionExecs = persistenceService.jobOperatorGetJobExecutions(instanceIds.get(0));
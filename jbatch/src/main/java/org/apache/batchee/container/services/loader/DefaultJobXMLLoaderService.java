@@ -20,22 +20,100 @@ import org.apache.batchee.container.exception.BatchContainerRuntimeException;
 import org.apache.batchee.container.exception.BatchContainerServiceException;
 import org.apache.batchee.spi.JobXMLLoaderService;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 public class DefaultJobXMLLoaderService implements JobXMLLoaderService {
     private static final String PREFIX = "META-INF/batch-jobs/";
+    private static final String SUFFIX = ".xml";
+
+    // by loader to not mix applications and to release the xml with the application
+    private final Map<ClassLoader, Map<String, String>> cache = new WeakHashMap<ClassLoader, Map<String, String>>();
+    private boolean useCache = true;
 
     @Override
     public String loadJSL(final String id) {
-        final String jobXML = loadJobFromBatchJobs(id);
+        if (!useCache) {
+            return loadJobFromBatchJobs(id);
+        }
+
+        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        Map<String, String> xmls;
+        synchronized (cache) {
+            xmls = cache.get(tccl);
+            if (xmls == null) {
+                xmls = new ConcurrentHashMap<String, String>();
+                cache.put(tccl, xmls);
+            }
+        }
+
+        String jobXML = xmls.get(id);
         if (jobXML == null) {
-            throw new BatchContainerServiceException("Could not load job xml with id: " + id);
+            jobXML = loadJobFromBatchJobs(id);
+            xmls.put(id, jobXML);
         }
         return jobXML;
+    }
 
+    /**
+     * @param loader the loader to look for job xml in.
+     * @return the ids of the jobs defined in META-INF/batch-jobs of this loader (directories and jars).
+     */
+    public static Collection<String> findJobIds(final ClassLoader loader) {
+        final Collection<String> ids = new TreeSet<String>();
+        try {
+            final Enumeration<URL> roots = loader.getResources(PREFIX);
+            while (roots.hasMoreElements()) {
+                final URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    final File[] files = new File(root.toURI()).listFiles();
+                    if (files != null) {
+                        for (final File file : files) {
+                            if (file.isFile() && file.getName().endsWith(SUFFIX)) {
+                                ids.add(file.getName().substring(0, file.getName().length() - SUFFIX.length()));
+                            }
+                        }
+                    }
+                } else {
+                    final URLConnection connection = root.openConnection();
+                    if (connection instanceof JarURLConnection) {
+                        connection.setUseCaches(false);
+                        final JarFile jar = JarURLConnection.class.cast(connection).getJarFile();
+                        try {
+                            final Enumeration<JarEntry> entries = jar.entries();
+                            while (entries.hasMoreElements()) {
+                                final String name = entries.nextElement().getName();
+                                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX) && name.indexOf('/', PREFIX.length()) < 0) {
+                                    ids.add(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                                }
+                            }
+                        } finally {
+                            jar.close();
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new BatchContainerServiceException(e);
+        } catch (final URISyntaxException e) {
+            throw new BatchContainerServiceException(e);
+        }
+        return ids;
     }
 
     private static String loadJobFromBatchJobs(final String id) {
@@ -69,7 +147,7 @@ public class DefaultJobXMLLoaderService implements JobXMLLoaderService {
 
     @Override
     public void init(final Properties batchConfig) throws BatchContainerServiceException {
-        // no-op
+        useCache = Boolean.parseBoolean(batchConfig.getProperty("jsl.loader.cache", "true"));
     }
 
     @Override
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence;
+
+import org.apache.batchee.spi.PersistenceManagerService;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Purges the history with {@link PersistenceManagerService#cleanUp(Date, int)} batches,
+ * each one in its own short transaction, optionally throttled to let running jobs write.
+ *
+ * Progress (purged instances, batches) can be read from another thread while it runs.
+ */
+public class IncrementalPurge {
+    private static final Logger LOGGER = Logger.getLogger(IncrementalPurge.class.getName());
+
+    private final PersistenceManagerService service;
+    private final int batchSize;
+    private final long pause;
+    private final int maxInstancesPerSecond;
+
+    private volatile boolean stopped = false;
+    private volatile long purgedInstances = 0;
+    private volatile long batches = 0;
+    private volatile long duration = 0;
+
+    /**
+     * @param service               the persistence to purge
+     * @param batchSize             max number of job instances purged per transaction
+     * @param pause                 min pause in ms between two batches, 0 to not pause
+     * @param maxInstancesPerSecond max purge rate, 0 for no limit
+     */
+    public IncrementalPurge(final PersistenceManagerService service, final int batchSize, final long pause, final int maxInstancesPerSecond) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be > 0");
+        }
+        this.service = service;
+        this.batchSize = batchSize;
+        this.pause = Math.max(0, pause);
+        this.maxInstancesPerSecond = Math.max(0, maxInstancesPerSecond);
+    }
+
+    /**
+     * @param until end date limit (excluded)
+     * @return the number of purged job instances
+     */
+    public long run(final Date until) {
+        final long start = System.nanoTime();
+        try {
+            while (!stopped) {
+                final long batchStart = System.nanoTime();
+                final int purged = service.cleanUp(until, batchSize);
+                if (purged <= 0) {
+                    break;
+                }
+
+                purgedInstances += purged;
+                batches++;
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("Purged " + purged + " job instances (" + purgedInstances + " in " + batches + " batches)");
+                }
+                if (purged < batchSize) {
+                    break;
+                }
+
+                throttle(purged, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart));
+            }
+        } finally {
+            duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        LOGGER.info("Purged the executions ended before " + until + " of " + purgedInstances + " job instances in " + batches + " batches and " + duration + "ms");
+        return purgedInstances;
+    }
+
+    private void throttle(final int purged, final long batchDuration) {
+        long wait = pause;
+        if (maxInstancesPerSecond > 0) {
+            wait = Math.max(wait, purged * 1000L / maxInstancesPerSecond - batchDuration);
+        }
+        if (wait <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(wait);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+        }
+    }
+
+    /**
+     * Stops the purge after the current batch, already purged batches stay committed.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public long getPurgedInstances() {
+        return purgedInstances;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the duration of the last run in ms
+     */
+    public long getDuration() {
+        return duration;
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.batchee.container.impl.controller.chunk.PersistentDataWrapper;
 import org.apache.batchee.container.impl.jobinstance.RuntimeFlowInSplitExecution;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.services.InternalJobExecution;
+import org.apache.batchee.container.services.persistence.jdbc.ConnectionPool;
 import org.apache.batchee.container.services.persistence.jdbc.Dictionary;
 import org.apache.batchee.container.services.persistence.jdbc.database.Database;
 import org.apache.batchee.container.services.persistence.jdbc.database.DerbyDatabase;
@@ -52,11 +53,10 @@ import javax.naming.InitialContext;
 import javax.naming.NamingException;
 import javax.sql.DataSource;
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.PrintWriter;
 import java.io.Serializable;
-import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -67,16 +67,22 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
 import static org.apache.batchee.container.util.Serializations.serialize;
 
-public class JDBCPersistenceManagerService implements PersistenceManagerService {
+public class JDBCPersistenceManagerService implements PersistenceManagerService, Closeable {
     private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int MAX_IN_PARAMETERS = 500; // keeps IN clauses portable (oracle limits them to 1000)
 
     static interface Defaults {
         final String JDBC_DRIVER = "org.apache.derby.jdbc.EmbeddedDriver";
@@ -84,6 +90,8 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
         final String JDBC_USER = "app";
         final String JDBC_PASSWORD = "app";
         final String SCHEMA = "BATCHEE";
+        final String POOL_SIZE = "10";
+        final String POOL_MAX_WAIT = "30000";
     }
 
     private Dictionary dictionary;
@@ -97,6 +105,9 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
     protected String user = "";
     protected String pwd = "";
 
+    protected ConnectionPool pool = null;
+    protected boolean pinnedSchema = false;
+
     @Override
     public void init(final Properties batchConfig) throws BatchContainerServiceException {
         final boolean hasSchema = "true".equalsIgnoreCase(batchConfig.getProperty("persistence.database.has-schema", "true"));
@@ -119,11 +130,25 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
                 throw new BatchContainerServiceException(e);
             }
 
+            // the datasource can already be bound to the right schema (currentSchema in the url for instance)
+            pinnedSchema = "true".equalsIgnoreCase(batchConfig.getProperty("persistence.database.schema.pinned", "false"));
         } else {
             driver = batchConfig.getProperty("persistence.database.driver", Defaults.JDBC_DRIVER);
             url = batchConfig.getProperty("persistence.database.url", Defaults.JDBC_URL);
             user = batchConfig.getProperty("persistence.database.user", Defaults.JDBC_USER);
             pwd = batchConfig.getProperty("persistence.database.password", Defaults.JDBC_PASSWORD);
+
+            try {
+                Class.forName(driver);
+            } catch (final ClassNotFoundException e) {
+                throw new BatchContainerServiceException(e);
+            }
+
+            final int poolSize = Integer.parseInt(batchConfig.getProperty("persistence.database.pool.size", Defaults.POOL_SIZE));
+            if (poolSize > 0) {
+                pool = new ConnectionPool(url, user, pwd, schema, poolSize,
+                    Long.parseLong(batchConfig.getProperty("persistence.database.pool.max-wait", Defaults.POOL_MAX_WAIT)));
+            }
         }
 
         try {
@@ -226,18 +251,19 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
     }
 
     protected Connection getConnection() throws SQLException {
+        if (pool != null) { // schema is set once when the pool creates the connection
+            return pool.getConnection();
+        }
+
         final Connection connection;
         if (dataSource != null) {
             connection = dataSource.getConnection();
         } else {
-            try {
-                Class.forName(driver);
-            } catch (ClassNotFoundException e) {
-                throw new PersistenceException(e);
-            }
             connection = DriverManager.getConnection(url, user, pwd);
         }
-        setSchemaOnConnection(connection);
+        if (!pinnedSchema) {
+            setSchemaOnConnection(connection);
+        }
 
         return connection;
     }
@@ -254,6 +280,46 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
         }
 
         cleanupConnection(conn, rs, ps);
+        createIndexesIfNotExist(tableName);
+    }
+
+    // also done for existing tables so upgraded databases get the indexes
+    private void createIndexesIfNotExist(final String tableName) throws SQLException {
+        final Collection<Dictionary.Index> indexes = dictionary.getIndexes(tableName);
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        final Connection conn = getConnection();
+        ResultSet rs = null;
+        try {
+            final Collection<String> existing = new HashSet<String>();
+            rs = conn.getMetaData().getIndexInfo(null, schema, tableName, false, true);
+            while (rs.next()) {
+                final String name = rs.getString("INDEX_NAME");
+                if (name != null) {
+                    existing.add(name.toUpperCase(Locale.ENGLISH));
+                }
+            }
+
+            for (final Dictionary.Index index : indexes) {
+                if (existing.contains(index.getName().toUpperCase(Locale.ENGLISH))) {
+                    continue;
+                }
+
+                final PreparedStatement ps = conn.prepareStatement(index.getCreate());
+                try {
+                    ps.executeUpdate();
+                } finally {
+                    ps.close();
+                }
+            }
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        } finally {
+            cleanupConnection(conn, rs, null);
+        }
     }
 
     public void createCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
@@ -285,10 +351,82 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
 
     @Override
     public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
-        if (queryCheckpointData(key) != null) {
-            updateCheckpointData(key, value);
-        } else {
-            createCheckpointData(key, value);
+        setCheckpointData(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public void setCheckpointData(final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            final List<CheckpointDataKey> missing = updateCheckpointData(conn, checkpoints);
+            if (!missing.isEmpty()) {
+                insertCheckpointData(conn, missing, checkpoints);
+            }
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        } catch (final SQLException e) {
+            throw new PersistenceException(e);
+        } finally {
+            cleanupConnection(conn, null, null);
+        }
+    }
+
+    /**
+     * update data in DB table in a single batch
+     *
+     * @return the keys which didn't match any existing row
+     */
+    private List<CheckpointDataKey> updateCheckpointData(final Connection conn, final Map<CheckpointDataKey, CheckpointData> checkpoints) throws SQLException {
+        final List<CheckpointDataKey> keys = new ArrayList<CheckpointDataKey>(checkpoints.keySet());
+        final int[] updated;
+        final PreparedStatement statement = conn.prepareStatement(dictionary.getUpdateCheckpoint());
+        try {
+            for (final CheckpointDataKey key : keys) {
+                statement.setBytes(1, checkpoints.get(key).getRestartToken());
+                statement.setLong(2, key.getJobInstanceId());
+                statement.setString(3, key.getType().name());
+                statement.setString(4, key.getStepName());
+                statement.addBatch();
+            }
+            updated = statement.executeBatch();
+        } finally {
+            statement.close();
+        }
+
+        final List<CheckpointDataKey> missing = new ArrayList<CheckpointDataKey>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            final CheckpointDataKey key = keys.get(i);
+            if (updated.length <= i || updated[i] == Statement.SUCCESS_NO_INFO) { // driver didn't tell us, check it
+                if (queryCheckpointData(conn, key) == null) {
+                    missing.add(key);
+                }
+            } else if (updated[i] == 0) {
+                missing.add(key);
+            }
+        }
+        return missing;
+    }
+
+    private void insertCheckpointData(final Connection conn, final List<CheckpointDataKey> keys,
+                                      final Map<CheckpointDataKey, CheckpointData> checkpoints) throws SQLException {
+        final PreparedStatement statement = conn.prepareStatement(dictionary.getInsertCheckpoint());
+        try {
+            for (final CheckpointDataKey key : keys) {
+                statement.setBytes(1, checkpoints.get(key).getRestartToken());
+                statement.setString(2, key.getStepName());
+                statement.setString(3, key.getType().name());
+                statement.setLong(4, key.getJobInstanceId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } finally {
+            statement.close();
         }
     }
 
@@ -305,14 +443,6 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
                 throw new PersistenceException(e);
             }
         } else {
-            try {
-                Class.forName(driver);
-            } catch (final ClassNotFoundException e) {
-                final StringWriter sw = new StringWriter();
-                final PrintWriter pw = new PrintWriter(sw);
-                e.printStackTrace(pw);
-                throw new PersistenceException(e);
-            }
             try {
                 connection = DriverManager.getConnection(url, user, pwd);
             } catch (final SQLException e) {
@@ -343,10 +473,20 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
      */
     private CheckpointData queryCheckpointData(final CheckpointDataKey key) {
         Connection conn = null;
+        try {
+            conn = getConnection();
+            return queryCheckpointData(conn, key);
+        } catch (final SQLException e) {
+            throw new PersistenceException(e);
+        } finally {
+            cleanupConnection(conn, null, null);
+        }
+    }
+
+    private CheckpointData queryCheckpointData(final Connection conn, final CheckpointDataKey key) throws SQLException {
         PreparedStatement statement = null;
         ResultSet rs = null;
         try {
-            conn = getConnection();
             statement = conn.prepareStatement(dictionary.getSelectCheckpoint());
             statement.setLong(1, key.getJobInstanceId());
             statement.setString(2, key.getType().name());
@@ -358,43 +498,11 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
                 return data;
             }
             return null;
-        } catch (final SQLException e) {
-            throw new PersistenceException(e);
-        } finally {
-            cleanupConnection(conn, rs, statement);
-        }
-    }
-
-    /**
-     * update data in DB table
-     *
-     * @param value - serializable object to store
-     * @param key   - the IPersistenceDataKey object
-     *              <p/>
-     *              Ex. update tablename set obj = ? where id = ?
-     */
-    private void updateCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
-        Connection conn = null;
-        PreparedStatement statement = null;
-        try {
-            conn = getConnection();
-            statement = conn.prepareStatement(dictionary.getUpdateCheckpoint());
-            statement.setBytes(1, value.getRestartToken());
-            statement.setLong(2, key.getJobInstanceId());
-            statement.setString(3, key.getType().name());
-            statement.setString(4, key.getStepName());
-            statement.executeUpdate();
-            if (!conn.getAutoCommit()) {
-                conn.commit();
-            }
-        } catch (final SQLException e) {
-            throw new PersistenceException(e);
         } finally {
-            cleanupConnection(conn, null, statement);
+            cleanupConnection(null, rs, statement);
         }
     }
 
-
     /**
      * closes connection, result set and statement
      *
@@ -489,6 +597,37 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
         return data;
     }
 
+    @Override
+    public List<JobInstance> jobOperatorGetJobInstances(final String jobName, final int start, final int count) {
+        Connection conn = null;
+        PreparedStatement statement = null;
+        ResultSet rs = null;
+
+        final List<JobInstance> data = new ArrayList<JobInstance>();
+        try {
+            conn = getConnection();
+            statement = conn.prepareStatement(dictionary.getFindJobInstancesByName());
+            statement.setMaxRows((int) Math.min(Integer.MAX_VALUE, (long) start + count));
+            statement.setString(1, jobName);
+            rs = statement.executeQuery();
+            int index = 0;
+            while (rs.next()) {
+                if (index++ < start) {
+                    continue;
+                }
+
+                final JobInstanceImpl instance = new JobInstanceImpl(rs.getLong(dictionary.jobInstanceColumns(0)));
+                instance.setJobName(rs.getString(dictionary.jobInstanceColumns(3)));
+                data.add(instance);
+            }
+        } catch (final SQLException e) {
+            throw new PersistenceException(e);
+        } finally {
+            cleanupConnection(conn, rs, statement);
+        }
+        return data;
+    }
+
     @Override
     public Set<String> getJobNames() {
         Connection conn = null;
@@ -887,6 +1026,7 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
                 jobEx.setBatchStatus(batchStatus);
                 jobEx.setExitStatus(exitStatus);
                 jobEx.setJobName(jobName);
+                jobEx.setSnapshot(true);
                 return jobEx;
             }
             return null;
@@ -910,37 +1050,87 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
             statement.setLong(1, jobInstanceId);
             rs = statement.executeQuery();
             while (rs.next()) {
-                final long jobExecutionId = rs.getLong(dictionary.jobExecutionColumns(0));
-                final Timestamp createtime = rs.getTimestamp(dictionary.jobExecutionColumns(2));
-                final Timestamp starttime = rs.getTimestamp(dictionary.jobExecutionColumns(6));
-                final Timestamp endtime = rs.getTimestamp(dictionary.jobExecutionColumns(3));
-                final Timestamp updatetime = rs.getTimestamp(dictionary.jobExecutionColumns(7));
-                final String batchStatus = rs.getString(dictionary.jobExecutionColumns(1));
-                final String exitStatus = rs.getString(dictionary.jobExecutionColumns(4));
-                final String jobName = rs.getString(dictionary.jobInstanceColumns(3));
-                final byte[] buf = rs.getBytes(dictionary.jobExecutionColumns(5));
-                final Properties params = buf != null ? PropertyHelper.stringToProperties(new String(buf)) : null;
+                data.add(toJobExecution(rs, jobInstanceId));
+            }
+        } catch (final SQLException e) {
+            throw new PersistenceException(e);
+        } finally {
+            cleanupConnection(conn, rs, statement);
+        }
+        return data;
+    }
 
-                final JobExecutionImpl jobEx = new JobExecutionImpl(jobExecutionId, jobInstanceId, this);
-                jobEx.setCreateTime(createtime);
-                jobEx.setStartTime(starttime);
-                jobEx.setEndTime(endtime);
-                jobEx.setLastUpdateTime(updatetime);
-                jobEx.setBatchStatus(batchStatus);
-                jobEx.setExitStatus(exitStatus);
-                jobEx.setJobName(jobName);
-                jobEx.setJobParameters(params);
+    @Override
+    public Map<Long, List<InternalJobExecution>> jobOperatorGetJobExecutions(final Collection<Long> jobInstanceIds) {
+        final Map<Long, List<InternalJobExecution>> data = new HashMap<Long, List<InternalJobExecution>>();
+        if (jobInstanceIds.isEmpty()) {
+            return data;
+        }
 
-                data.add(jobEx);
+        final List<Long> ids = new ArrayList<Long>(jobInstanceIds);
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            for (int i = 0; i < ids.size(); i += MAX_IN_PARAMETERS) {
+                queryJobExecutions(conn, ids.subList(i, Math.min(ids.size(), i + MAX_IN_PARAMETERS)), data);
             }
         } catch (final SQLException e) {
             throw new PersistenceException(e);
         } finally {
-            cleanupConnection(conn, rs, statement);
+            cleanupConnection(conn, null, null);
         }
         return data;
     }
 
+    private void queryJobExecutions(final Connection conn, final List<Long> jobInstanceIds,
+                                    final Map<Long, List<InternalJobExecution>> data) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet rs = null;
+        try {
+            statement = conn.prepareStatement(dictionary.getFindJobExecutionByInstances(jobInstanceIds.size()));
+            for (int i = 0; i < jobInstanceIds.size(); i++) {
+                statement.setLong(i + 1, jobInstanceIds.get(i));
+            }
+            rs = statement.executeQuery();
+            while (rs.next()) {
+                final long jobInstanceId = rs.getLong(dictionary.jobExecutionColumns(8));
+                List<InternalJobExecution> executions = data.get(jobInstanceId);
+                if (executions == null) {
+                    executions = new ArrayList<InternalJobExecution>();
+                    data.put(jobInstanceId, executions);
+                }
+                executions.add(toJobExecution(rs, jobInstanceId));
+            }
+        } finally {
+            cleanupConnection(null, rs, statement);
+        }
+    }
+
+    private JobExecutionImpl toJobExecution(final ResultSet rs, final long jobInstanceId) throws SQLException {
+        final long jobExecutionId = rs.getLong(dictionary.jobExecutionColumns(0));
+        final Timestamp createtime = rs.getTimestamp(dictionary.jobExecutionColumns(2));
+        final Timestamp starttime = rs.getTimestamp(dictionary.jobExecutionColumns(6));
+        final Timestamp endtime = rs.getTimestamp(dictionary.jobExecutionColumns(3));
+        final Timestamp updatetime = rs.getTimestamp(dictionary.jobExecutionColumns(7));
+        final String batchStatus = rs.getString(dictionary.jobExecutionColumns(1));
+        final String exitStatus = rs.getString(dictionary.jobExecutionColumns(4));
+        final String jobName = rs.getString(dictionary.jobInstanceColumns(3));
+        final byte[] buf = rs.getBytes(dictionary.jobExecutionColumns(5));
+        final Properties params = buf != null ? PropertyHelper.stringToProperties(new String(buf)) : null;
+
+        final JobExecutionImpl jobEx = new JobExecutionImpl(jobExecutionId, jobInstanceId, this);
+        jobEx.setCreateTime(createtime);
+        jobEx.setStartTime(starttime);
+        jobEx.setEndTime(endtime);
+        jobEx.setLastUpdateTime(updatetime);
+        jobEx.setBatchStatus(batchStatus);
+        jobEx.setExitStatus(exitStatus);
+        jobEx.setJobName(jobName);
+        jobEx.setJobParameters(params);
+        jobEx.setSnapshot(true);
+        return jobEx;
+    }
+
     @Override
     public Set<Long> jobOperatorGetRunningExecutions(String jobName) {
         Connection conn = null;
@@ -980,28 +1170,7 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
             statement.setLong(1, executionId);
             rs = statement.executeQuery();
             if (rs.next()) {
-                final long jobInstanceId = rs.getLong(dictionary.jobExecutionColumns(8));
-                final String batchStatus = rs.getString(dictionary.jobExecutionColumns(1));
-                final byte[] jobXmls = rs.getBytes(dictionary.jobInstanceColumns(4));
-                final JobInstanceImpl jobInstance;
-                if (jobXmls != null) {
-                    jobInstance = new JobInstanceImpl(jobInstanceId, new String(jobXmls, UTF_8));
-                } else {
-                    jobInstance = new JobInstanceImpl(jobInstanceId);
-                }
-                jobInstance.setJobName(rs.getString(dictionary.jobInstanceColumns(3)));
-
-                final JobStatus status = new JobStatus(jobInstanceId);
-                status.setExitStatus(rs.getString(dictionary.jobInstanceColumns(2)));
-                status.setLatestExecutionId(rs.getLong(dictionary.jobInstanceColumns(5)));
-                status.setRestartOn(rs.getString(dictionary.jobInstanceColumns(6)));
-                status.setCurrentStepId(rs.getString(dictionary.jobInstanceColumns(7)));
-                status.setJobInstance(jobInstance);
-                if (batchStatus != null) {
-                    status.setBatchStatus(BatchStatus.valueOf(batchStatus));
-                }
-
-                return status;
+                return toJobStatus(rs, rs.getLong(dictionary.jobInstanceColumns(0)));
             }
             return null;
         } catch (final Exception e) {
@@ -1340,34 +1509,55 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
 
         try {
             conn = getConnection();
-            statement = conn.prepareStatement(dictionary.getFindJobInstance());
+            statement = conn.prepareStatement(dictionary.getFindJobInstanceStatus());
             statement.setLong(1, instanceId);
             rs = statement.executeQuery();
             if (rs.next()) {
-                final JobStatus status = new JobStatus(instanceId);
-                status.setCurrentStepId(dictionary.jobExecutionColumns(7));
-                status.setExitStatus(dictionary.jobExecutionColumns(2));
-
-                final byte[] jobXmls = rs.getBytes(dictionary.jobInstanceColumns(4));
-                final JobInstanceImpl instance;
-                if (jobXmls != null) {
-                    instance = new JobInstanceImpl(instanceId, new String(jobXmls, UTF_8));
-                } else {
-                    instance = new JobInstanceImpl(instanceId);
-                }
-                instance.setJobName(rs.getString(dictionary.jobInstanceColumns(3)));
+                return toJobStatus(rs, instanceId);
+            }
+            return null;
+        } catch (final SQLException e) {
+            throw new PersistenceException(e);
+        } finally {
+            cleanupConnection(conn, rs, statement);
+        }
+    }
 
-                status.setJobInstance(instance);
+    // the job xml is not selected, it is only needed on restart and can be big
+    private JobStatus toJobStatus(final ResultSet rs, final long instanceId) throws SQLException {
+        final JobInstanceImpl instance = new JobInstanceImpl(instanceId);
+        instance.setJobName(rs.getString(dictionary.jobInstanceColumns(3)));
+
+        final JobStatus status = new JobStatus(instanceId);
+        status.setJobInstance(instance);
+        status.setExitStatus(rs.getString(dictionary.jobInstanceColumns(2)));
+        status.setLatestExecutionId(rs.getLong(dictionary.jobInstanceColumns(5)));
+        status.setRestartOn(rs.getString(dictionary.jobInstanceColumns(6)));
+        status.setCurrentStepId(rs.getString(dictionary.jobInstanceColumns(7)));
+
+        final String batchStatus = rs.getString(dictionary.jobInstanceColumns(1));
+        if (batchStatus != null) {
+            status.setBatchStatus(BatchStatus.valueOf(batchStatus));
+        }
+        return status;
+    }
 
-                status.setLatestExecutionId(rs.getLong(dictionary.jobInstanceColumns(5)));
-                status.setRestartOn(rs.getString(dictionary.jobInstanceColumns(6)));
+    @Override
+    public String getJobXml(final long instanceId) {
+        Connection conn = null;
+        PreparedStatement statement = null;
+        ResultSet rs = null;
 
-                final String batchStatus = rs.getString(dictionary.stepExecutionColumns(1));
-                if (batchStatus != null) {
-                    status.setBatchStatus(BatchStatus.valueOf(batchStatus));
+        try {
+            conn = getConnection();
+            statement = conn.prepareStatement(dictionary.getFindJobXml());
+            statement.setLong(1, instanceId);
+            rs = statement.executeQuery();
+            if (rs.next()) {
+                final byte[] jobXml = rs.getBytes(dictionary.jobInstanceColumns(4));
+                if (jobXml != null) {
+                    return new String(jobXml, UTF_8);
                 }
-
-                return status;
             }
             return null;
         } catch (final SQLException e) {
@@ -1413,6 +1603,60 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
         }
     }
 
+    @Override
+    public void updateJobBatchStatus(final long instanceId, final BatchStatus batchStatus) {
+        updateJobInstance(dictionary.getUpdateJobInstanceBatchStatus(), instanceId, batchStatus != null ? batchStatus.name() : null);
+    }
+
+    @Override
+    public void updateJobExecutionStatus(final long instanceId, final BatchStatus batchStatus, final String exitStatus) {
+        updateJobInstance(dictionary.getUpdateJobInstanceExecutionStatus(), instanceId, batchStatus != null ? batchStatus.name() : null, exitStatus);
+    }
+
+    @Override
+    public void updateJobCurrentStep(final long instanceId, final String currentStepId) {
+        updateJobInstance(dictionary.getUpdateJobInstanceStep(), instanceId, currentStepId);
+    }
+
+    @Override
+    public void updateJobRestartOn(final long instanceId, final String restartOn) {
+        updateJobInstance(dictionary.getUpdateJobInstanceRestartOn(), instanceId, restartOn);
+    }
+
+    @Override
+    public void updateJobStatusWithNewExecution(final long instanceId, final long newExecutionId) {
+        updateJobInstance(dictionary.getUpdateJobInstanceNewExecution(), instanceId, BatchStatus.STARTING.name(), newExecutionId);
+    }
+
+    // values are bound in order then the instance id, only strings and longs are used
+    private void updateJobInstance(final String sql, final long instanceId, final Object... values) {
+        Connection conn = null;
+        PreparedStatement statement = null;
+        try {
+            conn = getConnection();
+            statement = conn.prepareStatement(sql);
+            int i = 1;
+            for (final Object value : values) {
+                if (Long.class.isInstance(value)) {
+                    statement.setLong(i++, Long.class.cast(value));
+                } else {
+                    statement.setString(i++, String.class.cast(value));
+                }
+            }
+            statement.setLong(i, instanceId);
+            if (statement.executeUpdate() == 0) {
+                throw new IllegalStateException("Couldn't find entry to update for id = " + instanceId);
+            }
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        } catch (final SQLException e) {
+            throw new PersistenceException(e);
+        } finally {
+            cleanupConnection(conn, null, statement);
+        }
+    }
+
     @Override
     public StepStatus createStepStatus(final long stepExecId) {
         return new StepStatus(stepExecId); // instance already created
@@ -1532,16 +1776,37 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
 
     @Override
     public void cleanUp(final Date until) {
+        purge(until, 0);
+    }
+
+    @Override
+    public int cleanUp(final Date until, final int maxInstances) {
+        return purge(until, Math.max(1, maxInstances));
+    }
+
+    private int purge(final Date until, final int maxInstances) {
         Connection conn = null;
         try {
             conn = getConnection();
-            deleteUntil(until, conn, dictionary.getDeleteStepExecutionUntil());
-            deleteUntil(until, conn, dictionary.getDeleteCheckpointUntil());
-            deleteUntil(until, conn, dictionary.getDeleteJobInstanceUntil());
-            deleteUntil(until, conn, dictionary.getDeleteJobExecutionUntil());
+            final Timestamp date = new Timestamp(until.getTime());
+            final List<Long> instanceIds = findJobInstancesToPurge(date, maxInstances, conn);
+            for (int i = 0; i < instanceIds.size(); i += MAX_IN_PARAMETERS) {
+                final List<Long> ids = instanceIds.subList(i, Math.min(instanceIds.size(), i + MAX_IN_PARAMETERS));
+                deletePurgedExecutions(date, ids, conn, dictionary.getDeleteStepExecutionToPurge(ids.size()));
+                deletePurgedExecutions(date, ids, conn, dictionary.getDeleteJobExecutionToPurge(ids.size()));
+
+                // instances (and their checkpoints) only go with their last execution, a newer or running one keeps them
+                final List<Long> emptied = new ArrayList<Long>(ids);
+                emptied.removeAll(findJobInstancesWithExecutions(ids, conn));
+                if (!emptied.isEmpty()) {
+                    deleteFromInstanceIds(emptied, conn, dictionary.getDeleteCheckpointFromInstances(emptied.size()));
+                    deleteFromInstanceIds(emptied, conn, dictionary.getDeleteJobInstanceFromIds(emptied.size()));
+                }
+            }
             if (!conn.getAutoCommit()) {
                 conn.commit();
             }
+            return instanceIds.size();
         } catch (final SQLException e) {
             throw new PersistenceException(e);
         } finally {
@@ -1549,11 +1814,92 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
         }
     }
 
-    private static void deleteUntil(final Date until, final Connection conn, final String delete) throws SQLException {
+    // instances having executions to purge, each branch of the union uses its own index (end time, status)
+    private List<Long> findJobInstancesToPurge(final Timestamp until, final int maxInstances, final Connection conn) throws SQLException {
+        final List<Long> ids = new ArrayList<Long>();
+        PreparedStatement statement = null;
+        ResultSet rs = null;
+        try {
+            statement = conn.prepareStatement(dictionary.getFindJobInstanceIdsToPurge());
+            if (maxInstances > 0) {
+                statement.setMaxRows(maxInstances);
+            }
+            bindPurgedExecution(statement, 1, until);
+            rs = statement.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+        }
+        return ids;
+    }
+
+    private Set<Long> findJobInstancesWithExecutions(final List<Long> instanceIds, final Connection conn) throws SQLException {
+        final Set<Long> ids = new HashSet<Long>();
+        PreparedStatement statement = null;
+        ResultSet rs = null;
+        try {
+            statement = conn.prepareStatement(dictionary.getFindJobInstanceIdsWithExecutions(instanceIds.size()));
+            int i = 1;
+            for (final Long id : instanceIds) {
+                statement.setLong(i++, id);
+            }
+            rs = statement.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+        }
+        return ids;
+    }
+
+    private static void deletePurgedExecutions(final Timestamp until, final List<Long> instanceIds, final Connection conn, final String delete) throws SQLException {
         PreparedStatement statement = null;
         try {
             statement = conn.prepareStatement(delete);
-            statement.setTimestamp(1, new Timestamp(until.getTime()));
+            int i = bindPurgedExecution(statement, 1, until);
+            for (final Long id : instanceIds) {
+                statement.setLong(i++, id);
+            }
+            statement.executeUpdate();
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+    }
+
+    // binds the end time, the not running statuses and the update time of Dictionary.SQL.PURGED_EXECUTION, returns the next index
+    private static int bindPurgedExecution(final PreparedStatement statement, final int from, final Timestamp until) throws SQLException {
+        int i = from;
+        statement.setTimestamp(i++, until);
+        for (final BatchStatus status : JobExecutionEntity.Queries.NOT_RUNNING_STATUSES) {
+            statement.setString(i++, status.name());
+        }
+        statement.setTimestamp(i++, until);
+        return i;
+    }
+
+    private static void deleteFromInstanceIds(final List<Long> instanceIds, final Connection conn, final String delete) throws SQLException {
+        PreparedStatement statement = null;
+        try {
+            statement = conn.prepareStatement(delete);
+            int i = 1;
+            for (final Long id : instanceIds) {
+                statement.setLong(i++, id);
+            }
             statement.executeUpdate();
         } finally {
             if (statement != null) {
@@ -1575,6 +1921,13 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
         }
     }
 
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
     @Override
     public String toString() {
         try {
@@ -1587,6 +1940,7 @@ public class JDBCPersistenceManagerService implements PersistenceManagerService
                 ", url='" + url + '\'' +
                 ", user='" + user + '\'' +
                 ", pwd='" + pwd + '\'' +
+                ", pool=" + pool +
                 '}';
         } catch (final Throwable th) {
             return "JDBCPersistenceManager{dictionary=" + dictionary + '}';
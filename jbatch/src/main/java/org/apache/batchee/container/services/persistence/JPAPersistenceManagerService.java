@@ -55,10 +55,13 @@ import jakarta.persistence.TypedQuery;
 import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
@@ -75,6 +78,9 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
         StepExecutionEntity.Queries.DELETE_BY_INSTANCE_ID, CheckpointEntity.Queries.DELETE_BY_INSTANCE_ID,
         JobExecutionEntity.Queries.DELETE_BY_INSTANCE_ID, JobInstanceEntity.Queries.DELETE_BY_INSTANCE_ID
     };
+    private static final String[] DELETE_PURGED_QUERIES = {
+        StepExecutionEntity.Queries.DELETE_PURGED_BY_INSTANCE_ID, JobExecutionEntity.Queries.DELETE_PURGED_BY_INSTANCE_ID
+    };
     private static final String[] DELETE_DATE_QUERIES = {
         StepExecutionEntity.Queries.DELETE_BY_DATE, CheckpointEntity.Queries.DELETE_BY_DATE,
         JobInstanceEntity.Queries.DELETE_BY_DATE, JobExecutionEntity.Queries.DELETE_BY_DATE
@@ -119,6 +125,44 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
         }
     }
 
+    @Override
+    public int cleanUp(final Date until, final int maxInstances) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final Object tx = txProvider.start(em);
+            try {
+                final List<Long> instanceIds = em.createNamedQuery(JobInstanceEntity.Queries.FIND_IDS_TO_PURGE, Long.class)
+                    .setParameter("date", until, TemporalType.TIMESTAMP)
+                    .setParameter("statuses", JobExecutionEntity.Queries.NOT_RUNNING_STATUSES)
+                    .setMaxResults(Math.max(1, maxInstances))
+                    .getResultList();
+                for (final Long instanceId : instanceIds) {
+                    for (final String query : DELETE_PURGED_QUERIES) {
+                        em.createNamedQuery(query)
+                            .setParameter("instanceId", instanceId)
+                            .setParameter("date", until, TemporalType.TIMESTAMP)
+                            .setParameter("statuses", JobExecutionEntity.Queries.NOT_RUNNING_STATUSES)
+                            .executeUpdate();
+                    }
+
+                    // the instance and its checkpoints only go with its last execution
+                    if (em.createNamedQuery(JobExecutionEntity.Queries.COUNT_BY_INSTANCE, Long.class)
+                            .setParameter("instanceId", instanceId)
+                            .getSingleResult() == 0) {
+                        em.createNamedQuery(CheckpointEntity.Queries.DELETE_BY_INSTANCE_ID).setParameter("instanceId", instanceId).executeUpdate();
+                        em.createNamedQuery(JobInstanceEntity.Queries.DELETE_BY_INSTANCE_ID).setParameter("instanceId", instanceId).executeUpdate();
+                    }
+                }
+                txProvider.commit(tx);
+                return instanceIds.size();
+            } catch (final Exception e) {
+                throw new BatchContainerRuntimeException(performRollback(tx, e));
+            }
+        } finally {
+            emProvider.release(em);
+        }
+    }
+
     @Override
     public StepStatus getStepStatus(final long instanceId, final String stepName) {
         final EntityManager em = emProvider.newEntityManager();
@@ -165,12 +209,9 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
     public JobStatus getJobStatusFromExecution(final long executionId) {
         final EntityManager em = emProvider.newEntityManager();
         try {
-            final JobInstanceEntity entity = em.createNamedQuery(JobInstanceEntity.Queries.FIND_FROM_EXECUTION, JobInstanceEntity.class)
+            return toJobStatus(em.createNamedQuery(JobInstanceEntity.Queries.FIND_STATUS_FROM_EXECUTION, Object[].class)
                 .setParameter("executionId", executionId)
-                .getSingleResult();
-            final JobStatus status = new JobStatus(entity.getJobInstanceId());
-            setJobStatusData(status, entity);
-            return status;
+                .getSingleResult());
         } catch (NoResultException e) {
             throw new NoSuchJobExecutionException("Execution #" + executionId, e);
         } finally {
@@ -375,17 +416,7 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
 
             final List<InternalJobExecution> result = new ArrayList<InternalJobExecution>(list.size());
             for (final JobExecutionEntity entity : list) {
-                final JobExecutionImpl jobEx = new JobExecutionImpl(entity.getExecutionId(), jobInstanceId, this);
-                jobEx.setCreateTime(entity.getCreateTime());
-                jobEx.setStartTime(entity.getStartTime());
-                jobEx.setEndTime(entity.getEndTime());
-                jobEx.setLastUpdateTime(entity.getUpdateTime());
-                jobEx.setBatchStatus(entity.getBatchStatus().name());
-                jobEx.setExitStatus(entity.getExitStatus());
-                jobEx.setJobName(entity.getInstance().getName());
-                jobEx.setJobParameters(entity.getJobProperties());
-
-                result.add(jobEx);
+                result.add(toJobExecution(entity, jobInstanceId));
             }
             return result;
         } finally {
@@ -393,6 +424,50 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
         }
     }
 
+    @Override
+    public Map<Long, List<InternalJobExecution>> jobOperatorGetJobExecutions(final Collection<Long> jobInstanceIds) {
+        final Map<Long, List<InternalJobExecution>> result = new HashMap<Long, List<InternalJobExecution>>();
+        if (jobInstanceIds.isEmpty()) {
+            return result;
+        }
+
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final List<JobExecutionEntity> list = em.createNamedQuery(JobExecutionEntity.Queries.FIND_BY_INSTANCES, JobExecutionEntity.class)
+                .setParameter("instanceIds", new ArrayList<Long>(jobInstanceIds)).getResultList();
+            if (list == null) {
+                return result;
+            }
+
+            for (final JobExecutionEntity entity : list) {
+                final long jobInstanceId = entity.getInstance().getJobInstanceId();
+                List<InternalJobExecution> executions = result.get(jobInstanceId);
+                if (executions == null) {
+                    executions = new ArrayList<InternalJobExecution>();
+                    result.put(jobInstanceId, executions);
+                }
+                executions.add(toJobExecution(entity, jobInstanceId));
+            }
+            return result;
+        } finally {
+            emProvider.release(em);
+        }
+    }
+
+    private JobExecutionImpl toJobExecution(final JobExecutionEntity entity, final long jobInstanceId) {
+        final JobExecutionImpl jobEx = new JobExecutionImpl(entity.getExecutionId(), jobInstanceId, this);
+        jobEx.setCreateTime(entity.getCreateTime());
+        jobEx.setStartTime(entity.getStartTime());
+        jobEx.setEndTime(entity.getEndTime());
+        jobEx.setLastUpdateTime(entity.getUpdateTime());
+        jobEx.setBatchStatus(entity.getBatchStatus().name());
+        jobEx.setExitStatus(entity.getExitStatus());
+        jobEx.setJobName(entity.getInstance().getName());
+        jobEx.setJobParameters(entity.getJobProperties());
+        jobEx.setSnapshot(true);
+        return jobEx;
+    }
+
     @Override
     public void updateWithFinalExecutionStatusesAndTimestamps(final long key, final BatchStatus batchStatus, final String exitStatus, final Timestamp updatets) {
         final EntityManager em = emProvider.newEntityManager();
@@ -436,6 +511,7 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
             }
             jobEx.setExitStatus(instance.getExitStatus());
             jobEx.setJobName(instance.getInstance().getName());
+            jobEx.setSnapshot(true);
             return jobEx;
         } finally {
             emProvider.release(em);
@@ -638,6 +714,31 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
         }
     }
 
+    @Override
+    public List<JobInstance> jobOperatorGetJobInstances(final String jobName, final int start, final int count) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final List<Long> ids = em.createNamedQuery(JobInstanceEntity.Queries.FIND_IDS_BY_NAME, Long.class)
+                .setParameter("name", jobName)
+                .setFirstResult(start)
+                .setMaxResults(count)
+                .getResultList();
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+
+            final List<JobInstance> result = new ArrayList<JobInstance>(ids.size());
+            for (final Long id : ids) {
+                final JobInstanceImpl instance = new JobInstanceImpl(id);
+                instance.setJobName(jobName);
+                result.add(instance);
+            }
+            return result;
+        } finally {
+            emProvider.release(em);
+        }
+    }
+
     @Override
     public JobInstance createJobInstance(final String name, final String jobXml) {
         final EntityManager em = emProvider.newEntityManager();
@@ -740,12 +841,59 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
 
     @Override
     public JobStatus getJobStatus(final long instanceId) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final List<Object[]> result = em.createNamedQuery(JobInstanceEntity.Queries.FIND_STATUS, Object[].class)
+                .setParameter("instanceId", instanceId)
+                .getResultList();
+            if (result.isEmpty()) {
+                return null;
+            }
+            return toJobStatus(result.iterator().next());
+        } finally {
+            emProvider.release(em);
+        }
+    }
+
+    // projection of FIND_STATUS queries, the job xml is only loaded on restart (getJobXml)
+    private static JobStatus toJobStatus(final Object[] row) {
+        final long instanceId = Number.class.cast(row[0]).longValue();
+        final JobInstanceImpl instance = new JobInstanceImpl(instanceId);
+        instance.setJobName(String.class.cast(row[1]));
+
         final JobStatus status = new JobStatus(instanceId);
+        status.setJobInstance(instance);
+        status.setBatchStatus(BatchStatus.class.cast(row[2]));
+        status.setExitStatus(String.class.cast(row[3]));
+        status.setLatestExecutionId(Number.class.cast(row[4]).longValue());
+        status.setRestartOn(String.class.cast(row[5]));
+        status.setCurrentStepId(String.class.cast(row[6]));
+        return status;
+    }
+
+    @Override
+    public String getJobXml(final long instanceId) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final List<String> result = em.createNamedQuery(JobInstanceEntity.Queries.FIND_JOB_XML, String.class)
+                .setParameter("instanceId", instanceId)
+                .getResultList();
+            return result.isEmpty() ? null : result.iterator().next();
+        } finally {
+            emProvider.release(em);
+        }
+    }
+
+    @Override
+    public void updateJobBatchStatus(final long instanceId, final BatchStatus batchStatus) {
         final EntityManager em = emProvider.newEntityManager();
         try {
             final Object tx = txProvider.start(em);
             try {
-                setJobStatusData(status, em.find(JobInstanceEntity.class, instanceId));
+                em.createNamedQuery(JobInstanceEntity.Queries.UPDATE_BATCH_STATUS)
+                    .setParameter("batchStatus", batchStatus)
+                    .setParameter("instanceId", instanceId)
+                    .executeUpdate();
                 txProvider.commit(tx);
             } catch (final Exception e) {
                 throw new BatchContainerRuntimeException(performRollback(tx, e));
@@ -753,52 +901,104 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
         } finally {
             emProvider.release(em);
         }
-        return status;
     }
 
-    private void setJobStatusData(final JobStatus status, final JobInstanceEntity entity) {
-        status.setBatchStatus(entity.getBatchStatus());
-        status.setCurrentStepId(entity.getStep());
-        status.setLatestExecutionId(entity.getLatestExecution());
-        status.setExitStatus(entity.getExitStatus());
-        status.setRestartOn(entity.getRestartOn());
-        status.setJobInstance(entity.toJobInstance());
+    @Override
+    public void updateJobExecutionStatus(final long instanceId, final BatchStatus batchStatus, final String exitStatus) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final Object tx = txProvider.start(em);
+            try {
+                em.createNamedQuery(JobInstanceEntity.Queries.UPDATE_EXECUTION_STATUS)
+                    .setParameter("batchStatus", batchStatus)
+                    .setParameter("exitStatus", exitStatus)
+                    .setParameter("instanceId", instanceId)
+                    .executeUpdate();
+                txProvider.commit(tx);
+            } catch (final Exception e) {
+                throw new BatchContainerRuntimeException(performRollback(tx, e));
+            }
+        } finally {
+            emProvider.release(em);
+        }
     }
 
     @Override
-    public JobStatus createJobStatus(final long jobInstanceId) {
-        return new JobStatus(jobInstanceId); // instance already created
+    public void updateJobCurrentStep(final long instanceId, final String currentStepId) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final Object tx = txProvider.start(em);
+            try {
+                em.createNamedQuery(JobInstanceEntity.Queries.UPDATE_STEP)
+                    .setParameter("step", currentStepId)
+                    .setParameter("instanceId", instanceId)
+                    .executeUpdate();
+                txProvider.commit(tx);
+            } catch (final Exception e) {
+                throw new BatchContainerRuntimeException(performRollback(tx, e));
+            }
+        } finally {
+            emProvider.release(em);
+        }
     }
 
     @Override
-    public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
+    public void updateJobRestartOn(final long instanceId, final String restartOn) {
         final EntityManager em = emProvider.newEntityManager();
         try {
             final Object tx = txProvider.start(em);
             try {
-                final List<CheckpointEntity> checkpoints = em.createNamedQuery(CheckpointEntity.Queries.FIND, CheckpointEntity.class)
-                    .setParameter("jobInstanceId", key.getJobInstanceId())
-                    .setParameter("stepName", key.getStepName())
-                    .setParameter("type", key.getType())
-                    .getResultList();
+                em.createNamedQuery(JobInstanceEntity.Queries.UPDATE_RESTART_ON)
+                    .setParameter("restartOn", restartOn)
+                    .setParameter("instanceId", instanceId)
+                    .executeUpdate();
+                txProvider.commit(tx);
+            } catch (final Exception e) {
+                throw new BatchContainerRuntimeException(performRollback(tx, e));
+            }
+        } finally {
+            emProvider.release(em);
+        }
+    }
 
-                final CheckpointEntity checkpoint;
-                final boolean isNew = checkpoints == null || checkpoints.isEmpty();
-                if (isNew) {
-                    checkpoint = new CheckpointEntity();
-                    checkpoint.setInstance(em.find(JobInstanceEntity.class, key.getJobInstanceId()));
-                    checkpoint.setStepName(key.getStepName());
-                    checkpoint.setType(key.getType());
-                } else {
-                    checkpoint = checkpoints.iterator().next();
-                }
+    @Override
+    public void updateJobStatusWithNewExecution(final long instanceId, final long newExecutionId) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final Object tx = txProvider.start(em);
+            try {
+                em.createNamedQuery(JobInstanceEntity.Queries.UPDATE_NEW_EXECUTION)
+                    .setParameter("batchStatus", BatchStatus.STARTING)
+                    .setParameter("executionId", newExecutionId)
+                    .setParameter("instanceId", instanceId)
+                    .executeUpdate();
+                txProvider.commit(tx);
+            } catch (final Exception e) {
+                throw new BatchContainerRuntimeException(performRollback(tx, e));
+            }
+        } finally {
+            emProvider.release(em);
+        }
+    }
 
-                checkpoint.setData(value.getRestartToken());
+    @Override
+    public JobStatus createJobStatus(final long jobInstanceId) {
+        return new JobStatus(jobInstanceId); // instance already created
+    }
+
+    @Override
+    public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
+        setCheckpointData(Collections.singletonMap(key, value));
+    }
 
-                if (isNew) {
-                    em.persist(checkpoint);
-                } else {
-                    em.merge(checkpoint);
+    @Override
+    public void setCheckpointData(final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final Object tx = txProvider.start(em);
+            try {
+                for (final Map.Entry<CheckpointDataKey, CheckpointData> entry : checkpoints.entrySet()) {
+                    storeCheckpoint(em, entry.getKey(), entry.getValue());
                 }
                 txProvider.commit(tx);
             } catch (final Exception e) {
@@ -809,6 +1009,33 @@ public class JPAPersistenceManagerService implements PersistenceManagerService {
         }
     }
 
+    private static void storeCheckpoint(final EntityManager em, final CheckpointDataKey key, final CheckpointData value) {
+        final List<CheckpointEntity> checkpoints = em.createNamedQuery(CheckpointEntity.Queries.FIND, CheckpointEntity.class)
+            .setParameter("jobInstanceId", key.getJobInstanceId())
+            .setParameter("stepName", key.getStepName())
+            .setParameter("type", key.getType())
+            .getResultList();
+
+        final CheckpointEntity checkpoint;
+        final boolean isNew = checkpoints == null || checkpoints.isEmpty();
+        if (isNew) {
+            checkpoint = new CheckpointEntity();
+            checkpoint.setInstance(em.find(JobInstanceEntity.class, key.getJobInstanceId()));
+            checkpoint.setStepName(key.getStepName());
+            checkpoint.setType(key.getType());
+        } else {
+            checkpoint = checkpoints.iterator().next();
+        }
+
+        checkpoint.setData(value.getRestartToken());
+
+        if (isNew) {
+            em.persist(checkpoint);
+        } else {
+            em.merge(checkpoint);
+        }
+    }
+
     @Override
     public CheckpointData getCheckpointData(final CheckpointDataKey key) {
         final EntityManager em = emProvider.newEntityManager();
@@ -43,17 +43,33 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Keeps everything in memory, lookups use secondary indexes (job name, instance and step name, running executions)
+ * maintained on writes.
+ *
+ * Configuration:
+ * <ul>
+ *     <li>persistence.memory.global: share data between all instances of this service</li>
+ *     <li>persistence.memory.max-jobs-instances: max number of job instances kept, finished ones are evicted first (default 1000)</li>
+ *     <li>persistence.memory.retention: how long (in ms) a finished job instance is kept (default -1, only max-jobs-instances applies)</li>
+ * </ul>
+ */
 public class MemoryPersistenceManagerService implements PersistenceManagerService {
     private static final Collection<BatchStatus> RUNNING_STATUSES = new CopyOnWriteArrayList<BatchStatus>() {{
         add(BatchStatus.STARTED);
@@ -66,7 +82,9 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
             protected JobInstanceImpl instance;
             protected JobStatus status;
             protected final List<ExecutionInstanceData> executions = new LinkedList<ExecutionInstanceData>();
-            protected final Collection<CheckpointDataKey> checkpoints = new LinkedList<CheckpointDataKey>();
+            protected final Collection<CheckpointDataKey> checkpoints = new HashSet<CheckpointDataKey>();
+            protected volatile long endTime;
+            protected volatile boolean enqueued; // in finishedJobInstances, only changed with the queue under the instance lock
         }
 
         static class ExecutionInstanceData implements Structures {
@@ -79,6 +97,33 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
             protected StepExecutionImpl execution;
             protected StepStatus status;
         }
+
+        static class InstanceStepKey implements Structures {
+            private final long instanceId;
+            private final String stepName;
+
+            InstanceStepKey(final long instanceId, final String stepName) {
+                this.instanceId = instanceId;
+                this.stepName = stepName;
+            }
+
+            @Override
+            public boolean equals(final Object o) {
+                if (this == o) {
+                    return true;
+                }
+                if (o == null || getClass() != o.getClass()) {
+                    return false;
+                }
+                final InstanceStepKey that = InstanceStepKey.class.cast(o);
+                return instanceId == that.instanceId && (stepName == null ? that.stepName == null : stepName.equals(that.stepName));
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * (int) (instanceId ^ (instanceId >>> 32)) + (stepName != null ? stepName.hashCode() : 0);
+            }
+        }
     }
 
     static class Data {
@@ -91,12 +136,20 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         protected final Map<Long, Structures.JobInstanceData> jobInstanceData = new ConcurrentHashMap<Long, Structures.JobInstanceData>();
         protected final Map<Long, Structures.ExecutionInstanceData> executionInstanceData = new ConcurrentHashMap<Long, Structures.ExecutionInstanceData>();
         protected final Map<Long, Structures.StepExecutionInstanceData> stepExecutionInstanceData = new ConcurrentHashMap<Long, Structures.StepExecutionInstanceData>();
+
+        // indexes, job instance ids are sorted to page them without sorting
+        protected final Map<String, Set<Long>> jobInstancesByName = new ConcurrentHashMap<String, Set<Long>>();
+        protected final ConcurrentMap<Structures.InstanceStepKey, Collection<Structures.StepExecutionInstanceData>> stepExecutionsByInstanceAndStep =
+            new ConcurrentHashMap<Structures.InstanceStepKey, Collection<Structures.StepExecutionInstanceData>>();
+        protected final Map<Long, Structures.ExecutionInstanceData> runningExecutions = new ConcurrentHashMap<Long, Structures.ExecutionInstanceData>();
+        protected final Queue<Structures.JobInstanceData> finishedJobInstances = new ConcurrentLinkedQueue<Structures.JobInstanceData>();
     }
 
     private static final Data GLOBAL_DATA = new Data();
 
     private Data data;
     private int maxSize;
+    private long retention;
 
     // an extension point to be able to use whatever map you want, a distributed/filtered/size-limited one for instance
     protected Data newData() {
@@ -111,25 +164,21 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
             data = newData();
         }
         maxSize = Integer.parseInt(batchConfig.getProperty("persistence.memory.max-jobs-instances", "1000"));
+        retention = Long.parseLong(batchConfig.getProperty("persistence.memory.retention", "-1"));
     }
 
     @Override
     public int jobOperatorGetJobInstanceCount(final String jobName) {
-        int i = 0;
-        for (final Structures.JobInstanceData jobInstanceData : data.jobInstanceData.values()) {
-            if (jobInstanceData.instance.getJobName().equals(jobName)) {
-                i++;
-            }
-        }
-        return i;
+        final Set<Long> ids = data.jobInstancesByName.get(jobName);
+        return ids == null ? 0 : ids.size();
     }
 
     @Override
     public Set<String> getJobNames() {
-        Set<String> jobNames = new HashSet<String>();
-        for (final Structures.JobInstanceData jobInstanceData : data.jobInstanceData.values()) {
-            if (jobInstanceData.instance.getJobName() != null && !jobInstanceData.instance.getJobName().startsWith(PartitionedStepBuilder.JOB_ID_SEPARATOR)) {
-                jobNames.add(jobInstanceData.instance.getJobName());
+        final Set<String> jobNames = new HashSet<String>();
+        for (final Map.Entry<String, Set<Long>> entry : data.jobInstancesByName.entrySet()) {
+            if (!entry.getKey().startsWith(PartitionedStepBuilder.JOB_ID_SEPARATOR) && !entry.getValue().isEmpty()) {
+                jobNames.add(entry.getKey());
             }
         }
         return jobNames;
@@ -137,25 +186,33 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
 
     @Override
     public List<Long> jobOperatorGetJobInstanceIds(final String jobName, final int start, final int count) {
-        final List<Long> out = new LinkedList<Long>();
-        for (final Structures.JobInstanceData jobInstanceData : data.jobInstanceData.values()) {
-            if (jobInstanceData.instance.getJobName() != null && jobInstanceData.instance.getJobName().equals(jobName)) {
-                out.add(jobInstanceData.instance.getInstanceId());
-            }
+        final List<Long> out = new ArrayList<Long>();
+        final Set<Long> ids = jobName == null ? null : data.jobInstancesByName.get(jobName);
+        if (ids == null) {
+            return out;
         }
 
-        // sorting could be optimized a bit but is it necessary for this impl?
-        Collections.sort(out);
-        // Collections.reverse(out);
-
-        if (out.size() > 0) {
-            try {
-                return out.subList(start, start + count);
-            } catch (final IndexOutOfBoundsException oobEx) {
-                return out.subList(start, out.size());
+        int skipped = 0;
+        for (final Long id : ids) { // ascending order
+            if (out.size() >= count) {
+                break;
+            }
+            if (skipped++ >= start) {
+                out.add(id);
             }
         }
+        return out;
+    }
 
+    @Override
+    public List<JobInstance> jobOperatorGetJobInstances(final String jobName, final int start, final int count) {
+        final List<JobInstance> out = new ArrayList<JobInstance>();
+        for (final Long id : jobOperatorGetJobInstanceIds(jobName, start, count)) {
+            final Structures.JobInstanceData jobInstanceData = data.jobInstanceData.get(id);
+            if (jobInstanceData != null) {
+                out.add(jobInstanceData.instance);
+            }
+        }
         return out;
     }
 
@@ -191,6 +248,7 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         final Structures.ExecutionInstanceData toUpdate = data.executionInstanceData.get(executionId);
         toUpdate.execution.setBatchStatus(batchStatus.name());
         toUpdate.execution.setLastUpdateTime(timestamp);
+        indexStatus(toUpdate, batchStatus);
     }
 
     @Override
@@ -199,6 +257,7 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         toUpdate.execution.setBatchStatus(BatchStatus.STARTED.name());
         toUpdate.execution.setLastUpdateTime(startTS);
         toUpdate.execution.setStartTime(startTS);
+        indexStatus(toUpdate, BatchStatus.STARTED);
     }
 
     @Override
@@ -212,6 +271,47 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         toUpdate.execution.setExitStatus(exitStatus);
         toUpdate.execution.setLastUpdateTime(updatets);
         toUpdate.execution.setEndTime(updatets);
+        indexStatus(toUpdate, batchStatus);
+    }
+
+    private void indexStatus(final Structures.ExecutionInstanceData execution, final BatchStatus batchStatus) {
+        final boolean running = batchStatus != null && RUNNING_STATUSES.contains(batchStatus);
+        if (running) {
+            data.runningExecutions.put(execution.execution.getExecutionId(), execution);
+        } else {
+            data.runningExecutions.remove(execution.execution.getExecutionId());
+        }
+        if (retention < 0 && maxSize <= 0) { // nothing is evicted
+            return;
+        }
+
+        final Structures.JobInstanceData jobInstanceData = data.jobInstanceData.get(execution.execution.getInstanceId());
+        if (jobInstanceData == null) {
+            return;
+        }
+        if (running) { // restarted, it will be queued again when it ends
+            if (jobInstanceData.enqueued) {
+                dequeueFinished(jobInstanceData);
+            }
+            return;
+        }
+        synchronized (jobInstanceData) { // several final statuses can be written for the same execution, queue it once
+            jobInstanceData.endTime = System.currentTimeMillis();
+            if (!jobInstanceData.enqueued) {
+                jobInstanceData.enqueued = true;
+                data.finishedJobInstances.add(jobInstanceData);
+            }
+        }
+    }
+
+    private boolean dequeueFinished(final Structures.JobInstanceData jobInstanceData) {
+        synchronized (jobInstanceData) {
+            if (!data.finishedJobInstances.remove(jobInstanceData)) { // O(1) for the head which is the common case
+                return false;
+            }
+            jobInstanceData.enqueued = false;
+            return true;
+        }
     }
 
     @Override
@@ -243,22 +343,28 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         return list;
     }
 
+    @Override
+    public Map<Long, List<InternalJobExecution>> jobOperatorGetJobExecutions(final Collection<Long> jobInstanceIds) {
+        final Map<Long, List<InternalJobExecution>> out = new HashMap<Long, List<InternalJobExecution>>();
+        for (final Long id : jobInstanceIds) {
+            final List<InternalJobExecution> executions = jobOperatorGetJobExecutions(id);
+            if (!executions.isEmpty()) {
+                out.put(id, executions);
+            }
+        }
+        return out;
+    }
+
     @Override
     public Set<Long> jobOperatorGetRunningExecutions(final String jobName) {
         final Set<Long> set = new HashSet<Long>();
-
-        for (final Structures.JobInstanceData instanceData : data.jobInstanceData.values()) {
-            if (instanceData.instance.getJobName().equals(jobName)) {
-                synchronized (instanceData.executions) {
-                    for (final Structures.ExecutionInstanceData executionInstanceData : instanceData.executions) {
-                        if (RUNNING_STATUSES.contains(executionInstanceData.execution.getBatchStatus())) {
-                            set.add(executionInstanceData.execution.getExecutionId());
-                        }
-                    }
-                }
+        for (final Structures.ExecutionInstanceData executionInstanceData : data.runningExecutions.values()) {
+            final Structures.JobInstanceData instanceData = data.jobInstanceData.get(executionInstanceData.execution.getInstanceId());
+            if (instanceData != null && jobName.equals(instanceData.instance.getJobName())
+                    && RUNNING_STATUSES.contains(executionInstanceData.execution.getBatchStatus())) {
+                set.add(executionInstanceData.execution.getExecutionId());
             }
         }
-
         return set;
     }
 
@@ -292,18 +398,72 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
 
         final Structures.JobInstanceData jobInstanceData = new Structures.JobInstanceData();
         jobInstanceData.instance = jobInstance;
+        evictExpiredInstances();
         if (maxSize > 0 && data.jobInstanceData.size() >= maxSize) {
-            synchronized (this) {
+            synchronized (data) {
                 while (data.jobInstanceData.size() >= maxSize) {
-                    cleanUp(data.lastCleanedJobInstanceId.getAndIncrement());
+                    final Structures.JobInstanceData finished = data.finishedJobInstances.peek();
+                    if (finished != null) { // oldest finished instances first
+                        if (dequeueFinished(finished)) {
+                            evictIfFinished(finished);
+                        }
+                    } else {
+                        cleanUp(data.lastCleanedJobInstanceId.getAndIncrement());
+                    }
                 }
             }
         }
         data.jobInstanceData.put(jobInstance.getInstanceId(), jobInstanceData);
+        if (name != null) {
+            synchronized (data.jobInstancesByName) {
+                Set<Long> ids = data.jobInstancesByName.get(name);
+                if (ids == null) {
+                    ids = new ConcurrentSkipListSet<Long>();
+                    data.jobInstancesByName.put(name, ids);
+                }
+                ids.add(jobInstance.getInstanceId());
+            }
+        }
 
         return jobInstance;
     }
 
+    private void evictExpiredInstances() {
+        if (retention < 0) {
+            return;
+        }
+
+        final Structures.JobInstanceData oldest = data.finishedJobInstances.peek();
+        if (oldest == null || oldest.endTime > System.currentTimeMillis() - retention) {
+            return;
+        }
+        synchronized (data) {
+            final long limit = System.currentTimeMillis() - retention;
+            Structures.JobInstanceData candidate;
+            while ((candidate = data.finishedJobInstances.peek()) != null && candidate.endTime <= limit) {
+                if (dequeueFinished(candidate)) {
+                    evictIfFinished(candidate);
+                }
+            }
+        }
+    }
+
+    // skip it if already removed or running again
+    private void evictIfFinished(final Structures.JobInstanceData candidate) {
+        final long id = candidate.instance.getInstanceId();
+        if (data.jobInstanceData.get(id) != candidate) {
+            return;
+        }
+        synchronized (candidate.executions) {
+            for (final Structures.ExecutionInstanceData execution : candidate.executions) {
+                if (data.runningExecutions.containsKey(execution.execution.getExecutionId())) {
+                    return;
+                }
+            }
+        }
+        cleanUp(id);
+    }
+
     @Override
     public RuntimeJobExecution createJobExecution(final JobInstance jobInstance, final Properties jobParameters, final BatchStatus batchStatus) {
         final Timestamp now = new Timestamp(System.currentTimeMillis());
@@ -336,6 +496,7 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         synchronized (jobInstanceData.executions) {
             jobInstanceData.executions.add(executionInstanceData);
         }
+        indexStatus(executionInstanceData, batchStatus);
         return executionInstanceData;
     }
 
@@ -409,6 +570,17 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
             stepExecutionInstanceData);
         data.stepExecutionInstanceData.put(stepExecution.getStepExecutionId(), stepExecutionInstanceData);
 
+        final Structures.InstanceStepKey key = new Structures.InstanceStepKey(executionInstanceData.execution.getInstanceId(), stepName);
+        Collection<Structures.StepExecutionInstanceData> stepExecutions = data.stepExecutionsByInstanceAndStep.get(key);
+        if (stepExecutions == null) {
+            stepExecutions = new CopyOnWriteArrayList<Structures.StepExecutionInstanceData>();
+            final Collection<Structures.StepExecutionInstanceData> existing = data.stepExecutionsByInstanceAndStep.putIfAbsent(key, stepExecutions);
+            if (existing != null) {
+                stepExecutions = existing;
+            }
+        }
+        stepExecutions.add(stepExecutionInstanceData);
+
         return stepExecution;
     }
 
@@ -534,6 +706,58 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         }
     }
 
+    @Override
+    public void updateJobBatchStatus(final long instanceId, final BatchStatus batchStatus) {
+        final JobStatus status = getJobStatus(instanceId);
+        if (status != null) {
+            status.setBatchStatus(batchStatus);
+        }
+    }
+
+    @Override
+    public void updateJobExecutionStatus(final long instanceId, final BatchStatus batchStatus, final String exitStatus) {
+        final JobStatus status = getJobStatus(instanceId);
+        if (status != null) {
+            status.setBatchStatus(batchStatus);
+            status.setExitStatus(exitStatus);
+        }
+    }
+
+    @Override
+    public void updateJobCurrentStep(final long instanceId, final String currentStepId) {
+        final JobStatus status = getJobStatus(instanceId);
+        if (status != null) {
+            status.setCurrentStepId(currentStepId);
+        }
+    }
+
+    @Override
+    public void updateJobRestartOn(final long instanceId, final String restartOn) {
+        final JobStatus status = getJobStatus(instanceId);
+        if (status != null) {
+            status.setRestartOn(restartOn);
+        }
+    }
+
+    @Override
+    public void updateJobStatusWithNewExecution(final long instanceId, final long newExecutionId) {
+        final JobStatus status = getJobStatus(instanceId);
+        if (status != null) {
+            status.setRestartOn(null);
+            status.setLatestExecutionId(newExecutionId);
+            status.setBatchStatus(BatchStatus.STARTING);
+        }
+    }
+
+    @Override
+    public String getJobXml(final long instanceId) {
+        final Structures.JobInstanceData jobInstanceData = data.jobInstanceData.get(instanceId);
+        if (jobInstanceData == null || jobInstanceData.instance == null) {
+            return null;
+        }
+        return jobInstanceData.instance.getJobXML();
+    }
+
     @Override
     public StepStatus createStepStatus(final long stepExecId) {
         final StepStatus stepStatus = new StepStatus(stepExecId);
@@ -543,18 +767,20 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
 
     @Override
     public StepStatus getStepStatus(final long instanceId, final String stepName) {
-        final Map<Date, StepStatus> statusMap = new TreeMap<Date, StepStatus>(ReverseDateComparator.INSTANCE);
-        for (final Structures.StepExecutionInstanceData stepExecutionInstanceData : data.stepExecutionInstanceData.values()) {
-            if (stepExecutionInstanceData.jobExec.execution.getInstanceId() == instanceId
-                    && stepExecutionInstanceData.execution.getStepName().equals(stepName)
-                    && stepExecutionInstanceData.status != null) {
-                statusMap.put(stepExecutionInstanceData.jobExec.execution.getCreateTime(), stepExecutionInstanceData.status);
-            }
-        }
-        if (statusMap.isEmpty()) {
+        final Collection<Structures.StepExecutionInstanceData> stepExecutions = data.stepExecutionsByInstanceAndStep.get(new Structures.InstanceStepKey(instanceId, stepName));
+        if (stepExecutions == null) {
             return null;
         }
-        return statusMap.values().iterator().next();
+
+        // status of the most recent job execution
+        Structures.StepExecutionInstanceData latest = null;
+        for (final Structures.StepExecutionInstanceData stepExecutionInstanceData : stepExecutions) {
+            if (stepExecutionInstanceData.status != null && (latest == null
+                    || !stepExecutionInstanceData.jobExec.execution.getCreateTime().before(latest.jobExec.execution.getCreateTime()))) {
+                latest = stepExecutionInstanceData;
+            }
+        }
+        return latest == null ? null : latest.status;
     }
 
     @Override
@@ -574,6 +800,13 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         }
     }
 
+    @Override
+    public void setCheckpointData(final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        for (final Map.Entry<CheckpointDataKey, CheckpointData> checkpoint : checkpoints.entrySet()) {
+            setCheckpointData(checkpoint.getKey(), checkpoint.getValue());
+        }
+    }
+
     @Override
     public CheckpointData getCheckpointData(final CheckpointDataKey key) {
         return data.checkpointData.get(key);
@@ -623,13 +856,31 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
         if (jobInstanceData == null) {
             return;
         }
+        if (jobInstanceData.enqueued) { // purged before being evicted
+            dequeueFinished(jobInstanceData);
+        }
+
+        final String name = jobInstanceData.instance.getJobName();
+        if (name != null) {
+            synchronized (data.jobInstancesByName) {
+                final Set<Long> ids = data.jobInstancesByName.get(name);
+                if (ids != null) {
+                    ids.remove(instanceId);
+                    if (ids.isEmpty()) { // partition job names are unique, don't leak them
+                        data.jobInstancesByName.remove(name);
+                    }
+                }
+            }
+        }
 
         synchronized (jobInstanceData.executions) {
             for (final Structures.ExecutionInstanceData executionInstanceData : jobInstanceData.executions) {
                 data.executionInstanceData.remove(executionInstanceData.execution.getExecutionId());
+                data.runningExecutions.remove(executionInstanceData.execution.getExecutionId());
                 synchronized (executionInstanceData.stepExecutions) {
                     for (final StepExecution stepExecution : executionInstanceData.stepExecutions) {
                         data.stepExecutionInstanceData.remove(stepExecution.getStepExecutionId());
+                        data.stepExecutionsByInstanceAndStep.remove(new Structures.InstanceStepKey(instanceId, stepExecution.getStepName()));
                     }
                 }
             }
@@ -643,9 +894,27 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
 
     @Override
     public void cleanUp(final Date until) {
-        final Collection<Long> instanceIdToRemove = new ArrayList<Long>();
+        for (final Long id : findJobInstancesEndedBefore(until)) {
+            cleanUp(id);
+        }
+    }
+
+    @Override
+    public int cleanUp(final Date until, final int maxInstances) {
+        final List<Long> ids = findJobInstancesEndedBefore(until);
+        Collections.sort(ids);
+        final int size = Math.min(ids.size(), Math.max(1, maxInstances));
+        for (final Long id : ids.subList(0, size)) {
+            cleanUp(id);
+        }
+        return size;
+    }
+
+    // purges whole instances once all their executions ended, instances without any execution yet are kept
+    private List<Long> findJobInstancesEndedBefore(final Date until) {
+        final List<Long> instanceIdToRemove = new ArrayList<Long>();
         for (final Map.Entry<Long, Structures.JobInstanceData> entry : data.jobInstanceData.entrySet()) {
-            boolean match = true;
+            boolean match = !entry.getValue().executions.isEmpty();
             for (final Structures.ExecutionInstanceData exec : entry.getValue().executions) {
                 if (exec.execution.getEndTime() == null || exec.execution.getEndTime().after(until)) {
                     match = false;
@@ -656,10 +925,7 @@ public class MemoryPersistenceManagerService implements PersistenceManagerServic
                 instanceIdToRemove.add(entry.getKey());
             }
         }
-
-        for (final Long id : instanceIdToRemove) {
-            cleanUp(id);
-        }
+        return instanceIdToRemove;
     }
 
     private static class ReverseDateComparator implements Comparator<Date> {
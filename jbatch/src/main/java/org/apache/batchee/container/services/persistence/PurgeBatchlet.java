@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence;
+
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.spi.PersistenceManagerService;
+
+import jakarta.batch.api.BatchProperty;
+import jakarta.batch.api.Batchlet;
+import jakarta.inject.Inject;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Built-in batchlet (ref {@code purgeBatchlet}) running an {@link IncrementalPurge} of the batch history,
+ * it allows to schedule the retention as a regular job. The exit status is the number of purged job instances.
+ */
+public class PurgeBatchlet implements Batchlet {
+    @Inject
+    @BatchProperty
+    private String until; // yyyyMMdd, excluded
+
+    @Inject
+    @BatchProperty
+    private String retentionDays; // used when until is not set
+
+    @Inject
+    @BatchProperty
+    private String batchSize;
+
+    @Inject
+    @BatchProperty
+    private String pause;
+
+    @Inject
+    @BatchProperty
+    private String maxInstancesPerSecond;
+
+    private volatile IncrementalPurge purge;
+
+    @Override
+    public String process() throws Exception {
+        purge = new IncrementalPurge(
+            ServicesManager.find().service(PersistenceManagerService.class),
+            batchSize == null ? 100 : Integer.parseInt(batchSize.trim()),
+            pause == null ? 0 : Long.parseLong(pause.trim()),
+            maxInstancesPerSecond == null ? 0 : Integer.parseInt(maxInstancesPerSecond.trim()));
+        return Long.toString(purge.run(untilDate()));
+    }
+
+    private Date untilDate() {
+        if (until != null) {
+            try {
+                return new SimpleDateFormat("yyyyMMdd").parse(until.trim());
+            } catch (final ParseException e) {
+                throw new IllegalArgumentException("until should use yyyyMMdd format: " + until, e);
+            }
+        }
+        if (retentionDays != null) {
+            return new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(Long.parseLong(retentionDays.trim())));
+        }
+        throw new IllegalArgumentException("until or retentionDays property needed");
+    }
+
+    @Override
+    public void stop() throws Exception {
+        final IncrementalPurge current = purge;
+        if (current != null) {
+            current.stop();
+        }
+    }
+}
@@ -0,0 +1,643 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence;
+
+import org.apache.batchee.container.exception.BatchContainerRuntimeException;
+import org.apache.batchee.container.exception.BatchContainerServiceException;
+import org.apache.batchee.container.impl.StepContextImpl;
+import org.apache.batchee.container.impl.StepExecutionImpl;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+import org.apache.batchee.container.impl.controller.chunk.PersistentDataWrapper;
+import org.apache.batchee.container.impl.jobinstance.RuntimeFlowInSplitExecution;
+import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
+import org.apache.batchee.container.services.InternalJobExecution;
+import org.apache.batchee.container.status.JobStatus;
+import org.apache.batchee.container.status.StepStatus;
+import org.apache.batchee.container.util.Serializations;
+import org.apache.batchee.spi.PersistenceManagerService;
+
+import jakarta.batch.operations.NoSuchJobExecutionException;
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.JobInstance;
+import jakarta.batch.runtime.Metric;
+import jakarta.batch.runtime.StepExecution;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decorates another persistence service and defers the intermediate
+ * step execution, step status and job execution status updates.
+ *
+ * Pending updates are immutable snapshots taken when the update is requested.
+ * They are coalesced per execution (only the latest one is written)
+ * and flushed periodically, when a final status is written or before a read of the same execution.
+ * The step data deferred by a thread is flushed before the checkpoint it writes
+ * so persistent user data and metrics are never older than the stored checkpoint.
+ *
+ * Configuration:
+ * <ul>
+ *     <li>persistence.write-behind.delegate: the decorated service (default to JDBC one)</li>
+ *     <li>persistence.write-behind.flush-interval: the flush period in ms (default 1000)</li>
+ * </ul>
+ */
+public class WriteBehindPersistenceManagerService implements PersistenceManagerService, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(WriteBehindPersistenceManagerService.class.getName());
+    private static final long UNKNOWN = -1;
+
+    private final Map<Long, PendingStepExecution> pendingStepExecutions = new ConcurrentHashMap<Long, PendingStepExecution>();
+    private final Map<Long, PendingStepStatus> pendingStepStatuses = new ConcurrentHashMap<Long, PendingStepStatus>();
+    private final Map<Long, PendingBatchStatus> pendingBatchStatuses = new ConcurrentHashMap<Long, PendingBatchStatus>();
+    private final Map<Long, Long> executionInstances = new ConcurrentHashMap<Long, Long>(); // running job execution -> job instance
+    private final Map<Long, Long> stepExecutionOwners = new ConcurrentHashMap<Long, Long>(); // running step execution -> job execution
+    private final Object flushLock = new Object();
+
+    private PersistenceManagerService delegate;
+    private ScheduledExecutorService flusher;
+
+    @Override
+    public void init(final Properties batchConfig) {
+        final String delegateType = batchConfig.getProperty("persistence.write-behind.delegate", JDBCPersistenceManagerService.class.getName());
+        try {
+            delegate = PersistenceManagerService.class.cast(Thread.currentThread().getContextClassLoader().loadClass(delegateType).newInstance());
+        } catch (final Exception e) {
+            throw new BatchContainerServiceException(e);
+        }
+        delegate.init(batchConfig);
+
+        final long interval = Long.parseLong(batchConfig.getProperty("persistence.write-behind.flush-interval", "1000"));
+        flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "batchee-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        flusher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    flush();
+                } catch (final RuntimeException re) {
+                    LOGGER.log(Level.WARNING, "Can't flush pending updates: " + re.getMessage(), re);
+                }
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public PersistenceManagerService getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Writes all pending updates to the delegate.
+     */
+    public void flush() {
+        flush(Selector.ALL);
+    }
+
+    private void flush(final Selector selector) {
+        synchronized (flushLock) {
+            for (final Map.Entry<Long, PendingBatchStatus> entry : pendingBatchStatuses.entrySet()) {
+                if (selector.execution(entry.getKey()) && pendingBatchStatuses.remove(entry.getKey(), entry.getValue())) {
+                    delegate.updateBatchStatusOnly(entry.getKey(), entry.getValue().batchStatus, entry.getValue().timestamp);
+                }
+            }
+            for (final Map.Entry<Long, PendingStepStatus> entry : pendingStepStatuses.entrySet()) {
+                final PendingStepStatus pending = entry.getValue();
+                if (selector.step(entry.getKey(), pending.jobExecId, pending.writer) && pendingStepStatuses.remove(entry.getKey(), pending)) {
+                    delegate.updateStepStatus(entry.getKey(), pending.stepStatus);
+                }
+            }
+            for (final Map.Entry<Long, PendingStepExecution> entry : pendingStepExecutions.entrySet()) {
+                final PendingStepExecution pending = entry.getValue();
+                if (selector.step(entry.getKey(), pending.jobExecId, pending.writer) && pendingStepExecutions.remove(entry.getKey(), pending)) {
+                    delegate.updateStepExecution(pending.jobExecId, pending.stepContext());
+                }
+            }
+        }
+    }
+
+    private void flushExecution(final long executionId) {
+        flush(new Selector() {
+            @Override
+            protected boolean execution(final long id) {
+                return id == executionId;
+            }
+        });
+    }
+
+    private void flushInstance(final long instanceId) {
+        flush(new Selector() {
+            @Override
+            protected boolean execution(final long id) {
+                final Long instance = executionInstances.get(id);
+                return instance == null || instance == instanceId; // unknown executions are flushed to stay safe
+            }
+        });
+    }
+
+    private void flushStepExecution(final long stepExecutionId) {
+        final Long owner = stepExecutionOwners.get(stepExecutionId);
+        if (owner == null) {
+            flush(new Selector() {
+                @Override
+                protected boolean execution(final long id) {
+                    return false;
+                }
+
+                @Override
+                protected boolean step(final long id, final long jobExecId, final Thread writer) {
+                    return id == stepExecutionId;
+                }
+            });
+        } else {
+            flushExecution(owner);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+        if (Closeable.class.isInstance(delegate)) {
+            Closeable.class.cast(delegate).close();
+        }
+    }
+
+    private static boolean isFinal(final BatchStatus status) {
+        return status == BatchStatus.COMPLETED || status == BatchStatus.FAILED
+            || status == BatchStatus.STOPPED || status == BatchStatus.ABANDONED;
+    }
+
+    // deferred writes
+
+    @Override
+    public void updateStepExecution(final long jobExecId, final StepContextImpl stepContext) {
+        if (isFinal(stepContext.getBatchStatus()) || stepContext.getEndTimeTS() != null) {
+            synchronized (flushLock) {
+                pendingStepExecutions.remove(stepContext.getStepInternalExecID());
+                delegate.updateStepExecution(jobExecId, stepContext);
+            }
+            stepExecutionOwners.remove(stepContext.getStepInternalExecID());
+        } else {
+            pendingStepExecutions.put(stepContext.getStepInternalExecID(), new PendingStepExecution(jobExecId, snapshot(stepContext), serialize(stepContext)));
+        }
+    }
+
+    @Override
+    public void updateStepStatus(final long stepExecutionId, final StepStatus stepStatus) {
+        if (isFinal(stepStatus.getBatchStatus())) {
+            synchronized (flushLock) {
+                pendingStepStatuses.remove(stepExecutionId);
+                delegate.updateStepStatus(stepExecutionId, stepStatus);
+            }
+        } else {
+            final Long owner = stepExecutionOwners.get(stepExecutionId);
+            pendingStepStatuses.put(stepExecutionId, new PendingStepStatus(owner == null ? UNKNOWN : owner, snapshot(stepStatus)));
+        }
+    }
+
+    @Override
+    public void updateBatchStatusOnly(final long executionId, final BatchStatus batchStatus, final Timestamp timestamp) {
+        if (isFinal(batchStatus)) {
+            synchronized (flushLock) {
+                pendingBatchStatuses.remove(executionId);
+                delegate.updateBatchStatusOnly(executionId, batchStatus, timestamp);
+            }
+        } else {
+            pendingBatchStatuses.put(executionId, new PendingBatchStatus(batchStatus, timestamp));
+        }
+    }
+
+    // synchronous writes, pending updates of the same execution are flushed first to keep the ordering
+
+    @Override
+    public void markJobStarted(final long key, final Timestamp startTS) {
+        synchronized (flushLock) {
+            flushExecution(key);
+            delegate.markJobStarted(key, startTS);
+        }
+    }
+
+    @Override
+    public void updateWithFinalExecutionStatusesAndTimestamps(final long key, final BatchStatus batchStatus, final String exitStatus, final Timestamp updatets) {
+        synchronized (flushLock) {
+            flushExecution(key);
+            delegate.updateWithFinalExecutionStatusesAndTimestamps(key, batchStatus, exitStatus, updatets);
+        }
+        executionInstances.remove(key);
+    }
+
+    @Override
+    public void updateJobStatus(final long instanceId, final JobStatus jobStatus) {
+        synchronized (flushLock) {
+            flushInstance(instanceId);
+            delegate.updateJobStatus(instanceId, jobStatus);
+        }
+    }
+
+    @Override
+    public void updateJobBatchStatus(final long instanceId, final BatchStatus batchStatus) {
+        synchronized (flushLock) {
+            flushInstance(instanceId);
+            delegate.updateJobBatchStatus(instanceId, batchStatus);
+        }
+    }
+
+    @Override
+    public void updateJobExecutionStatus(final long instanceId, final BatchStatus batchStatus, final String exitStatus) {
+        synchronized (flushLock) {
+            flushInstance(instanceId);
+            delegate.updateJobExecutionStatus(instanceId, batchStatus, exitStatus);
+        }
+    }
+
+    @Override
+    public void updateJobCurrentStep(final long instanceId, final String currentStepId) {
+        synchronized (flushLock) {
+            flushInstance(instanceId);
+            delegate.updateJobCurrentStep(instanceId, currentStepId);
+        }
+    }
+
+    @Override
+    public void updateJobRestartOn(final long instanceId, final String restartOn) {
+        synchronized (flushLock) {
+            flushInstance(instanceId);
+            delegate.updateJobRestartOn(instanceId, restartOn);
+        }
+    }
+
+    @Override
+    public void updateJobStatusWithNewExecution(final long instanceId, final long newExecutionId) {
+        executionInstances.put(newExecutionId, instanceId);
+        synchronized (flushLock) {
+            flushInstance(instanceId);
+            delegate.updateJobStatusWithNewExecution(instanceId, newExecutionId);
+        }
+    }
+
+    @Override
+    public void cleanUp(final long instanceId) {
+        synchronized (flushLock) {
+            flushInstance(instanceId);
+            delegate.cleanUp(instanceId);
+        }
+        executionInstances.values().removeAll(Collections.singleton(instanceId));
+    }
+
+    @Override
+    public void cleanUp(final Date until) {
+        synchronized (flushLock) {
+            flush();
+            delegate.cleanUp(until);
+        }
+    }
+
+    @Override
+    public int cleanUp(final Date until, final int maxInstances) {
+        synchronized (flushLock) {
+            flush();
+            return delegate.cleanUp(until, maxInstances);
+        }
+    }
+
+    // checkpoints: the step data deferred by the checkpointing thread (persistent user data, metrics) is written first
+
+    @Override
+    public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
+        synchronized (flushLock) {
+            flush(Selector.CURRENT_THREAD);
+            delegate.setCheckpointData(key, value);
+        }
+    }
+
+    @Override
+    public void setCheckpointData(final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        synchronized (flushLock) {
+            flush(Selector.CURRENT_THREAD);
+            delegate.setCheckpointData(checkpoints);
+        }
+    }
+
+    @Override
+    public CheckpointData getCheckpointData(final CheckpointDataKey key) {
+        return delegate.getCheckpointData(key);
+    }
+
+    // creations don't depend on pending updates
+
+    @Override
+    public JobInstance createJobInstance(final String name, final String jobXml) {
+        return delegate.createJobInstance(name, jobXml);
+    }
+
+    @Override
+    public JobInstance createSubJobInstance(final String name) {
+        return delegate.createSubJobInstance(name);
+    }
+
+    @Override
+    public RuntimeJobExecution createJobExecution(final JobInstance jobInstance, final Properties jobParameters, final BatchStatus batchStatus) {
+        final RuntimeJobExecution execution = delegate.createJobExecution(jobInstance, jobParameters, batchStatus);
+        executionInstances.put(execution.getExecutionId(), jobInstance.getInstanceId());
+        return execution;
+    }
+
+    @Override
+    public RuntimeFlowInSplitExecution createFlowInSplitExecution(final JobInstance jobInstance, final BatchStatus batchStatus) {
+        final RuntimeFlowInSplitExecution execution = delegate.createFlowInSplitExecution(jobInstance, batchStatus);
+        executionInstances.put(execution.getExecutionId(), jobInstance.getInstanceId());
+        return execution;
+    }
+
+    @Override
+    public StepExecutionImpl createStepExecution(final long jobExecId, final StepContextImpl stepContext) {
+        final StepExecutionImpl execution = delegate.createStepExecution(jobExecId, stepContext);
+        stepExecutionOwners.put(execution.getStepExecutionId(), jobExecId);
+        return execution;
+    }
+
+    @Override
+    public JobStatus createJobStatus(final long jobInstanceId) {
+        return delegate.createJobStatus(jobInstanceId);
+    }
+
+    @Override
+    public StepStatus createStepStatus(final long stepExecId) {
+        return delegate.createStepStatus(stepExecId);
+    }
+
+    // reads see the pending updates of the execution they read, names, instances and running executions are never deferred
+
+    @Override
+    public int jobOperatorGetJobInstanceCount(final String jobName) {
+        return delegate.jobOperatorGetJobInstanceCount(jobName);
+    }
+
+    @Override
+    public Set<String> getJobNames() {
+        return delegate.getJobNames();
+    }
+
+    @Override
+    public List<Long> jobOperatorGetJobInstanceIds(final String jobName, final int start, final int count) {
+        return delegate.jobOperatorGetJobInstanceIds(jobName, start, count);
+    }
+
+    @Override
+    public List<JobInstance> jobOperatorGetJobInstances(final String jobName, final int start, final int count) {
+        return delegate.jobOperatorGetJobInstances(jobName, start, count);
+    }
+
+    @Override
+    public Timestamp jobOperatorQueryJobExecutionTimestamp(final long key, final TimestampType timetype) {
+        flushExecution(key);
+        return delegate.jobOperatorQueryJobExecutionTimestamp(key, timetype);
+    }
+
+    @Override
+    public String jobOperatorQueryJobExecutionBatchStatus(final long key) {
+        flushExecution(key);
+        return delegate.jobOperatorQueryJobExecutionBatchStatus(key);
+    }
+
+    @Override
+    public String jobOperatorQueryJobExecutionExitStatus(final long key) {
+        flushExecution(key);
+        return delegate.jobOperatorQueryJobExecutionExitStatus(key);
+    }
+
+    @Override
+    public List<StepExecution> getStepExecutionsForJobExecution(final long execid) {
+        flushExecution(execid);
+        return delegate.getStepExecutionsForJobExecution(execid);
+    }
+
+    @Override
+    public InternalJobExecution jobOperatorGetJobExecution(final long jobExecutionId) {
+        flushExecution(jobExecutionId);
+        return delegate.jobOperatorGetJobExecution(jobExecutionId);
+    }
+
+    @Override
+    public Properties getParameters(final long executionId) throws NoSuchJobExecutionException {
+        return delegate.getParameters(executionId);
+    }
+
+    @Override
+    public List<InternalJobExecution> jobOperatorGetJobExecutions(final long jobInstanceId) {
+        flushInstance(jobInstanceId);
+        return delegate.jobOperatorGetJobExecutions(jobInstanceId);
+    }
+
+    @Override
+    public Map<Long, List<InternalJobExecution>> jobOperatorGetJobExecutions(final Collection<Long> jobInstanceIds) {
+        for (final Long id : jobInstanceIds) {
+            flushInstance(id);
+        }
+        return delegate.jobOperatorGetJobExecutions(jobInstanceIds);
+    }
+
+    @Override
+    public Set<Long> jobOperatorGetRunningExecutions(final String jobName) {
+        return delegate.jobOperatorGetRunningExecutions(jobName); // pending statuses are never final so they don't change this result
+    }
+
+    @Override
+    public JobStatus getJobStatusFromExecution(final long executionId) {
+        flushExecution(executionId);
+        return delegate.getJobStatusFromExecution(executionId);
+    }
+
+    @Override
+    public long getJobInstanceIdByExecutionId(final long executionId) throws NoSuchJobExecutionException {
+        return delegate.getJobInstanceIdByExecutionId(executionId);
+    }
+
+    @Override
+    public JobStatus getJobStatus(final long instanceId) {
+        flushInstance(instanceId);
+        return delegate.getJobStatus(instanceId);
+    }
+
+    @Override
+    public String getJobXml(final long instanceId) {
+        return delegate.getJobXml(instanceId); // never updated, no need to flush
+    }
+
+    @Override
+    public StepStatus getStepStatus(final long instanceId, final String stepName) {
+        flushInstance(instanceId);
+        return delegate.getStepStatus(instanceId, stepName);
+    }
+
+    @Override
+    public long getMostRecentExecutionId(final long jobInstanceId) {
+        return delegate.getMostRecentExecutionId(jobInstanceId);
+    }
+
+    @Override
+    public StepExecution getStepExecutionByStepExecutionId(final long stepExecId) {
+        flushStepExecution(stepExecId);
+        return delegate.getStepExecutionByStepExecutionId(stepExecId);
+    }
+
+    @Override
+    public String toString() {
+        return "WriteBehindPersistenceManagerService{delegate=" + delegate + '}';
+    }
+
+    private static StepContextImpl snapshot(final StepContextImpl stepContext) {
+        final StepContextImpl snapshot = new StepContextImpl(stepContext.getStepName());
+        snapshot.setBatchStatus(stepContext.getBatchStatus());
+        snapshot.setExitStatus(stepContext.getExitStatus());
+        snapshot.setStartTime(stepContext.getStartTimeTS());
+        snapshot.setEndTime(stepContext.getEndTimeTS());
+        snapshot.setStepExecutionId(stepContext.getStepExecutionId());
+        snapshot.setInternalStepExecutionId(stepContext.getStepInternalExecID());
+        for (final Metric metric : stepContext.getMetrics()) {
+            snapshot.addMetric(metric.getType(), metric.getValue());
+        }
+        return snapshot;
+    }
+
+    private static StepStatus snapshot(final StepStatus stepStatus) {
+        final StepStatus snapshot = new StepStatus(stepStatus.getStepExecutionId(), stepStatus.getStartCount());
+        snapshot.setBatchStatus(stepStatus.getBatchStatus());
+        snapshot.setExitStatus(stepStatus.getExitStatus());
+        final byte[] userData = stepStatus.getRawPersistentUserData(); // already serialized by the step, never modified
+        snapshot.setPersistentUserData(userData == null ? null : new PersistentDataWrapper(userData));
+        snapshot.setNumPartitions(stepStatus.getNumPartitions());
+        snapshot.setLastRunStepExecutionId(stepStatus.getLastRunStepExecutionId());
+        return snapshot;
+    }
+
+    // only serialized there, overwritten updates are never deserialized
+    private static byte[] serialize(final StepContextImpl stepContext) {
+        final Serializable data = stepContext.getPersistentUserData();
+        if (data == null) {
+            return null;
+        }
+        try {
+            return Serializations.serialize(data);
+        } catch (final IOException e) {
+            throw new BatchContainerRuntimeException("Can't snapshot the persistent user data", e);
+        }
+    }
+
+    private abstract static class Selector {
+        private static final Selector ALL = new Selector() {
+            @Override
+            protected boolean execution(final long id) {
+                return true;
+            }
+        };
+
+        private static final Selector CURRENT_THREAD = new Selector() {
+            @Override
+            protected boolean execution(final long id) {
+                return false;
+            }
+
+            @Override
+            protected boolean step(final long id, final long jobExecId, final Thread writer) {
+                return writer == Thread.currentThread();
+            }
+        };
+
+        protected abstract boolean execution(long id);
+
+        protected boolean step(final long id, final long jobExecId, final Thread writer) {
+            return jobExecId == UNKNOWN || execution(jobExecId);
+        }
+    }
+
+    private static class PendingStepExecution {
+        private final long jobExecId;
+        private final StepContextImpl stepContext;
+        private final byte[] persistentUserData;
+        private final Thread writer = Thread.currentThread();
+        private final ClassLoader loader = writer.getContextClassLoader();
+
+        private PendingStepExecution(final long jobExecId, final StepContextImpl stepContext, final byte[] persistentUserData) {
+            this.jobExecId = jobExecId;
+            this.stepContext = stepContext;
+            this.persistentUserData = persistentUserData;
+        }
+
+        // called once when flushed, the user data classes are loaded with the loader of the step
+        private StepContextImpl stepContext() {
+            if (persistentUserData == null) {
+                return stepContext;
+            }
+
+            final Thread thread = Thread.currentThread();
+            final ClassLoader old = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                stepContext.setPersistentUserData(Serializations.deserialize(persistentUserData));
+            } catch (final Exception e) {
+                throw new BatchContainerRuntimeException("Can't read the persistent user data snapshot", e);
+            } finally {
+                thread.setContextClassLoader(old);
+            }
+            return stepContext;
+        }
+    }
+
+    private static class PendingStepStatus {
+        private final long jobExecId;
+        private final StepStatus stepStatus;
+        private final Thread writer = Thread.currentThread();
+
+        private PendingStepStatus(final long jobExecId, final StepStatus stepStatus) {
+            this.jobExecId = jobExecId;
+            this.stepStatus = stepStatus;
+        }
+    }
+
+    private static class PendingBatchStatus {
+        private final BatchStatus batchStatus;
+        private final Timestamp timestamp;
+
+        private PendingBatchStatus(final BatchStatus batchStatus, final Timestamp timestamp) {
+            this.batchStatus = batchStatus;
+            this.timestamp = timestamp;
+        }
+    }
+}
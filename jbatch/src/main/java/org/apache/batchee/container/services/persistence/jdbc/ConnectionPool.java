@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence.jdbc;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A minimal pool used when no DataSource is configured.
+ *
+ * Physical connections are created lazily, get their schema set once
+ * and are handed out wrapped in a proxy returning them to the pool on close().
+ */
+public class ConnectionPool implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final String schema;
+    private final long maxWait;
+    private final Semaphore permits;
+    private final BlockingQueue<Connection> idle;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(final String url, final String user, final String password, final String schema,
+                          final int maxSize, final long maxWait) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.schema = schema;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxSize, true);
+        this.idle = new LinkedBlockingQueue<Connection>(maxSize);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("No connection available after " + maxWait + "ms");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+
+        try {
+            Connection connection = idle.poll();
+            while (connection != null && connection.isClosed()) {
+                connection = idle.poll();
+            }
+            if (connection == null) {
+                connection = newConnection();
+            }
+            return Connection.class.cast(Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{ Connection.class }, new PooledConnectionHandler(connection)));
+        } catch (final SQLException e) {
+            permits.release();
+            throw e;
+        } catch (final RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection newConnection() throws SQLException {
+        final Connection connection = DriverManager.getConnection(url, user, password);
+        if (schema != null) {
+            final PreparedStatement ps = connection.prepareStatement("set schema ?");
+            try {
+                ps.setString(1, schema);
+                ps.executeUpdate();
+            } finally {
+                ps.close();
+            }
+        }
+        return connection;
+    }
+
+    private void release(final Connection connection) {
+        try {
+            if (!connection.isClosed()) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback(); // don't leak a pending transaction to the next user
+                }
+                if (closed || !idle.offer(connection)) {
+                    connection.close();
+                }
+            }
+        } catch (final SQLException e) {
+            LOGGER.log(Level.FINE, "Dropping pooled connection", e);
+            try {
+                connection.close();
+            } catch (final SQLException ignored) {
+                // no-op
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            try {
+                connection.close();
+            } catch (final SQLException e) {
+                LOGGER.log(Level.FINE, e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{url='" + url + "', idle=" + idle.size() + ", available=" + permits.availablePermits() + '}';
+    }
+
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final Connection delegate;
+        private boolean released = false;
+
+        private PooledConnectionHandler(final Connection delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("close".equals(name) && method.getParameterTypes().length == 0) {
+                if (!released) {
+                    released = true;
+                    release(delegate);
+                }
+                return null;
+            }
+            if ("isClosed".equals(name) && method.getParameterTypes().length == 0) {
+                return released || delegate.isClosed();
+            }
+            if (released && method.getDeclaringClass() != Object.class) {
+                throw new SQLException("Connection already returned to the pool");
+            }
+
+            try {
+                return method.invoke(delegate, args);
+            } catch (final InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+    }
+}
@@ -19,7 +19,13 @@ package org.apache.batchee.container.services.persistence.jdbc;
 import org.apache.batchee.container.impl.controller.PartitionedStepBuilder;
 import org.apache.batchee.container.services.persistence.jdbc.database.Database;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
 public class Dictionary {
+    private static final int MAX_INDEX_NAME_LENGTH = 30; // oracle < 12.2 identifier limit
+
     public interface SQL { // needs to be kept aligned with JPA mapping, we can't use reflection to find fields since order can change between executions with java 7
         String CREATE_TABLE = "create table ";
         String INSERT_INTO = "insert into ";
@@ -35,22 +41,25 @@ public class Dictionary {
         String SELECT_CHECKPOINT = SELECT + "%s" + FROM + "%s" + WHERE + "%s = ? and %s = ? and %s = ?";
         String UPDATE_CHECKPOINT = UPDATE + "%s set %s = ?" + WHERE + "%s = ? and %s = ? and %s = ?";
         String DELETE_CHECKPOINT = DELETE + "%s" + WHERE + "%s = ?";
-        String DELETE_CHECKPOINT_UNTIL = DELETE + "%s WHERE %s IN (" + SELECT + " DISTINCT t1.%s FROM %s t1 WHERE (SELECT MAX(t0.%s) FROM %s t0 WHERE t0.%s = t1.%s) < ?)";
 
         String[] JOB_INSTANCE_COLUMNS = { "jobInstanceId", "batchStatus", "exitStatus", "jobName", "jobXml", "latestExecution", "restartOn", "step" };
         String CREATE_JOB_INSTANCE = CREATE_TABLE + "%s(%s %s %s, %s %s, %s %s, %s %s, %s %s, %s %s, %s %s, %s %s, PRIMARY KEY (%s))";
         String JOB_INSTANCE_COUNT_FROM_NAME = SELECT + "count(%s) as jobinstancecount" + FROM + "%s" + WHERE + "%s = ?";
         String JOB_INSTANCE_BY_ID = SELECT + "*" + FROM + "%s" + WHERE + "%s = ?";
         String JOB_INSTANCE_UPDATE_STATUS = UPDATE + "%s set %s = ?, %s = ?, %s = ?, %s = ?, %s = ?, %s = ?" + WHERE + "%s = ?";
+        String JOB_INSTANCE_UPDATE_COLUMN = UPDATE + "%s set %s = ?" + WHERE + "%s = ?";
+        String JOB_INSTANCE_UPDATE_TWO_COLUMNS = UPDATE + "%s set %s = ?, %s = ?" + WHERE + "%s = ?";
+        String JOB_INSTANCE_UPDATE_NEW_EXECUTION = UPDATE + "%s set %s = ?, %s = ?, %s = null" + WHERE + "%s = ?";
+        String JOB_INSTANCE_STATUS_BY_ID = SELECT + "%s, %s, %s, %s, %s, %s" + FROM + "%s" + WHERE + "%s = ?";
+        String JOB_INSTANCE_JOB_XML = SELECT + "%s" + FROM + "%s" + WHERE + "%s = ?";
         String JOB_INSTANCE_IDS = SELECT + "%s" + FROM + "%s" + WHERE + "%s = ? order by %s desc";
         String JOB_INSTANCE_IDS_FROM_NAME = SELECT + "%s" + FROM + "%s" + WHERE + " %s = ? order by %s desc";
+        String JOB_INSTANCES_FROM_NAME = SELECT + "%s, %s" + FROM + "%s" + WHERE + " %s = ? order by %s desc";
         String JOB_NAMES = SELECT + "distinct %s" + FROM + "%s" + WHERE + "%s not like '%s'";
         String EXTERNAL_JOB_INSTANCE = SELECT + "distinct %s, %s" + FROM + "%s" + WHERE + "%s not like '%s'";
         String JOB_INSTANCE_CREATE = INSERT_INTO + "%s" + "(%s) VALUES(?)";
         String JOB_INSTANCE_CREATE_WITH_JOB_XML = INSERT_INTO + "%s" + "(%s, %s) VALUES(?, ?)";
         String DELETE_JOB_INSTANCE = DELETE + "%s" + WHERE + "%s = ?";
-        String DELETE_JOB_INSTANCE_UNTIL = DELETE + "%s" + WHERE + "%s IN (" + SELECT + "distinct t1.%s" + FROM + "%s t1" + WHERE + "(" + SELECT + "max(t0.%s)" + FROM + "%s t0" +
-            WHERE + "t0.%s = t1.%s) < ?)";
 
         String[] JOB_EXECUTION_COLUMNS = { "executionId", "batchStatus", "createTime", "endTime", "exitStatus", "jobProperties",
                 "startTime", "updateTime", "INSTANCE_JOBINSTANCEID" };
@@ -68,13 +77,16 @@ public class Dictionary {
 
         String JOB_EXECUTION_FROM_INSTANCE = SELECT + "A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, B.%s " +
                 FROM + "%s as A inner join %s as B ON A.%s = B.%s" + WHERE + "B.%s = ?";
+        String JOB_EXECUTION_FROM_INSTANCES = SELECT + "A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, B.%s " +
+                FROM + "%s as A inner join %s as B ON A.%s = B.%s" + WHERE + "B.%s IN (";
         String JOB_EXECUTION_RUNNING = SELECT + "A.%s" + FROM + "%s AS A inner join %s AS B ON A.%s = B.%s WHERE A.%s IN (?,?,?) AND B.%s = ?";
         String JOB_INSTANCE_STATUS = SELECT + "*" + FROM + "%s as A inner join %s as B on A.%s = B.%s " + WHERE + "B.%s = ?";
+        String JOB_INSTANCE_STATUS_FROM_EXECUTION = SELECT + "A.%s, A.%s, A.%s, A.%s, A.%s, A.%s, A.%s" +
+                FROM + "%s as A inner join %s as B on A.%s = B.%s " + WHERE + "B.%s = ?";
         String JOB_INSTANCE_FROM_EXECUTION = SELECT + "%s" + FROM + "%s" +  WHERE + "%s = ?";
         String JOB_EXECUTION_CREATE = INSERT_INTO + "%s(%s, %s, %s, %s, %s) VALUES(?, ?, ?, ?, ?)";
         String JOB_EXECUTION_MOST_RECENT = SELECT + "%s" + FROM + "%s" + WHERE + "%s = ? ORDER BY %s DESC";
         String DELETE_JOB_EXECUTION = DELETE + "%s" + WHERE + "%s = ?";
-        String DELETE_JOB_EXECUTION_UNTIL = DELETE + "%s" + WHERE + "%s IN (" + SELECT + "distinct t0.%s" + FROM + "%s t0" + WHERE + "t0.%s < ?)";
 
         String[] STEP_EXECUTION_COLUMNS = { "id", "batchStatus", "exec_commit", "endTime", "exitStatus", "exec_filter", "lastRunStepExecutionId", "numPartitions",
                 "persistentData", "exec_processskip", "exec_read", "exec_readskip", "exec_rollback", "startCount", "startTime", "stepName",
@@ -95,7 +107,44 @@ public class Dictionary {
 
         // "delete from BATCH_STEPEXECUTION B where B.EXECUTION_EXECUTIONID IN (select A.executionId from BATCH_JOBEXECUTION A where A.INSTANCE_JOBINSTANCEID = ?)"
         String DELETE_STEP_EXECUTION = DELETE + "%s B where B.%s IN (select A.%s from %s A where A.%s = ?)";
-        String DELETE_STEP_EXECUTION_UNTIL = DELETE + "%s" + WHERE + "%s in (" + SELECT + "distinct t0.%s" + FROM + "%s t0 inner join %s t1 ON t0.%s=t1.%s" + WHERE + "t1.%s < ?)";
+
+        // purge: an execution goes when it ended before the date, or when it is not running, never got an end time (abandoned) and was last updated
+        // before the date. Instances having such executions are selected first (one branch per index), their executions are then deleted by
+        // instance ids (IN list appended) and the instances left without execution go with their checkpoints.
+        String PURGED_EXECUTION = "(%s < ? or (%s IN (?, ?, ?, ?) and %s is null and %s < ?))";
+        String JOB_INSTANCE_IDS_TO_PURGE = SELECT + "%s" + FROM + "%s" + WHERE + "%s < ? union " +
+            SELECT + "%s" + FROM + "%s" + WHERE + "%s IN (?, ?, ?, ?) and %s is null and %s < ?";
+        String DELETE_STEP_EXECUTION_TO_PURGE = DELETE + "%s" + WHERE + "%s IN (" + SELECT + "%s" + FROM + "%s" + WHERE + PURGED_EXECUTION + " and %s IN (";
+        String DELETE_JOB_EXECUTION_TO_PURGE = DELETE + "%s" + WHERE + PURGED_EXECUTION + " and %s IN (";
+        String JOB_INSTANCE_IDS_WITH_EXECUTIONS = SELECT + "distinct %s" + FROM + "%s" + WHERE + "%s IN (";
+        String DELETE_FROM_INSTANCES = DELETE + "%s" + WHERE + "%s IN (";
+    }
+
+    /**
+     * A secondary index created with the tables (or later if missing).
+     */
+    public static class Index {
+        private final String table;
+        private final String name;
+        private final String create;
+
+        public Index(final String table, final String name, final String create) {
+            this.table = table;
+            this.name = name;
+            this.create = create;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCreate() {
+            return create;
+        }
     }
 
     private final String checkpointTable;
@@ -104,20 +153,26 @@ public class Dictionary {
     private final String selectCheckpoint;
     private final String updateCheckpoint;
     private final String deleteCheckpoint;
-    private final String deleteCheckpointUntil;
     private final String jobInstanceTable;
     private final String createJobInstanceTable;
     private final String countJobInstanceByName;
     private final String findJobInstance;
     private final String updateJobInstanceStatus;
+    private final String updateJobInstanceBatchStatus;
+    private final String updateJobInstanceExecutionStatus;
+    private final String updateJobInstanceStep;
+    private final String updateJobInstanceRestartOn;
+    private final String updateJobInstanceNewExecution;
+    private final String findJobInstanceStatus;
+    private final String findJobXml;
     private final String findJoBInstanceIds;
     private final String findJobInstanceIdsByName;
+    private final String findJobInstancesByName;
     private final String findJobNames;
     private final String findExternalJobInstances;
     private final String createJobInstance;
     private final String createJobInstanceWithJobXml;
     private final String deleteJobInstance;
-    private final String deleteJobInstanceUntil;
     private final String jobExecutionTable;
     private final String createJobExecutionTable;
     private final String findJobExecutionTimestamps;
@@ -129,13 +184,13 @@ public class Dictionary {
     private final String updateStartedJobExecution;
     private final String findJobExecutionById;
     private final String findJobExecutionByInstance;
+    private final String findJobExecutionByInstances;
     private final String findRunningJobExecutions;
     private final String findJobStatus;
     private final String findJobInstanceFromJobExecution;
     private final String createJobExecution;
     private final String findMostRecentJobExecution;
     private final String deleteJobExecution;
-    private final String deleteJobExecutionUntil;
     private final String stepExecutionTable;
     private final String createStepExecutionTable;
     private final String finStepExecutionFromJobExecution;
@@ -145,7 +200,13 @@ public class Dictionary {
     private final String updateStepExecution;
     private final String findStepExecutionByJobInstanceAndStepName;
     private final String deleteStepExecution;
-    private final String deleteStepExecutionUntil;
+    private final String findJobInstanceIdsToPurge;
+    private final String deleteStepExecutionToPurge;
+    private final String deleteJobExecutionToPurge;
+    private final String findJobInstanceIdsWithExecutions;
+    private final String deleteCheckpointFromInstances;
+    private final String deleteJobInstanceFromIds;
+    private final Collection<Index> indexes = new ArrayList<Index>();
 
     private final String[] checkpointColumns;
     private final String[] jobInstanceColumns;
@@ -177,9 +238,6 @@ public class Dictionary {
             this.selectCheckpoint = String.format(SQL.SELECT_CHECKPOINT, checkpointColumns[1], checkpointTable, checkpointColumns[4], checkpointColumns[3], checkpointColumns[2]);
             this.updateCheckpoint = String.format(SQL.UPDATE_CHECKPOINT, checkpointTable, checkpointColumns[1], checkpointColumns[4], checkpointColumns[3], checkpointColumns[2]);
             this.deleteCheckpoint = String.format(SQL.DELETE_CHECKPOINT, checkpointTable, checkpointColumns[4]);
-            // String DELETE_CHECKPOINT_UNTIL = DELETE + "%s WHERE %s IN (" + SELECT + " DISTINCT t1.%s FROM %s t1 WHERE (SELECT MAX(t0.%s) FROM %s t0 WHERE t0.%s = t1.%s) < ?)";
-            this.deleteCheckpointUntil = String.format(SQL.DELETE_CHECKPOINT_UNTIL, checkpointTable, checkpointColumns[0], checkpointColumns[0], checkpointTable,
-                jobExecutionColumns[3], jobExecutionTable, checkpointColumns[4], jobExecutionColumns[8]);
         }
 
         { // jobInstance
@@ -197,16 +255,26 @@ public class Dictionary {
             this.findJobInstance = String.format(SQL.JOB_INSTANCE_BY_ID, jobInstanceTable, jobInstanceColumns[0]);
             this.updateJobInstanceStatus = String.format(SQL.JOB_INSTANCE_UPDATE_STATUS, jobInstanceTable, jobInstanceColumns[1], jobInstanceColumns[2], jobInstanceColumns[5],
                     jobInstanceColumns[6], jobInstanceColumns[7], jobInstanceColumns[3], jobInstanceColumns[0]);
+            this.updateJobInstanceBatchStatus = String.format(SQL.JOB_INSTANCE_UPDATE_COLUMN, jobInstanceTable, jobInstanceColumns[1], jobInstanceColumns[0]);
+            this.updateJobInstanceExecutionStatus = String.format(SQL.JOB_INSTANCE_UPDATE_TWO_COLUMNS, jobInstanceTable, jobInstanceColumns[1], jobInstanceColumns[2],
+                    jobInstanceColumns[0]);
+            this.updateJobInstanceStep = String.format(SQL.JOB_INSTANCE_UPDATE_COLUMN, jobInstanceTable, jobInstanceColumns[7], jobInstanceColumns[0]);
+            this.updateJobInstanceRestartOn = String.format(SQL.JOB_INSTANCE_UPDATE_COLUMN, jobInstanceTable, jobInstanceColumns[6], jobInstanceColumns[0]);
+            this.updateJobInstanceNewExecution = String.format(SQL.JOB_INSTANCE_UPDATE_NEW_EXECUTION, jobInstanceTable, jobInstanceColumns[1], jobInstanceColumns[5],
+                    jobInstanceColumns[6], jobInstanceColumns[0]);
+            this.findJobInstanceStatus = String.format(SQL.JOB_INSTANCE_STATUS_BY_ID, jobInstanceColumns[1], jobInstanceColumns[2], jobInstanceColumns[3],
+                    jobInstanceColumns[5], jobInstanceColumns[6], jobInstanceColumns[7], jobInstanceTable, jobInstanceColumns[0]);
+            this.findJobXml = String.format(SQL.JOB_INSTANCE_JOB_XML, jobInstanceColumns[4], jobInstanceTable, jobInstanceColumns[0]);
             this.findJoBInstanceIds = String.format(SQL.JOB_INSTANCE_IDS, jobInstanceColumns[0], jobInstanceTable, jobInstanceColumns[3], jobInstanceColumns[0]);
             this.findJobInstanceIdsByName = String.format(SQL.JOB_INSTANCE_IDS_FROM_NAME, jobInstanceColumns[0], jobInstanceTable, jobInstanceColumns[3], jobInstanceColumns[0]);
+            this.findJobInstancesByName = String.format(SQL.JOB_INSTANCES_FROM_NAME, jobInstanceColumns[0], jobInstanceColumns[3], jobInstanceTable,
+                jobInstanceColumns[3], jobInstanceColumns[0]);
             this.findJobNames = String.format(SQL.JOB_NAMES, jobInstanceColumns[3], jobInstanceTable, jobInstanceColumns[3], PartitionedStepBuilder.JOB_ID_SEPARATOR + "%");
             this.findExternalJobInstances = String.format(SQL.EXTERNAL_JOB_INSTANCE, jobInstanceColumns[0], jobInstanceColumns[3], jobInstanceTable,
                     jobInstanceColumns[3], PartitionedStepBuilder.JOB_ID_SEPARATOR + "%");
             this.createJobInstance = String.format(SQL.JOB_INSTANCE_CREATE, jobInstanceTable, jobInstanceColumns[3]);
             this.createJobInstanceWithJobXml = String.format(SQL.JOB_INSTANCE_CREATE_WITH_JOB_XML, jobInstanceTable, jobInstanceColumns[3], jobInstanceColumns[4]);
             this.deleteJobInstance = String.format(SQL.DELETE_JOB_INSTANCE, jobInstanceTable, jobInstanceColumns[0]);
-            this.deleteJobInstanceUntil = String.format(SQL.DELETE_JOB_INSTANCE_UNTIL, jobInstanceTable, jobInstanceColumns[0], jobInstanceColumns[0], jobInstanceTable,
-                jobExecutionColumns[3], jobExecutionTable, jobExecutionColumns[8], jobInstanceColumns[0]);
         }
 
         { // jobExecution
@@ -238,16 +306,18 @@ public class Dictionary {
             this.findJobExecutionByInstance = String.format(SQL.JOB_EXECUTION_FROM_INSTANCE, jobExecutionColumns[0], jobExecutionColumns[2], jobExecutionColumns[6],
                 jobExecutionColumns[3], jobExecutionColumns[7], jobExecutionColumns[5], jobExecutionColumns[1], jobExecutionColumns[4], jobInstanceColumns[3],
                 jobExecutionTable, jobInstanceTable, jobExecutionColumns[8], jobInstanceColumns[0], jobInstanceColumns[0]);
-            this.findJobStatus = String.format(SQL.JOB_INSTANCE_STATUS, jobInstanceTable, jobExecutionTable, jobInstanceColumns[0], jobExecutionColumns[8],
-                    jobExecutionColumns[0]);
+            this.findJobExecutionByInstances = String.format(SQL.JOB_EXECUTION_FROM_INSTANCES, jobExecutionColumns[0], jobExecutionColumns[2], jobExecutionColumns[6],
+                jobExecutionColumns[3], jobExecutionColumns[7], jobExecutionColumns[5], jobExecutionColumns[1], jobExecutionColumns[4], jobExecutionColumns[8],
+                jobInstanceColumns[3], jobExecutionTable, jobInstanceTable, jobExecutionColumns[8], jobInstanceColumns[0], jobInstanceColumns[0]);
+            this.findJobStatus = String.format(SQL.JOB_INSTANCE_STATUS_FROM_EXECUTION, jobInstanceColumns[0], jobInstanceColumns[1], jobInstanceColumns[2],
+                    jobInstanceColumns[3], jobInstanceColumns[5], jobInstanceColumns[6], jobInstanceColumns[7],
+                    jobInstanceTable, jobExecutionTable, jobInstanceColumns[0], jobExecutionColumns[8], jobExecutionColumns[0]);
             this.findJobInstanceFromJobExecution = String.format(SQL.JOB_INSTANCE_FROM_EXECUTION, jobExecutionColumns[8], jobExecutionTable, jobExecutionColumns[0]);
             this.createJobExecution = String.format(SQL.JOB_EXECUTION_CREATE, jobExecutionTable, jobExecutionColumns[8], jobExecutionColumns[2], jobExecutionColumns[7],
                     jobExecutionColumns[1], jobExecutionColumns[5]);
             this.findMostRecentJobExecution = String.format(SQL.JOB_EXECUTION_MOST_RECENT, jobExecutionColumns[0], jobExecutionTable,
                     jobExecutionColumns[8], jobExecutionColumns[2]);
             this.deleteJobExecution = String.format(SQL.DELETE_JOB_EXECUTION, jobExecutionTable, jobExecutionColumns[8]);
-            this.deleteJobExecutionUntil = String.format(SQL.DELETE_JOB_EXECUTION_UNTIL, jobExecutionTable, jobExecutionColumns[0], jobExecutionColumns[0],
-                jobExecutionTable, jobExecutionColumns[3]);
         }
 
         { // step execution
@@ -292,11 +362,62 @@ public class Dictionary {
                 jobExecutionColumns[0], stepExecutionColumns[18], jobExecutionColumns[8], stepExecutionColumns[15]);
             this.deleteStepExecution = String.format(SQL.DELETE_STEP_EXECUTION, stepExecutionTable, stepExecutionColumns[18],
                     jobExecutionColumns[0], jobExecutionTable, jobExecutionColumns[8]);
-            this.deleteStepExecutionUntil = String.format(SQL.DELETE_STEP_EXECUTION_UNTIL, stepExecutionTable, stepExecutionColumns[0], stepExecutionColumns[0],
-                stepExecutionTable, jobExecutionTable, stepExecutionColumns[18], jobExecutionColumns[0], jobExecutionColumns[3]);
+        }
+
+        { // purge
+            this.findJobInstanceIdsToPurge = String.format(SQL.JOB_INSTANCE_IDS_TO_PURGE, jobExecutionColumns[8], jobExecutionTable, jobExecutionColumns[3],
+                jobExecutionColumns[8], jobExecutionTable, jobExecutionColumns[1], jobExecutionColumns[3], jobExecutionColumns[7]);
+            this.deleteStepExecutionToPurge = String.format(SQL.DELETE_STEP_EXECUTION_TO_PURGE, stepExecutionTable, stepExecutionColumns[18], jobExecutionColumns[0],
+                jobExecutionTable, jobExecutionColumns[3], jobExecutionColumns[1], jobExecutionColumns[3], jobExecutionColumns[7], jobExecutionColumns[8]);
+            this.deleteJobExecutionToPurge = String.format(SQL.DELETE_JOB_EXECUTION_TO_PURGE, jobExecutionTable, jobExecutionColumns[3], jobExecutionColumns[1],
+                jobExecutionColumns[3], jobExecutionColumns[7], jobExecutionColumns[8]);
+            this.findJobInstanceIdsWithExecutions = String.format(SQL.JOB_INSTANCE_IDS_WITH_EXECUTIONS, jobExecutionColumns[8], jobExecutionTable,
+                jobExecutionColumns[8]);
+            this.deleteCheckpointFromInstances = String.format(SQL.DELETE_FROM_INSTANCES, checkpointTable, checkpointColumns[4]);
+            this.deleteJobInstanceFromIds = String.format(SQL.DELETE_FROM_INSTANCES, jobInstanceTable, jobInstanceColumns[0]);
+        }
+
+        { // indexes for the lookups by name, status, parent id and the purge (by end time, by status for the abandoned executions)
+            index(database, jobInstanceTable, "NAME", jobInstanceColumns[3]);
+            index(database, jobExecutionTable, "INST", jobExecutionColumns[8], jobExecutionColumns[3]);
+            index(database, jobExecutionTable, "STATUS", jobExecutionColumns[1], jobExecutionColumns[8]);
+            index(database, jobExecutionTable, "END", jobExecutionColumns[3]);
+            index(database, stepExecutionTable, "EXEC", stepExecutionColumns[18]);
+            index(database, checkpointTable, "KEY", checkpointColumns[4], checkpointColumns[3], checkpointColumns[2]);
+        }
+    }
+
+    private void index(final Database database, final String table, final String suffix, final String... columns) {
+        final StringBuilder columnList = new StringBuilder();
+        for (final String column : columns) {
+            if (columnList.length() > 0) {
+                columnList.append(", ");
+            }
+            columnList.append(column);
+        }
+
+        String name = table + "_" + suffix + "_IDX";
+        if (name.length() > MAX_INDEX_NAME_LENGTH) { // custom table names, keep it unique with a hash of the full name
+            final String hash = Integer.toHexString(name.hashCode());
+            name = name.substring(0, MAX_INDEX_NAME_LENGTH - hash.length() - 1) + "_" + hash;
+        }
+        final String create = database.createIndex(name, table, columnList.toString());
+        if (create != null) {
+            indexes.add(new Index(table, name, create));
         }
     }
 
+    private static String inClause(final String prefix, final int size, final String suffix) {
+        final StringBuilder sql = new StringBuilder(prefix);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('?');
+        }
+        return sql.append(suffix).toString();
+    }
+
     private static String[] columns(final Database database, final String[] cols) {
         final String[] out = new String[cols.length];
         for (int i = 0; i < cols.length; i++) {
@@ -349,6 +470,34 @@ public class Dictionary {
         return updateJobInstanceStatus;
     }
 
+    public String getUpdateJobInstanceBatchStatus() {
+        return updateJobInstanceBatchStatus;
+    }
+
+    public String getUpdateJobInstanceExecutionStatus() {
+        return updateJobInstanceExecutionStatus;
+    }
+
+    public String getUpdateJobInstanceStep() {
+        return updateJobInstanceStep;
+    }
+
+    public String getUpdateJobInstanceRestartOn() {
+        return updateJobInstanceRestartOn;
+    }
+
+    public String getUpdateJobInstanceNewExecution() {
+        return updateJobInstanceNewExecution;
+    }
+
+    public String getFindJobInstanceStatus() {
+        return findJobInstanceStatus;
+    }
+
+    public String getFindJobXml() {
+        return findJobXml;
+    }
+
     public String getFindJoBInstanceIds() {
         return findJoBInstanceIds;
     }
@@ -357,6 +506,10 @@ public class Dictionary {
         return findJobInstanceIdsByName;
     }
 
+    public String getFindJobInstancesByName() {
+        return findJobInstancesByName;
+    }
+
     public String getFindExternalJobInstances() {
         return findExternalJobInstances;
     }
@@ -421,6 +574,14 @@ public class Dictionary {
         return findJobExecutionByInstance;
     }
 
+    /**
+     * @param instances number of job instance ids to bind.
+     * @return the query finding the executions of these job instances.
+     */
+    public String getFindJobExecutionByInstances(final int instances) {
+        return inClause(findJobExecutionByInstances, instances, ")");
+    }
+
     public String getFindRunningJobExecutions() {
         return findRunningJobExecutions;
     }
@@ -497,20 +658,46 @@ public class Dictionary {
         return stepExecutionColumns[idx];
     }
 
-    public String getDeleteCheckpointUntil() {
-        return deleteCheckpointUntil;
+    public String getFindJobInstanceIdsToPurge() {
+        return findJobInstanceIdsToPurge;
+    }
+
+    public String getDeleteStepExecutionToPurge(final int instances) {
+        return inClause(deleteStepExecutionToPurge, instances, "))");
+    }
+
+    public String getDeleteJobExecutionToPurge(final int instances) {
+        return inClause(deleteJobExecutionToPurge, instances, ")");
     }
 
-    public String getDeleteJobInstanceUntil() {
-        return deleteJobInstanceUntil;
+    public String getFindJobInstanceIdsWithExecutions(final int instances) {
+        return inClause(findJobInstanceIdsWithExecutions, instances, ")");
     }
 
-    public String getDeleteJobExecutionUntil() {
-        return deleteJobExecutionUntil;
+    public String getDeleteCheckpointFromInstances(final int instances) {
+        return inClause(deleteCheckpointFromInstances, instances, ")");
+    }
+
+    public String getDeleteJobInstanceFromIds(final int instances) {
+        return inClause(deleteJobInstanceFromIds, instances, ")");
+    }
+
+    /**
+     * @param table a table name.
+     * @return the secondary indexes of this table.
+     */
+    public Collection<Index> getIndexes(final String table) {
+        final Collection<Index> out = new ArrayList<Index>();
+        for (final Index index : indexes) {
+            if (index.getTable().equals(table)) {
+                out.add(index);
+            }
+        }
+        return out;
     }
 
-    public String getDeleteStepExecutionUntil() {
-        return deleteStepExecutionUntil;
+    public Collection<Index> getIndexes() {
+        return Collections.unmodifiableCollection(indexes);
     }
 }
 
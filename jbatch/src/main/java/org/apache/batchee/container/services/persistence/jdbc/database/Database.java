@@ -26,4 +26,9 @@ public interface Database {
 
     String autoIncrementId();
     String columnName(String name);
+
+    // statement creating a secondary index, null to not create it
+    default String createIndex(final String name, final String table, final String columns) {
+        return "create index " + name + " on " + table + "(" + columns + ")";
+    }
 }
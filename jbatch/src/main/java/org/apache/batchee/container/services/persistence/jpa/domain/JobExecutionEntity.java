@@ -22,6 +22,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedQueries;
@@ -37,20 +38,33 @@ import java.util.Properties;
     @NamedQuery(name = JobExecutionEntity.Queries.MOST_RECENT,
                 query =  "SELECT e FROM JobExecutionEntity e WHERE e.instance.jobInstanceId = :instanceId ORDER BY e.createTime DESC"),
     @NamedQuery(name = JobExecutionEntity.Queries.FIND_BY_INSTANCE, query =  "SELECT e FROM JobExecutionEntity e WHERE e.instance.jobInstanceId = :instanceId"),
+    @NamedQuery(name = JobExecutionEntity.Queries.FIND_BY_INSTANCES, query =  "SELECT e FROM JobExecutionEntity e WHERE e.instance.jobInstanceId IN :instanceIds"),
     @NamedQuery(name = JobExecutionEntity.Queries.DELETE_BY_INSTANCE_ID, query =  "delete from JobExecutionEntity e where e.instance.jobInstanceId = :instanceId"),
     @NamedQuery(name = JobExecutionEntity.Queries.DELETE_BY_DATE, query =  "delete from JobExecutionEntity e where e.endTime < :date"),
+    @NamedQuery(name = JobExecutionEntity.Queries.COUNT_BY_INSTANCE, query =  "SELECT count(e) FROM JobExecutionEntity e WHERE e.instance.jobInstanceId = :instanceId"),
+    @NamedQuery(
+        name = JobExecutionEntity.Queries.DELETE_PURGED_BY_INSTANCE_ID,
+        query =  "delete from JobExecutionEntity e where e.instance.jobInstanceId = :instanceId and " +
+            "(e.endTime < :date or (e.batchStatus in :statuses and e.endTime is null and e.updateTime < :date))"),
     @NamedQuery(name = JobExecutionEntity.Queries.FIND_RUNNING, query =  "SELECT e FROM JobExecutionEntity e WHERE e.batchStatus in :statuses and e.instance.name = :name")
 })
-@Table(name=JobExecutionEntity.TABLE_NAME)
+@Table(name=JobExecutionEntity.TABLE_NAME, indexes = {
+    @Index(name = "BATCH_JOBEXECUTION_STATUS_IDX", columnList = "batchStatus"),
+    @Index(name = "BATCH_JOBEXECUTION_END_IDX", columnList = "endTime")
+})
 public class JobExecutionEntity {
     public static interface Queries {
         String MOST_RECENT = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.mostRecent";
         String FIND_BY_INSTANCE = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.findByInstance";
+        String FIND_BY_INSTANCES = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.findByInstances";
         String FIND_RUNNING = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.findRunning";
         String DELETE_BY_INSTANCE_ID = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.deleteByInstanceId";
         String DELETE_BY_DATE = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.deleteByDate";
+        String COUNT_BY_INSTANCE = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.countByInstance";
+        String DELETE_PURGED_BY_INSTANCE_ID = "org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity.deletePurgedByInstanceId";
 
         List<BatchStatus> RUNNING_STATUSES = Arrays.asList(BatchStatus.STARTED, BatchStatus.STARTING, BatchStatus.STOPPING);
+        List<BatchStatus> NOT_RUNNING_STATUSES = Arrays.asList(BatchStatus.COMPLETED, BatchStatus.FAILED, BatchStatus.STOPPED, BatchStatus.ABANDONED);
     }
 
     public static final String TABLE_NAME = "BATCH_JOBEXECUTION";
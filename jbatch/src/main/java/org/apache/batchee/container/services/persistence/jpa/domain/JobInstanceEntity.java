@@ -25,6 +25,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
@@ -39,19 +40,51 @@ import java.util.List;
     @NamedQuery(name = JobInstanceEntity.Queries.FIND_EXTERNALS, query = "select j from JobInstanceEntity j where j.name not like :pattern"),
     @NamedQuery(name = JobInstanceEntity.Queries.FIND_JOBNAMES, query = "select distinct(j.name) from JobInstanceEntity j where j.name not like :pattern"),
     @NamedQuery(name = JobInstanceEntity.Queries.FIND_BY_NAME, query = "select j from JobInstanceEntity j where j.name = :name"),
+    @NamedQuery(name = JobInstanceEntity.Queries.FIND_IDS_BY_NAME, query = "select j.jobInstanceId from JobInstanceEntity j where j.name = :name"),
+    @NamedQuery(
+        name = JobInstanceEntity.Queries.FIND_STATUS,
+        query = "select j.jobInstanceId, j.name, j.batchStatus, j.exitStatus, j.latestExecution, j.restartOn, j.step from JobInstanceEntity j where j.jobInstanceId = :instanceId"),
+    @NamedQuery(
+        name = JobInstanceEntity.Queries.FIND_STATUS_FROM_EXECUTION,
+        query = "select j.jobInstanceId, j.name, j.batchStatus, j.exitStatus, j.latestExecution, j.restartOn, j.step " +
+            "from JobInstanceEntity j inner join j.executions e where e.executionId = :executionId"),
+    @NamedQuery(name = JobInstanceEntity.Queries.FIND_JOB_XML, query = "select j.jobXml from JobInstanceEntity j where j.jobInstanceId = :instanceId"),
+    @NamedQuery(name = JobInstanceEntity.Queries.UPDATE_BATCH_STATUS, query = "update JobInstanceEntity j set j.batchStatus = :batchStatus where j.jobInstanceId = :instanceId"),
+    @NamedQuery(
+        name = JobInstanceEntity.Queries.UPDATE_EXECUTION_STATUS,
+        query = "update JobInstanceEntity j set j.batchStatus = :batchStatus, j.exitStatus = :exitStatus where j.jobInstanceId = :instanceId"),
+    @NamedQuery(name = JobInstanceEntity.Queries.UPDATE_STEP, query = "update JobInstanceEntity j set j.step = :step where j.jobInstanceId = :instanceId"),
+    @NamedQuery(name = JobInstanceEntity.Queries.UPDATE_RESTART_ON, query = "update JobInstanceEntity j set j.restartOn = :restartOn where j.jobInstanceId = :instanceId"),
+    @NamedQuery(
+        name = JobInstanceEntity.Queries.UPDATE_NEW_EXECUTION,
+        query = "update JobInstanceEntity j set j.batchStatus = :batchStatus, j.latestExecution = :executionId, j.restartOn = null where j.jobInstanceId = :instanceId"),
+    @NamedQuery(
+        name = JobInstanceEntity.Queries.FIND_IDS_TO_PURGE,
+        query = "select distinct e.instance.jobInstanceId from JobExecutionEntity e " +
+            "where e.endTime < :date or (e.batchStatus in :statuses and e.endTime is null and e.updateTime < :date)"),
     @NamedQuery(name = JobInstanceEntity.Queries.DELETE_BY_INSTANCE_ID, query = "delete from JobInstanceEntity e where e.jobInstanceId = :instanceId"),
     @NamedQuery(
         name = JobInstanceEntity.Queries.DELETE_BY_DATE,
         query = "delete from JobInstanceEntity e where (select max(x.endTime) from JobExecutionEntity x where x.instance.jobInstanceId = e.jobInstanceId) < :date")
 })
-@Table(name=JobInstanceEntity.TABLE_NAME)
+@Table(name=JobInstanceEntity.TABLE_NAME, indexes = @Index(name = "BATCH_JOBINSTANCE_NAME_IDX", columnList = "name"))
 public class JobInstanceEntity {
     public interface Queries {
         String COUNT_BY_NAME = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.countByName";
         String FIND_BY_NAME = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findByName";
+        String FIND_IDS_BY_NAME = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findIdsByName";
         String FIND_EXTERNALS = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findExternals";
         String FIND_JOBNAMES = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findJobNames";
         String FIND_FROM_EXECUTION = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findByExecution";
+        String FIND_STATUS = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findStatus";
+        String FIND_STATUS_FROM_EXECUTION = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findStatusByExecution";
+        String FIND_JOB_XML = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findJobXml";
+        String UPDATE_BATCH_STATUS = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.updateBatchStatus";
+        String UPDATE_EXECUTION_STATUS = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.updateExecutionStatus";
+        String UPDATE_STEP = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.updateStep";
+        String UPDATE_RESTART_ON = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.updateRestartOn";
+        String UPDATE_NEW_EXECUTION = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.updateNewExecution";
+        String FIND_IDS_TO_PURGE = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.findIdsToPurge";
         String DELETE_BY_INSTANCE_ID = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.deleteFromInstanceId";
         String DELETE_BY_DATE = "org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity.deleteByDate";
     }
@@ -35,6 +35,10 @@ import java.sql.Timestamp;
     @NamedQuery(name = StepExecutionEntity.Queries.FIND_BY_EXECUTION, query = "select s from StepExecutionEntity s where s.execution.executionId = :executionId"),
     @NamedQuery(name = StepExecutionEntity.Queries.DELETE_BY_INSTANCE_ID, query = "delete from StepExecutionEntity e where e.execution.instance.jobInstanceId = :instanceId"),
     @NamedQuery(name = StepExecutionEntity.Queries.DELETE_BY_DATE, query = "delete from StepExecutionEntity e where e.execution.endTime < :date"),
+    @NamedQuery(
+        name = StepExecutionEntity.Queries.DELETE_PURGED_BY_INSTANCE_ID,
+        query = "delete from StepExecutionEntity e where e.execution.executionId in (select x.executionId from JobExecutionEntity x " +
+            "where x.instance.jobInstanceId = :instanceId and (x.endTime < :date or (x.batchStatus in :statuses and x.endTime is null and x.updateTime < :date)))"),
     @NamedQuery(name = StepExecutionEntity.Queries.FIND_BY_INSTANCE_AND_NAME,
                 query = "select se FROM StepExecutionEntity se where se.execution.instance.jobInstanceId = :instanceId and se.stepName = :step")
 })
@@ -45,6 +49,7 @@ public class StepExecutionEntity {
         String FIND_BY_INSTANCE_AND_NAME = "org.apache.batchee.container.services.persistence.jpa.domain.StepExecutionEntity.findByInstanceAndName";
         String DELETE_BY_INSTANCE_ID = "org.apache.batchee.container.services.persistence.jpa.domain.StepExecutionEntity.deleteByInstanceId";
         String DELETE_BY_DATE = "org.apache.batchee.container.services.persistence.jpa.domain.StepExecutionEntity.deleteByDate";
+        String DELETE_PURGED_BY_INSTANCE_ID = "org.apache.batchee.container.services.persistence.jpa.domain.StepExecutionEntity.deletePurgedByInstanceId";
     }
 
     public static final String TABLE_NAME = "BATCH_STEPEXECUTION";
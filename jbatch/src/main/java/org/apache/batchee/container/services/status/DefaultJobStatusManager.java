@@ -55,46 +55,23 @@ public class DefaultJobStatusManager implements JobStatusManagerService {
 
     @Override
     public void updateJobBatchStatus(final long jobInstanceId, final BatchStatus batchStatus) throws BatchContainerServiceException {
-        final JobStatus js = getJobStatus(jobInstanceId);
-        if (js == null) {
-            throw new IllegalStateException("Couldn't find entry to update for id = " + jobInstanceId);
-        }
-        js.setBatchStatus(batchStatus);
-        persistJobStatus(jobInstanceId, js);
+        persistenceManager.updateJobBatchStatus(jobInstanceId, batchStatus);
     }
 
     @Override
     public void updateJobExecutionStatus(final long jobInstanceId, final BatchStatus batchStatus, final String exitStatus) throws BatchContainerServiceException {
-        final JobStatus js = getJobStatus(jobInstanceId);
-        if (js == null) {
-            throw new IllegalStateException("Couldn't find entry to update for id = " + jobInstanceId);
-        }
-        js.setBatchStatus(batchStatus);
-        js.setExitStatus(exitStatus);
-        persistJobStatus(jobInstanceId, js);
+        persistenceManager.updateJobExecutionStatus(jobInstanceId, batchStatus, exitStatus);
     }
 
     @Override
     public void updateJobCurrentStep(final long jobInstanceId, final String currentStepName) throws BatchContainerServiceException {
-        final JobStatus js = getJobStatus(jobInstanceId);
-        if (js == null) {
-            throw new IllegalStateException("Couldn't find entry to update for id = " + jobInstanceId);
-        }
-        js.setCurrentStepId(currentStepName);
-        persistJobStatus(jobInstanceId, js);
+        persistenceManager.updateJobCurrentStep(jobInstanceId, currentStepName);
     }
 
 
     @Override
     public void updateJobStatusWithNewExecution(final long jobInstanceId, final long newExecutionId) throws BatchContainerServiceException {
-        final JobStatus js = getJobStatus(jobInstanceId);
-        if (js == null) {
-            throw new IllegalStateException("Couldn't find entry to update for id = " + jobInstanceId);
-        }
-        js.setRestartOn(null);
-        js.setLatestExecutionId(newExecutionId);
-        js.setBatchStatus(BatchStatus.STARTING);
-        persistJobStatus(jobInstanceId, js);
+        persistenceManager.updateJobStatusWithNewExecution(jobInstanceId, newExecutionId);
     }
 
     private void persistJobStatus(long jobInstanceId, JobStatus newJobStatus) throws BatchContainerServiceException {
@@ -124,17 +101,9 @@ public class DefaultJobStatusManager implements JobStatusManagerService {
         // no-op
     }
 
-    /*
-     * Inefficient, since we've already updated the status to stopped.. would be better to have a single update.
-     */
     @Override
     public void updateJobStatusFromJSLStop(final long jobInstanceId, final String restartOn) throws BatchContainerServiceException {
-        final JobStatus js = getJobStatus(jobInstanceId);
-        if (js == null) {
-            throw new IllegalStateException("Couldn't find entry to update for id = " + jobInstanceId);
-        }
-        js.setRestartOn(restartOn);
-        persistJobStatus(jobInstanceId, js);
+        persistenceManager.updateJobRestartOn(jobInstanceId, restartOn);
     }
 
     @Override
@@ -21,26 +21,43 @@ import org.apache.batchee.container.impl.controller.PartitionThreadRootControlle
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.services.ServicesManager;
 
+import jakarta.batch.runtime.Metric;
 import java.util.concurrent.BlockingQueue;
 
 public class BatchPartitionWorkUnit extends BatchParallelWorkUnit {
     protected final BlockingQueue<BatchPartitionWorkUnit> completedThreadQueue;
+    protected final PartitionsBuilderConfig config;
 
     public BatchPartitionWorkUnit(final RuntimeJobExecution jobExecution,
                                   final PartitionsBuilderConfig config,
                                   final ServicesManager manager) {
         super(jobExecution, true, manager);
         this.completedThreadQueue = config.getCompletedQueue();
+        this.config = config;
         this.controller = new PartitionThreadRootController(jobExecution, config, manager);
     }
 
     @Override
     protected void markThreadCompleted() {
-        if (this.completedThreadQueue != null) {
-            completedThreadQueue.add(this);
+        try {
+            final PartitionsBuilderConfig.CompletionCallback callback = config.getCompletionCallback();
+            if (callback != null) {
+                callback.onCompletion(this);
+            }
+        } finally {
+            if (this.completedThreadQueue != null) {
+                completedThreadQueue.add(this);
+            }
         }
     }
 
+    /**
+     * @return the final metrics of the partition once it is in the completed queue, null if its step didn't end normally.
+     */
+    public Metric[] getPartitionMetrics() {
+        return jobExecutionImpl.getPartitionMetrics();
+    }
+
     public void inheritStepContext(final StepContextImpl sc) {
         this.controller.setParentStepContext(sc);
     }
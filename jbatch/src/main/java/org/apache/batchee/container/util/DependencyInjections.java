@@ -26,34 +26,60 @@ import jakarta.batch.api.BatchProperty;
 import jakarta.batch.runtime.context.JobContext;
 import jakarta.batch.runtime.context.StepContext;
 import jakarta.inject.Inject;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 public class DependencyInjections {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    // computed once per artifact class, ClassValue doesn't prevent the class to be unloaded
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<InjectionPlan>() {
+        @Override
+        protected InjectionPlan computeValue(final Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
 
     private DependencyInjections() {
         // private utility class ct
     }
 
     public static void injectReferences(final Object artifact, final InjectionReferences injectionRefs) {
-        final Map<String, Field> propertyMap = findPropertyFields(artifact);
+        final InjectionPlan plan = PLANS.get(artifact.getClass());
+        if (plan.propertyError != null) {
+            throw new IllegalBatchPropertyException(plan.propertyError.getMessage());
+        }
         if (injectionRefs.getProps() != null) {
-            injectProperties(artifact, injectionRefs.getProps(), propertyMap);
+            injectProperties(artifact, injectionRefs.getProps(), plan.properties);
         }
-        injectBatchContextFields(artifact, injectionRefs.getJobContext(), injectionRefs.getStepContext());
+        injectBatchContextFields(artifact, plan, injectionRefs.getJobContext(), injectionRefs.getStepContext());
     }
 
+    /**
+     * Computes upfront the fields to inject for this artifact type.
+     *
+     * @param type the artifact class.
+     */
+    public static void prepare(final Class<?> type) {
+        PLANS.get(type);
+    }
 
     /**
      * @param props The properties directly associated with this batch artifact.
      */
-    private static void injectProperties(final Object artifact, final List<Property> props, final Map<String, Field> propertyFieldMap) {
+    private static void injectProperties(final Object artifact, final List<Property> props, final Map<String, FieldInjection> propertyFieldMap) {
 
         //check if jsl properties are null or if 
         //the propertyMap is null. this means there are no annotated fields with @BatchProperty
@@ -63,23 +89,21 @@ public class DependencyInjections {
         }
 
         // go through each field marked with @BatchProperty
-        for (final Entry<String, Field> batchProperty : propertyFieldMap.entrySet()) {
+        for (final Map.Entry<String, FieldInjection> batchProperty : propertyFieldMap.entrySet()) {
             String propValue = getPropertyValue(props, batchProperty.getKey());
 
             // if a property is supplied in the job xml inject the given value
             // into
             // the field otherwise the default value will remain
-            try {
-                if (!(propValue == null)) {
-                    final Field field = batchProperty.getValue();
-                    final Type genericType = field.getGenericType();
-                    final Class<?> type = field.getType();
-                    field.set(artifact, convertTo(propValue, genericType, type));
+            if (!(propValue == null)) {
+                final FieldInjection field = batchProperty.getValue();
+                final Object value;
+                try {
+                    value = convertTo(propValue, field.genericType, field.type);
+                } catch (final IllegalArgumentException e) {
+                    throw new IllegalBatchPropertyException("The given property value is not an instance of the declared field.", e);
                 }
-            } catch (IllegalArgumentException e) {
-                throw new IllegalBatchPropertyException("The given property value is not an instance of the declared field.", e);
-            } catch (IllegalAccessException e) {
-                throw new BatchContainerRuntimeException(e);
+                field.set(artifact, value);
             }
 
         }
@@ -123,53 +147,37 @@ public class DependencyInjections {
         return null;
     }
 
-    /**
-     * @param artifact An instance of the batch artifact
-     * @return an ArrayList<Field> of fields annotated with @JobContext
-     */
-    private static void injectBatchContextFields(final Object artifact, final JobContext jobCtx, final StepContext stepCtx) {
-        // Go through declared field annotations
-        for (final Field field : artifact.getClass().getDeclaredFields()) {
-            setAccessible(field);
-
-            final Inject injectAnnotation = field.getAnnotation(Inject.class);
-            if (injectAnnotation != null) {
-                try {
-                    // check the field for the context type
-                    if (JobContext.class.isAssignableFrom(field.getType()) && field.get(artifact) == null) {
-                        field.set(artifact, jobCtx);
-                    } else if (StepContext.class.isAssignableFrom(field.getType()) && field.get(artifact) == null) {
-                        field.set(artifact, stepCtx);
-                    }
-                } catch (final IllegalArgumentException e) {
-                    throw new BatchContainerRuntimeException(e);
-                } catch (final IllegalAccessException e) {
-                    throw new BatchContainerRuntimeException(e);
-                }
+    private static void injectBatchContextFields(final Object artifact, final InjectionPlan plan, final JobContext jobCtx, final StepContext stepCtx) {
+        for (final FieldInjection field : plan.jobContexts) {
+            if (field.get(artifact) == null) {
+                field.set(artifact, jobCtx);
+            }
+        }
+        for (final FieldInjection field : plan.stepContexts) {
+            if (field.get(artifact) == null) {
+                field.set(artifact, stepCtx);
             }
         }
     }
 
     /**
-     * @param delegate An instance of the batch artifact
+     * @param type the batch artifact class
      * @return A map of Fields annotated with @BatchProperty.
      */
-    private static Map<String, Field> findPropertyFields(final Object delegate) {
-        Map<String, Field> propertyMap = null;
+    private static Map<String, FieldInjection> findPropertyFields(final Class<?> type) {
+        Map<String, FieldInjection> propertyMap = null;
 
-        Class<?> current = delegate.getClass();
+        Class<?> current = type;
         while (current.getName().contains("$$")) { // remove common proxies
             current = current.getSuperclass();
         }
 
         while (current != null && current != Object.class) {
             for (final Field field : current.getDeclaredFields()) {
-                setAccessible(field);
-
                 final BatchProperty batchPropertyAnnotation = field.getAnnotation(BatchProperty.class);
                 if (batchPropertyAnnotation != null) {
                     if (propertyMap == null) {
-                        propertyMap = new HashMap<String, Field>();
+                        propertyMap = new HashMap<String, FieldInjection>();
                     }
                     // If a name is not supplied the batch property name defaults to
                     // the field name
@@ -185,7 +193,7 @@ public class DependencyInjections {
                         throw new IllegalBatchPropertyException("There is already a batch property with this name: " + batchPropName);
                     }
 
-                    propertyMap.put(batchPropName, field);
+                    propertyMap.put(batchPropName, new FieldInjection(field));
                 }
 
             }
@@ -194,6 +202,88 @@ public class DependencyInjections {
         return propertyMap;
     }
 
+    /**
+     * What to inject in an artifact class: @BatchProperty fields of the hierarchy and @Inject contexts of the class itself.
+     */
+    private static class InjectionPlan {
+        private final Map<String, FieldInjection> properties;
+        private final IllegalBatchPropertyException propertyError; // reported for each instance as before the plan was cached
+        private final Collection<FieldInjection> jobContexts = new ArrayList<FieldInjection>();
+        private final Collection<FieldInjection> stepContexts = new ArrayList<FieldInjection>();
+
+        private InjectionPlan(final Class<?> type) {
+            Map<String, FieldInjection> props = null;
+            IllegalBatchPropertyException error = null;
+            try {
+                props = findPropertyFields(type);
+            } catch (final IllegalBatchPropertyException e) {
+                error = e;
+            }
+            this.properties = props;
+            this.propertyError = error;
+
+            for (final Field field : type.getDeclaredFields()) {
+                if (field.getAnnotation(Inject.class) == null) {
+                    continue;
+                }
+                // check the field for the context type
+                if (JobContext.class.isAssignableFrom(field.getType())) {
+                    jobContexts.add(new FieldInjection(field));
+                } else if (StepContext.class.isAssignableFrom(field.getType())) {
+                    stepContexts.add(new FieldInjection(field));
+                }
+            }
+        }
+    }
+
+    private static class FieldInjection {
+        private final Class<?> type;
+        private final Type genericType;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldInjection(final Field field) {
+            setAccessible(field);
+            this.type = field.getType();
+            this.genericType = field.getGenericType();
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle fieldGetter = lookup.unreflectGetter(field);
+                MethodHandle fieldSetter = lookup.unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) { // ignore the instance as Field.get/set
+                    fieldGetter = MethodHandles.dropArguments(fieldGetter, 0, Object.class);
+                    fieldSetter = MethodHandles.dropArguments(fieldSetter, 0, Object.class);
+                }
+                this.getter = fieldGetter.asType(GETTER_TYPE);
+                this.setter = fieldSetter.asType(SETTER_TYPE);
+            } catch (final IllegalAccessException e) {
+                throw new BatchContainerRuntimeException(e);
+            }
+        }
+
+        private Object get(final Object instance) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new BatchContainerRuntimeException(e);
+            }
+        }
+
+        private void set(final Object instance, final Object value) {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (final ClassCastException | NullPointerException e) { // value not matching the field type or null for a primitive
+                throw new IllegalBatchPropertyException("The given property value is not an instance of the declared field.", e);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new BatchContainerRuntimeException(e);
+            }
+        }
+    }
+
     private static void setAccessible(final Field field) {
         if (System.getSecurityManager() == null) {
             field.setAccessible(true);
@@ -29,6 +29,8 @@ public class PartitionDataWrapper {
 
     private PartitionEventType eventType;
 
+    private long enqueueTime;
+
     public enum PartitionEventType {ANALYZE_COLLECTOR_DATA, ANALYZE_STATUS}
 
     public BatchStatus getBatchstatus() {
@@ -63,4 +65,15 @@ public class PartitionDataWrapper {
         this.eventType = eventType;
     }
 
+    /**
+     * @return the {@link System#nanoTime()} when the partition queued this data, used to measure the analyzer lag.
+     */
+    public long getEnqueueTime() {
+        return enqueueTime;
+    }
+
+    public void setEnqueueTime(long enqueueTime) {
+        this.enqueueTime = enqueueTime;
+    }
+
 }
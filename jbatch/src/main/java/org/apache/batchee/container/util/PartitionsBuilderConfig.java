@@ -29,6 +29,7 @@ public class PartitionsBuilderConfig {
     private BlockingQueue<PartitionDataWrapper> analyzerQueue;
     private BlockingQueue<BatchPartitionWorkUnit> completedQueue;
     private long rootJobExecutionId;
+    private volatile CompletionCallback completionCallback;
 
     public PartitionsBuilderConfig(List<JSLJob> jobModels,
                                    Properties[] partitionProperties,
@@ -42,6 +43,16 @@ public class PartitionsBuilderConfig {
         this.rootJobExecutionId = rootJobExecutionId;
     }
 
+    /**
+     * Configuration for partitions materialized one by one, job models are then passed to the kernel per partition.
+     */
+    public PartitionsBuilderConfig(Properties[] partitionProperties,
+                                   BlockingQueue<PartitionDataWrapper> analyzerQueue,
+                                   BlockingQueue<BatchPartitionWorkUnit> completedQueue,
+                                   long rootJobExecutionId) {
+        this(null, partitionProperties, analyzerQueue, completedQueue, rootJobExecutionId);
+    }
+
     public long getRootJobExecutionId() {
         return rootJobExecutionId;
     }
@@ -61,4 +72,19 @@ public class PartitionsBuilderConfig {
     public BlockingQueue<BatchPartitionWorkUnit> getCompletedQueue() {
         return completedQueue;
     }
+
+    public CompletionCallback getCompletionCallback() {
+        return completionCallback;
+    }
+
+    public void setCompletionCallback(CompletionCallback completionCallback) {
+        this.completionCallback = completionCallback;
+    }
+
+    /**
+     * Called on the partition thread when it is done, before the work unit is put in the completed queue.
+     */
+    public interface CompletionCallback {
+        void onCompletion(BatchPartitionWorkUnit workUnit);
+    }
 }
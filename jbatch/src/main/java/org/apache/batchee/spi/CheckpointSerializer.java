@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.spi;
+
+/**
+ * A codec the default {@link DataRepresentationService} can delegate to for the types it claims.
+ *
+ * Serializers are discovered with {@link java.util.ServiceLoader} and through the
+ * {@code data.representation.serializers} batchee.properties entry (comma separated qualified names).
+ * The stored value is tagged with {@link #name()} so it must stay stable once data got persisted.
+ */
+public interface CheckpointSerializer {
+    /**
+     * @return the identifier written with the data to find back this serializer when reading it.
+     */
+    String name();
+
+    /**
+     * @param value the value to store, never {@code null}
+     * @return {@code true} if this serializer handles this value
+     */
+    boolean accept(Object value);
+
+    /**
+     * @param value an accepted value
+     * @param representation the calling service, can be used to store nested values
+     * @return the serialized value
+     */
+    byte[] serialize(Object value, DataRepresentationService representation);
+
+    /**
+     * @param data what {@link #serialize(Object, DataRepresentationService)} returned
+     * @param representation the calling service, can be used to read nested values
+     * @return the value
+     */
+    Object deserialize(byte[] data, DataRepresentationService representation);
+}
@@ -31,8 +31,12 @@ import jakarta.batch.runtime.BatchStatus;
 import jakarta.batch.runtime.JobInstance;
 import jakarta.batch.runtime.StepExecution;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -70,6 +74,40 @@ public interface PersistenceManagerService extends BatchService {
 
     List<InternalJobExecution> jobOperatorGetJobExecutions(long jobInstanceId);
 
+    /**
+     * Same as {@link #jobOperatorGetJobInstanceIds(String, int, int)} but loads the instances, without their job xml.
+     *
+     * @param jobName the job name
+     * @param start   index of the first instance
+     * @param count   max number of instances
+     * @return the job instances
+     */
+    default List<JobInstance> jobOperatorGetJobInstances(final String jobName, final int start, final int count) {
+        final List<Long> ids = jobOperatorGetJobInstanceIds(jobName, start, count);
+        final List<JobInstance> instances = new ArrayList<JobInstance>(ids.size());
+        for (final long id : ids) {
+            instances.add(getJobStatus(id).getJobInstance());
+        }
+        return instances;
+    }
+
+    /**
+     * Loads the executions of several job instances at once, typically a page of {@link #jobOperatorGetJobInstances(String, int, int)}.
+     *
+     * @param jobInstanceIds the job instance ids
+     * @return the executions by job instance id, instances without any execution are not in the map
+     */
+    default Map<Long, List<InternalJobExecution>> jobOperatorGetJobExecutions(final Collection<Long> jobInstanceIds) {
+        final Map<Long, List<InternalJobExecution>> executions = new HashMap<Long, List<InternalJobExecution>>();
+        for (final Long id : jobInstanceIds) {
+            final List<InternalJobExecution> found = jobOperatorGetJobExecutions(id);
+            if (found != null && !found.isEmpty()) {
+                executions.put(id, found);
+            }
+        }
+        return executions;
+    }
+
     Set<Long> jobOperatorGetRunningExecutions(String jobName);
 
     JobStatus getJobStatusFromExecution(long executionId);
@@ -130,7 +168,7 @@ public interface PersistenceManagerService extends BatchService {
     JobStatus createJobStatus(long jobInstanceId);
 
     /**
-     * Get a JobStatus
+     * Get a JobStatus, its job instance doesn't contain the job xml (see {@link #getJobXml(long)}).
      *
      * @param instanceId the parent job instance id
      * @return the JobStatus
@@ -145,6 +183,97 @@ public interface PersistenceManagerService extends BatchService {
      */
     void updateJobStatus(long instanceId, JobStatus jobStatus);
 
+    /**
+     * Update the batch status of a JobStatus. Implementations should override it
+     * to avoid reading the whole JobStatus before writing it.
+     *
+     * @param instanceId  the parent job instance id
+     * @param batchStatus the new batch status
+     */
+    default void updateJobBatchStatus(final long instanceId, final BatchStatus batchStatus) {
+        final JobStatus status = findJobStatusToUpdate(instanceId);
+        status.setBatchStatus(batchStatus);
+        updateJobStatus(instanceId, status);
+    }
+
+    /**
+     * Update the batch and exit statuses of a JobStatus. Implementations should override it
+     * to avoid reading the whole JobStatus before writing it.
+     *
+     * @param instanceId  the parent job instance id
+     * @param batchStatus the new batch status
+     * @param exitStatus  the new exit status
+     */
+    default void updateJobExecutionStatus(final long instanceId, final BatchStatus batchStatus, final String exitStatus) {
+        final JobStatus status = findJobStatusToUpdate(instanceId);
+        status.setBatchStatus(batchStatus);
+        status.setExitStatus(exitStatus);
+        updateJobStatus(instanceId, status);
+    }
+
+    /**
+     * Update the current step of a JobStatus. Implementations should override it
+     * to avoid reading the whole JobStatus before writing it.
+     *
+     * @param instanceId    the parent job instance id
+     * @param currentStepId the step being executed
+     */
+    default void updateJobCurrentStep(final long instanceId, final String currentStepId) {
+        final JobStatus status = findJobStatusToUpdate(instanceId);
+        status.setCurrentStepId(currentStepId);
+        updateJobStatus(instanceId, status);
+    }
+
+    /**
+     * Update the restart position of a JobStatus. Implementations should override it
+     * to avoid reading the whole JobStatus before writing it.
+     *
+     * @param instanceId the parent job instance id
+     * @param restartOn  where to restart the job
+     */
+    default void updateJobRestartOn(final long instanceId, final String restartOn) {
+        final JobStatus status = findJobStatusToUpdate(instanceId);
+        status.setRestartOn(restartOn);
+        updateJobStatus(instanceId, status);
+    }
+
+    /**
+     * Mark a JobStatus as STARTING for a new execution and reset its restart position.
+     * Implementations should override it to avoid reading the whole JobStatus before writing it.
+     *
+     * @param instanceId     the parent job instance id
+     * @param newExecutionId the new latest execution id
+     */
+    default void updateJobStatusWithNewExecution(final long instanceId, final long newExecutionId) {
+        final JobStatus status = findJobStatusToUpdate(instanceId);
+        status.setRestartOn(null);
+        status.setLatestExecutionId(newExecutionId);
+        status.setBatchStatus(BatchStatus.STARTING);
+        updateJobStatus(instanceId, status);
+    }
+
+    /**
+     * Defaults to the job xml of the instance returned by {@link #getJobStatus(long)}.
+     *
+     * @param instanceId the job instance id
+     * @return the job xml used to create this instance (needed to restart it) or null if not stored
+     */
+    default String getJobXml(final long instanceId) {
+        final JobStatus status = getJobStatus(instanceId);
+        if (status == null || status.getJobInstance() == null) {
+            return null;
+        }
+        return status.getJobInstance().getJobXML();
+    }
+
+    private JobStatus findJobStatusToUpdate(final long instanceId) {
+        final JobStatus status = getJobStatus(instanceId);
+        if (status == null) {
+            throw new IllegalStateException("Couldn't find entry to update for id = " + instanceId);
+        }
+        return status;
+    }
+
     // STEP_STATUS
 
     /**
@@ -177,6 +306,18 @@ public interface PersistenceManagerService extends BatchService {
 
     void setCheckpointData(CheckpointDataKey key, CheckpointData value);
 
+    /**
+     * Stores several checkpoints at once, typically the reader and writer ones of a chunk,
+     * so the implementation can do it in a single round trip.
+     *
+     * @param checkpoints the checkpoints to create or update
+     */
+    default void setCheckpointData(final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        for (final Map.Entry<CheckpointDataKey, CheckpointData> entry : checkpoints.entrySet()) {
+            setCheckpointData(entry.getKey(), entry.getValue());
+        }
+    }
+
     CheckpointData getCheckpointData(CheckpointDataKey key);
 
     long getMostRecentExecutionId(long jobInstanceId);
@@ -189,4 +330,22 @@ public interface PersistenceManagerService extends BatchService {
 
     void cleanUp(final long instanceId);
     void cleanUp(final Date until);
+
+    /**
+     * Purges the executions ended before a date of a bounded batch of job instances, in its own transaction.
+     * Executions abandoned without an end time count when their last update is before the date.
+     * A job instance and its checkpoints only go with its last execution.
+     * Call it until it returns 0 to purge the whole history without locking the tables for long.
+     *
+     * Defaults to a single {@link #cleanUp(Date)} of the whole history and returns 0 since the
+     * number of deleted instances is unknown, implementations should override it to really bound it.
+     *
+     * @param until        end date limit (excluded)
+     * @param maxInstances max number of job instances to purge
+     * @return the number of purged job instances, 0 when nothing is left to purge
+     */
+    default int cleanUp(final Date until, final int maxInstances) {
+        cleanUp(until);
+        return 0;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.benchmark;
+
+import org.apache.batchee.container.impl.StepContextImpl;
+import org.apache.batchee.container.proxy.InjectionReferences;
+import org.apache.batchee.container.proxy.ProxyFactory;
+import org.apache.batchee.container.services.factory.DefaultBatchArtifactFactory;
+import org.apache.batchee.jaxb.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an artifact lookup by batchee.xml id with its property injection, what each partition pays per artifact,
+ * with (cache=true) and without the per loader batch.xml index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactFactoryBenchmark {
+    @Param({ "false", "true" })
+    private boolean cache;
+
+    private DefaultBatchArtifactFactory factory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Properties config = new Properties();
+        config.setProperty("batch-artifacts.cache", Boolean.toString(cache));
+        factory = new DefaultBatchArtifactFactory();
+        factory.init(config);
+
+        final List<Property> props = new ArrayList<Property>();
+        for (final String name : new String[]{ "retentionDays", "batchSize", "pause" }) {
+            final Property property = new Property();
+            property.setName(name);
+            property.setValue("10");
+            props.add(property);
+        }
+        ProxyFactory.setInjectionReferences(new InjectionReferences(null, new StepContextImpl("benchmark"), props));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ProxyFactory.setInjectionReferences(null);
+    }
+
+    @Benchmark
+    public Object load() {
+        return factory.load("purgeBatchlet").getValue();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ArtifactFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.benchmark;
+
+import org.apache.batchee.container.services.data.DefaultDataRepresentationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Timestamp;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the string (binary=false) and binary (binary=true) checkpoint encodings
+ * of DefaultDataRepresentationService. Run it with -prof gc to see allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataRepresentationServiceBenchmark {
+    @Param({ "false", "true" })
+    private boolean binary;
+
+    @Param({ "integer", "long", "string", "timestamp" })
+    private String type;
+
+    private DefaultDataRepresentationService service;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Properties config = new Properties();
+        config.setProperty("data.representation.binary", Boolean.toString(binary));
+        service = new DefaultDataRepresentationService();
+        service.init(config);
+
+        if ("integer".equals(type)) {
+            value = 123456;
+        } else if ("long".equals(type)) {
+            value = 9876543210L;
+        } else if ("string".equals(type)) {
+            value = "line-123456";
+        } else {
+            value = new Timestamp(System.currentTimeMillis());
+        }
+        encoded = service.toInternalRepresentation(value);
+    }
+
+    @Benchmark
+    public byte[] toInternalRepresentation() {
+        return service.toInternalRepresentation(value);
+    }
+
+    @Benchmark
+    public Object toJavaRepresentation() {
+        return service.toJavaRepresentation(encoded);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DataRepresentationServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.benchmark;
+
+import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointType;
+import org.apache.batchee.container.services.persistence.JDBCPersistenceManagerService;
+import org.apache.batchee.container.services.persistence.jdbc.Dictionary;
+import org.apache.batchee.container.services.persistence.jdbc.database.DerbyDatabase;
+import org.apache.batchee.container.services.persistence.jpa.domain.CheckpointEntity;
+import org.apache.batchee.container.services.persistence.jpa.domain.JobExecutionEntity;
+import org.apache.batchee.container.services.persistence.jpa.domain.JobInstanceEntity;
+import org.apache.batchee.container.services.persistence.jpa.domain.StepExecutionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.batch.runtime.StepExecution;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of the job operator and of restarts against a derby schema holding
+ * {@code rows} job executions, with (indexes=true) and without the secondary indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JDBCIndexBenchmark {
+    private static final int JOB_NAMES = 100;
+    private static final int BATCH_SIZE = 10000;
+
+    @Param({ "1000000" })
+    private int rows;
+
+    @Param({ "true", "false" })
+    private boolean indexes;
+
+    private JDBCPersistenceManagerService service;
+    private String url;
+    private int instances;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        url = "jdbc:derby:memory:batchee-index-benchmark-" + indexes;
+        instances = Math.max(1, rows / 4);
+
+        final Properties config = new Properties();
+        config.setProperty("persistence.database.url", url + ";create=true");
+        config.setProperty("persistence.database.has-schema", "false");
+
+        service = new JDBCPersistenceManagerService();
+        service.init(config); // creates the tables and their indexes
+
+        final Connection connection = DriverManager.getConnection(url);
+        try {
+            connection.setAutoCommit(false);
+            if (!indexes) {
+                final Dictionary dictionary = new Dictionary(CheckpointEntity.TABLE_NAME, JobInstanceEntity.TABLE_NAME, JobExecutionEntity.TABLE_NAME,
+                    StepExecutionEntity.TABLE_NAME, new DerbyDatabase());
+                final Statement statement = connection.createStatement();
+                try {
+                    for (final Dictionary.Index index : dictionary.getIndexes()) {
+                        statement.executeUpdate("drop index " + index.getName());
+                    }
+                } finally {
+                    statement.close();
+                }
+            }
+            populate(connection);
+            connection.commit();
+        } finally {
+            connection.close();
+        }
+    }
+
+    // raw batches, going through the service would take most of the trial
+    private void populate(final Connection connection) throws SQLException {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        final PreparedStatement instance = connection.prepareStatement(
+            "insert into " + JobInstanceEntity.TABLE_NAME + "(jobName, batchStatus, latestExecution) values (?, ?, ?)");
+        try {
+            for (int i = 1; i <= instances; i++) {
+                instance.setString(1, "job-" + (i % JOB_NAMES));
+                instance.setString(2, "COMPLETED");
+                instance.setLong(3, i);
+                instance.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    instance.executeBatch();
+                }
+            }
+            instance.executeBatch();
+        } finally {
+            instance.close();
+        }
+
+        final PreparedStatement execution = connection.prepareStatement(
+            "insert into " + JobExecutionEntity.TABLE_NAME + "(createTime, startTime, endTime, updateTime, batchStatus, exitStatus, INSTANCE_JOBINSTANCEID)"
+                + " values (?, ?, ?, ?, ?, ?, ?)");
+        try {
+            for (int i = 1; i <= rows; i++) {
+                final boolean running = i % 1000 == 0;
+                execution.setTimestamp(1, now);
+                execution.setTimestamp(2, now);
+                execution.setTimestamp(3, running ? null : now);
+                execution.setTimestamp(4, now);
+                execution.setString(5, running ? "STARTED" : "COMPLETED");
+                execution.setString(6, running ? null : "COMPLETED");
+                execution.setLong(7, 1 + (i % instances));
+                execution.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    execution.executeBatch();
+                }
+            }
+            execution.executeBatch();
+        } finally {
+            execution.close();
+        }
+
+        final PreparedStatement step = connection.prepareStatement(
+            "insert into " + StepExecutionEntity.TABLE_NAME + "(stepName, batchStatus, startTime, endTime, EXECUTION_EXECUTIONID) values (?, ?, ?, ?, ?)");
+        try {
+            for (int i = 1; i <= instances; i++) {
+                step.setString(1, "step");
+                step.setString(2, "COMPLETED");
+                step.setTimestamp(3, now);
+                step.setTimestamp(4, now);
+                step.setLong(5, i);
+                step.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    step.executeBatch();
+                }
+            }
+            step.executeBatch();
+        } finally {
+            step.close();
+        }
+
+        final PreparedStatement checkpoint = connection.prepareStatement(
+            "insert into " + CheckpointEntity.TABLE_NAME + "(stepName, type, data, INSTANCE_JOBINSTANCEID) values (?, ?, ?, ?)");
+        try {
+            final byte[] data = new byte[16];
+            for (int i = 1; i <= instances; i++) {
+                checkpoint.setString(1, "step");
+                checkpoint.setString(2, "READER");
+                checkpoint.setBytes(3, data);
+                checkpoint.setLong(4, i);
+                checkpoint.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    checkpoint.executeBatch();
+                }
+            }
+            checkpoint.executeBatch();
+        } finally {
+            checkpoint.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+        try {
+            DriverManager.getConnection(url + ";drop=true").close();
+        } catch (final SQLException e) {
+            // expected, derby signals the drop with an exception
+        }
+    }
+
+    @Benchmark
+    public List<Long> jobInstanceIdsByName() {
+        return service.jobOperatorGetJobInstanceIds("job-" + ThreadLocalRandom.current().nextInt(JOB_NAMES), 0, 20);
+    }
+
+    @Benchmark
+    public Set<Long> runningExecutions() {
+        return service.jobOperatorGetRunningExecutions("job-" + ThreadLocalRandom.current().nextInt(JOB_NAMES));
+    }
+
+    @Benchmark
+    public long mostRecentExecution() {
+        return service.getMostRecentExecutionId(1 + ThreadLocalRandom.current().nextInt(instances));
+    }
+
+    @Benchmark
+    public List<StepExecution> stepExecutionsOfExecution() {
+        return service.getStepExecutionsForJobExecution(1 + ThreadLocalRandom.current().nextInt(instances));
+    }
+
+    @Benchmark
+    public CheckpointData restartCheckpoint() {
+        return service.getCheckpointData(new CheckpointDataKey(1 + ThreadLocalRandom.current().nextInt(instances), "step", CheckpointType.READER));
+    }
+
+    @Benchmark
+    public int cleanUpNothing() {
+        service.cleanUp(new Date(0)); // only the purge lookup, nothing ended before the epoch
+        return instances;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JDBCIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
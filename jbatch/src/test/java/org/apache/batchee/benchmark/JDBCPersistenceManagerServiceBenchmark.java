@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.benchmark;
+
+import org.apache.batchee.container.impl.MetricImpl;
+import org.apache.batchee.container.impl.StepContextImpl;
+import org.apache.batchee.container.impl.StepExecutionImpl;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointType;
+import org.apache.batchee.container.services.persistence.JDBCPersistenceManagerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.JobInstance;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JDBC persistence hot path (step execution rows and checkpoints)
+ * against an embedded derby, with (pool.size &gt; 0) and without connection pooling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JDBCPersistenceManagerServiceBenchmark {
+    @Param({ "0", "10" })
+    private int poolSize;
+
+    private JDBCPersistenceManagerService service;
+    private long executionId;
+    private StepContextImpl stepContext;
+    private Map<CheckpointDataKey, CheckpointData> checkpoints;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Properties config = new Properties();
+        config.setProperty("persistence.database.url", "jdbc:derby:memory:batchee-benchmark-" + poolSize + ";create=true");
+        config.setProperty("persistence.database.pool.size", Integer.toString(poolSize));
+
+        service = new JDBCPersistenceManagerService();
+        service.init(config);
+
+        final JobInstance instance = service.createJobInstance("benchmark", "<job />");
+        executionId = service.createJobExecution(instance, new Properties(), BatchStatus.STARTED).getExecutionId();
+
+        stepContext = new StepContextImpl("step");
+        stepContext.setBatchStatus(BatchStatus.STARTED);
+        stepContext.addMetric(MetricImpl.MetricType.READ_COUNT, 0);
+        final StepExecutionImpl stepExecution = service.createStepExecution(executionId, stepContext);
+        stepContext.setInternalStepExecutionId(stepExecution.getStepExecutionId());
+
+        checkpoints = new HashMap<CheckpointDataKey, CheckpointData>();
+        for (final CheckpointType type : CheckpointType.values()) {
+            final CheckpointData data = new CheckpointData(instance.getInstanceId(), "step", type);
+            data.setRestartToken(new byte[64]);
+            checkpoints.put(new CheckpointDataKey(instance.getInstanceId(), "step", type), data);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public StepExecutionImpl createStepExecution() {
+        return service.createStepExecution(executionId, stepContext);
+    }
+
+    @Benchmark
+    public void updateStepExecution() {
+        stepContext.getMetric(MetricImpl.MetricType.READ_COUNT).incValue();
+        service.updateStepExecution(executionId, stepContext);
+    }
+
+    @Benchmark
+    public void setCheckpointData() {
+        service.setCheckpointData(checkpoints);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JDBCPersistenceManagerServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.benchmark;
+
+import org.apache.batchee.container.impl.JobExecutionImpl;
+import org.apache.batchee.container.services.InternalJobExecution;
+import org.apache.batchee.container.services.persistence.JDBCPersistenceManagerService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.JobInstance;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares reading all the values of a persisted job execution when getters query the database
+ * (previous behavior) and when the execution is a snapshot loaded from a single row read.
+ *
+ * The {@code queries} secondary result is the number of database round trips per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobExecutionSnapshotBenchmark {
+    private CountingPersistenceManagerService service;
+    private long executionId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Properties config = new Properties();
+        config.setProperty("persistence.database.url", "jdbc:derby:memory:batchee-snapshot-benchmark;create=true");
+
+        service = new CountingPersistenceManagerService();
+        service.init(config);
+
+        final JobInstance instance = service.createJobInstance("benchmark", "<job />");
+        executionId = service.createJobExecution(instance, new Properties(), BatchStatus.STARTED).getExecutionId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public void lazy(final Queries queries, final Blackhole blackhole) {
+        final long before = service.connections.get();
+        final JobExecutionImpl execution = JobExecutionImpl.class.cast(service.jobOperatorGetJobExecution(executionId));
+        execution.setSnapshot(false); // getters query the database as before
+        readAll(execution, blackhole);
+        queries.queries += service.connections.get() - before;
+    }
+
+    @Benchmark
+    public void snapshot(final Queries queries, final Blackhole blackhole) {
+        final long before = service.connections.get();
+        readAll(service.jobOperatorGetJobExecution(executionId), blackhole);
+        queries.queries += service.connections.get() - before;
+    }
+
+    private static void readAll(final InternalJobExecution execution, final Blackhole blackhole) {
+        blackhole.consume(execution.getBatchStatus());
+        blackhole.consume(execution.getExitStatus());
+        blackhole.consume(execution.getCreateTime());
+        blackhole.consume(execution.getStartTime());
+        blackhole.consume(execution.getEndTime());
+        blackhole.consume(execution.getLastUpdatedTime());
+        blackhole.consume(execution.getJobParameters());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+        public long queries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            queries = 0;
+        }
+    }
+
+    // each persistence call uses its own connection so it is a good enough query counter
+    public static class CountingPersistenceManagerService extends JDBCPersistenceManagerService {
+        private final AtomicLong connections = new AtomicLong();
+
+        @Override
+        protected Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            return super.getConnection();
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JobExecutionSnapshotBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.benchmark;
+
+import org.apache.batchee.container.impl.StepContextImpl;
+import org.apache.batchee.container.proxy.InjectionReferences;
+import org.apache.batchee.container.proxy.ItemProcessorProxy;
+import org.apache.batchee.container.proxy.ItemReadListenerProxy;
+import org.apache.batchee.container.proxy.ItemReaderProxy;
+import org.apache.batchee.container.proxy.ProxyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.batch.api.chunk.AbstractItemReader;
+import jakarta.batch.api.chunk.ItemProcessor;
+import jakarta.batch.api.chunk.ItemReader;
+import jakarta.batch.api.chunk.listener.AbstractItemReadListener;
+import jakarta.batch.api.chunk.listener.ItemReadListener;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per item dispatch cost of the dynamic (reflective) proxies compared to the typed ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyDispatchBenchmark {
+    private ItemReader dynamicReader;
+    private ItemReader typedReader;
+    private ItemProcessor dynamicProcessor;
+    private ItemProcessor typedProcessor;
+    private ItemReadListener dynamicListener;
+    private ItemReadListener typedListener;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final InjectionReferences refs = new InjectionReferences(null, new StepContextImpl("benchmark"), null);
+
+        final ItemReader reader = new AbstractItemReader() {
+            private final Object item = new Object();
+
+            @Override
+            public Object readItem() {
+                return item;
+            }
+        };
+        final ItemProcessor processor = new ItemProcessor() {
+            @Override
+            public Object processItem(final Object item) {
+                return item;
+            }
+        };
+        final ItemReadListener listener = new AbstractItemReadListener() {
+            // no-op
+        };
+
+        dynamicReader = ProxyFactory.createProxy(reader, refs, "readItem");
+        typedReader = new ItemReaderProxy(reader, refs);
+        dynamicProcessor = ProxyFactory.createProxy(processor, refs, "processItem");
+        typedProcessor = new ItemProcessorProxy(processor, refs);
+        dynamicListener = ProxyFactory.createProxy(listener, refs);
+        typedListener = new ItemReadListenerProxy(listener, refs);
+    }
+
+    @Benchmark
+    public Object dynamicItem() throws Exception {
+        dynamicListener.beforeRead();
+        final Object item = dynamicReader.readItem();
+        dynamicListener.afterRead(item);
+        return dynamicProcessor.processItem(item);
+    }
+
+    @Benchmark
+    public Object typedItem() throws Exception {
+        typedListener.beforeRead();
+        final Object item = typedReader.readItem();
+        typedListener.afterRead(item);
+        return typedProcessor.processItem(item);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProxyDispatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.jsl;
+
+import org.apache.batchee.container.services.loader.DefaultJobXMLLoaderService;
+import org.apache.batchee.jaxb.JSLJob;
+import org.apache.batchee.jaxb.Step;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+
+public class JobModelResolverTest {
+    @Test
+    public void cachedModelsAreCopies() {
+        final String xml = new DefaultJobXMLLoaderService().loadJSL("simple");
+        final JobModelCache cache = new JobModelCache(10);
+        final JobModelResolver resolver = new JobModelResolver(cache);
+
+        final JSLJob first = resolver.resolveModel(xml);
+        assertEquals(cache.size(), 1);
+        final Step step = Step.class.cast(first.getExecutionElements().iterator().next());
+        final String originalRef = step.getBatchlet().getRef();
+        step.getBatchlet().setRef("mutated");
+
+        final JSLJob second = resolver.resolveModel(xml);
+        assertNotSame(second, first);
+        assertEquals(cache.size(), 1);
+        assertEquals(second.getId(), first.getId());
+        assertEquals(Step.class.cast(second.getExecutionElements().iterator().next()).getBatchlet().getRef(), originalRef);
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        final DefaultJobXMLLoaderService loader = new DefaultJobXMLLoaderService();
+        loader.init(new Properties());
+        final JobModelCache cache = new JobModelCache(1);
+        final JobModelResolver resolver = new JobModelResolver(cache);
+        resolver.resolveModel(loader.loadJSL("simple"));
+        resolver.resolveModel(loader.loadJSL("partition-lazy"));
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void findJobIds() {
+        assertTrue(DefaultJobXMLLoaderService.findJobIds(Thread.currentThread().getContextClassLoader()).contains("simple"));
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.executor;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadPoolServiceTest {
+    private VirtualThreadPoolService service;
+
+    @After
+    public void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void globalLimit() throws InterruptedException {
+        service = new JobAwareService();
+        service.init(new Properties() {{
+            setProperty(VirtualThreadPoolService.VIRTUAL_THREADPOOL_MAX_CONCURRENCY, "2");
+        }});
+
+        final Concurrency global = new Concurrency();
+        final CountDownLatch done = new CountDownLatch(6);
+        for (int i = 0; i < 6; i++) {
+            service.executeTask(new Task(0, global, new Concurrency(), done), null);
+        }
+
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertEquals(2, global.max.get());
+    }
+
+    @Test
+    public void perJobLimit() throws InterruptedException {
+        service = new JobAwareService();
+        service.init(new Properties() {{
+            setProperty(VirtualThreadPoolService.VIRTUAL_THREADPOOL_MAX_CONCURRENCY_PER_JOB, "1");
+        }});
+
+        final Concurrency global = new Concurrency();
+        final Concurrency job1 = new Concurrency();
+        final Concurrency job2 = new Concurrency();
+        final CountDownLatch done = new CountDownLatch(6);
+        for (int i = 0; i < 3; i++) {
+            service.executeTask(new Task(1, global, job1, done), null);
+            service.executeTask(new Task(2, global, job2, done), null);
+        }
+
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertEquals(1, job1.max.get());
+        assertEquals(1, job2.max.get());
+        assertEquals(2, global.max.get()); // jobs don't limit each other
+    }
+
+    @Test
+    public void permitsAreReleasedWhenTheTaskFails() throws InterruptedException {
+        service = new JobAwareService();
+        service.init(new Properties() {{
+            setProperty(VirtualThreadPoolService.VIRTUAL_THREADPOOL_MAX_CONCURRENCY, "1");
+            setProperty(VirtualThreadPoolService.VIRTUAL_THREADPOOL_MAX_CONCURRENCY_PER_JOB, "1");
+        }});
+
+        final CountDownLatch failed = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            service.executeTask(new Task(1, new Concurrency(), new Concurrency(), failed) {
+                @Override
+                public void run() {
+                    failed.countDown();
+                    throw new IllegalStateException("expected failure");
+                }
+            }, null);
+        }
+        assertTrue(failed.await(1, TimeUnit.MINUTES));
+
+        final CountDownLatch done = new CountDownLatch(1);
+        service.executeTask(new Task(1, new Concurrency(), new Concurrency(), done), null);
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void platformThreadsWithoutVirtualThreads() throws InterruptedException {
+        service = new JobAwareService() {
+            @Override
+            protected ThreadFactory newVirtualThreadFactory() {
+                return null;
+            }
+        };
+        service.init(new Properties());
+
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        final CountDownLatch done = new CountDownLatch(1);
+        service.executeTask(new Runnable() {
+            @Override
+            public void run() {
+                thread.set(Thread.currentThread());
+                done.countDown();
+            }
+        }, null);
+
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertTrue(thread.get().getName(), thread.get().getName().startsWith("batchee-thread-"));
+        assertTrue(thread.get().isDaemon());
+    }
+
+    @Test
+    public void virtualThreadsWhenAvailable() throws Exception {
+        final Method isVirtual;
+        try {
+            isVirtual = Thread.class.getMethod("isVirtual");
+        } catch (final NoSuchMethodException e) {
+            assumeTrue("virtual threads need Java 21", false);
+            return;
+        }
+
+        service = new JobAwareService();
+        service.init(new Properties());
+
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        final CountDownLatch done = new CountDownLatch(1);
+        service.executeTask(new Runnable() {
+            @Override
+            public void run() {
+                thread.set(Thread.currentThread());
+                done.countDown();
+            }
+        }, null);
+
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertTrue(Boolean.class.cast(isVirtual.invoke(thread.get())));
+        assertTrue(thread.get().getName(), thread.get().getName().startsWith("batchee-virtual-thread-"));
+    }
+
+    // partition work units need a whole runtime, the test tasks give their job directly
+    public static class JobAwareService extends VirtualThreadPoolService {
+        @Override
+        protected Long jobExecutionId(final Runnable work) {
+            if (work instanceof Task) {
+                return Task.class.cast(work).job;
+            }
+            return super.jobExecutionId(work);
+        }
+    }
+
+    public static class Task implements Runnable {
+        private final long job;
+        private final Concurrency global;
+        private final Concurrency perJob;
+        private final CountDownLatch done;
+
+        public Task(final long job, final Concurrency global, final Concurrency perJob, final CountDownLatch done) {
+            this.job = job;
+            this.global = global;
+            this.perJob = perJob;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            global.enter();
+            perJob.enter();
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                perJob.exit();
+                global.exit();
+                done.countDown();
+            }
+        }
+    }
+
+    public static class Concurrency {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        void enter() {
+            final int value = current.incrementAndGet();
+            int previous;
+            while ((previous = max.get()) < value && !max.compareAndSet(previous, value)) {
+                // retry
+            }
+        }
+
+        void exit() {
+            current.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalPurgeTest {
+    @Test
+    public void purgesUntilNothingIsLeft() {
+        final ScriptedPurgeService service = new ScriptedPurgeService(10, 10, 0);
+        final IncrementalPurge purge = new IncrementalPurge(service, 10, 0, 0);
+
+        assertEquals(20, purge.run(new Date()));
+        assertEquals(3, service.calls.size());
+        assertEquals(2, purge.getBatches());
+        assertEquals(20, purge.getPurgedInstances());
+    }
+
+    @Test
+    public void partialBatchEndsThePurge() {
+        final ScriptedPurgeService service = new ScriptedPurgeService(10, 4, 10);
+        final IncrementalPurge purge = new IncrementalPurge(service, 10, 0, 0);
+
+        assertEquals(14, purge.run(new Date()));
+        assertEquals(2, service.calls.size());
+    }
+
+    @Test
+    public void pauseBetweenBatches() {
+        final ScriptedPurgeService service = new ScriptedPurgeService(5, 5, 0);
+        final IncrementalPurge purge = new IncrementalPurge(service, 5, 200, 0);
+
+        purge.run(new Date());
+        assertEquals(3, service.calls.size());
+        assertWaited(service.calls, 200);
+    }
+
+    @Test
+    public void rateLimit() {
+        final ScriptedPurgeService service = new ScriptedPurgeService(10, 10, 0);
+        final IncrementalPurge purge = new IncrementalPurge(service, 10, 0, 50); // 10 instances at 50/s = 200ms
+
+        purge.run(new Date());
+        assertEquals(3, service.calls.size());
+        assertWaited(service.calls, 200);
+    }
+
+    @Test
+    public void stopEndsAfterTheCurrentBatch() {
+        final ScriptedPurgeService service = new ScriptedPurgeService(10, 10, 10, 10);
+        final IncrementalPurge purge = new IncrementalPurge(service, 10, 0, 0);
+        service.onCall = new Runnable() {
+            @Override
+            public void run() {
+                if (service.calls.size() == 2) {
+                    purge.stop();
+                }
+            }
+        };
+
+        assertEquals(20, purge.run(new Date()));
+        assertTrue(purge.isStopped());
+        assertEquals(2, service.calls.size());
+        assertEquals(2, purge.getBatches());
+    }
+
+    private static void assertWaited(final List<Long> calls, final long minMs) {
+        for (int i = 1; i < calls.size(); i++) {
+            final long waited = TimeUnit.NANOSECONDS.toMillis(calls.get(i) - calls.get(i - 1));
+            assertTrue("waited " + waited + "ms", waited >= minMs - 20 /* timer granularity */);
+        }
+    }
+
+    public static class ScriptedPurgeService extends MemoryPersistenceManagerService {
+        private final LinkedList<Integer> results;
+        private final List<Long> calls = new ArrayList<Long>();
+        private Runnable onCall;
+
+        public ScriptedPurgeService(final Integer... results) {
+            this.results = new LinkedList<Integer>(asList(results));
+        }
+
+        @Override
+        public int cleanUp(final Date until, final int maxInstances) {
+            calls.add(System.nanoTime());
+            if (onCall != null) {
+                onCall.run();
+            }
+            return results.isEmpty() ? 0 : results.removeFirst();
+        }
+    }
+}
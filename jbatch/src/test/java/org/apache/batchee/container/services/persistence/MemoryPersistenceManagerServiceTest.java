@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence;
+
+import org.junit.Test;
+
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.JobInstance;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class MemoryPersistenceManagerServiceTest {
+    @Test
+    public void finishedInstancesAreQueuedOnce() {
+        final QueueAwareService service = new QueueAwareService();
+        service.init(new Properties());
+
+        final List<JobInstance> instances = new ArrayList<JobInstance>();
+        for (int i = 0; i < 10; i++) {
+            final JobInstance instance = service.createJobInstance("queue", "xml");
+            final long executionId = service.createJobExecution(instance, new Properties(), BatchStatus.STARTED).getExecutionId();
+            service.updateBatchStatusOnly(executionId, BatchStatus.COMPLETED, now());
+            service.updateWithFinalExecutionStatusesAndTimestamps(executionId, BatchStatus.COMPLETED, "ok", now());
+            instances.add(instance);
+        }
+        assertEquals(10, service.data.finishedJobInstances.size());
+
+        // a restart leaves the queue while running and comes back once when it ends
+        final long restart = service.createJobExecution(instances.get(0), new Properties(), BatchStatus.STARTING).getExecutionId();
+        assertEquals(9, service.data.finishedJobInstances.size());
+        service.updateWithFinalExecutionStatusesAndTimestamps(restart, BatchStatus.COMPLETED, "ok", now());
+        assertEquals(10, service.data.finishedJobInstances.size());
+
+        for (final JobInstance instance : instances.subList(0, 5)) {
+            service.cleanUp(instance.getInstanceId());
+        }
+        assertEquals(5, service.data.finishedJobInstances.size());
+
+        service.cleanUp(new Date(System.currentTimeMillis() + 60000));
+        assertEquals(0, service.data.finishedJobInstances.size());
+    }
+
+    @Test
+    public void evictionAfterExternalPurge() {
+        final QueueAwareService service = new QueueAwareService();
+        service.init(new Properties() {{
+            setProperty("persistence.memory.max-jobs-instances", "3");
+        }});
+
+        final List<JobInstance> instances = new ArrayList<JobInstance>();
+        for (int i = 0; i < 3; i++) {
+            final JobInstance instance = service.createJobInstance("queue", "xml");
+            final long executionId = service.createJobExecution(instance, new Properties(), BatchStatus.STARTED).getExecutionId();
+            service.updateWithFinalExecutionStatusesAndTimestamps(executionId, BatchStatus.COMPLETED, "ok", now());
+            instances.add(instance);
+        }
+        service.cleanUp(instances.get(0).getInstanceId());
+        assertEquals(2, service.data.finishedJobInstances.size());
+
+        // room left, nothing evicted
+        service.createJobInstance("queue", "xml");
+        assertEquals(3, service.jobOperatorGetJobInstanceCount("queue"));
+        assertEquals(2, service.data.finishedJobInstances.size());
+
+        // full, the oldest remaining finished instance is evicted
+        service.createJobInstance("queue", "xml");
+        assertEquals(3, service.jobOperatorGetJobInstanceCount("queue"));
+        assertEquals(1, service.data.finishedJobInstances.size());
+        assertEquals(instances.get(2).getInstanceId(), service.data.finishedJobInstances.peek().instance.getInstanceId());
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    public static class QueueAwareService extends MemoryPersistenceManagerService {
+        private Data data;
+
+        @Override
+        protected Data newData() {
+            data = super.newData();
+            return data;
+        }
+    }
+}
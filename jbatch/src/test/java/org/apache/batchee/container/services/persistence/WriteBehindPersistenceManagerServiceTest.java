@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence;
+
+import org.apache.batchee.container.impl.MetricImpl;
+import org.apache.batchee.container.impl.StepContextImpl;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointType;
+import org.apache.batchee.container.status.StepStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.JobInstance;
+import jakarta.batch.runtime.Metric;
+import jakarta.batch.runtime.StepExecution;
+import java.io.IOException;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WriteBehindPersistenceManagerServiceTest {
+    private WriteBehindPersistenceManagerService service;
+    private RecordingPersistenceManagerService delegate;
+    private JobInstance instance;
+    private long executionId;
+
+    @Before
+    public void init() {
+        final Properties config = new Properties();
+        config.setProperty("persistence.write-behind.delegate", RecordingPersistenceManagerService.class.getName());
+        config.setProperty("persistence.write-behind.flush-interval", "3600000"); // tests flush explicitly
+
+        service = new WriteBehindPersistenceManagerService();
+        service.init(config);
+        delegate = RecordingPersistenceManagerService.class.cast(service.getDelegate());
+
+        instance = service.createJobInstance("write-behind", "xml");
+        executionId = service.createJobExecution(instance, new Properties(), BatchStatus.STARTING).getExecutionId();
+        delegate.writes.clear();
+    }
+
+    @After
+    public void close() throws IOException {
+        service.close();
+    }
+
+    @Test
+    public void deferral() {
+        service.updateBatchStatusOnly(executionId, BatchStatus.STARTED, now());
+        assertTrue(delegate.writes.isEmpty());
+
+        service.flush();
+        assertEquals(singletonList("batchStatus:" + executionId + ":STARTED"), delegate.writes);
+    }
+
+    @Test
+    public void coalescing() {
+        final StepContextImpl stepContext = newStep("coalescing");
+        final StepStatus status = service.createStepStatus(stepContext.getStepInternalExecID());
+        for (final String exitStatus : asList("first", "second", "last")) {
+            status.setBatchStatus(BatchStatus.STARTED);
+            status.setExitStatus(exitStatus);
+            service.updateStepStatus(status.getStepExecutionId(), status);
+        }
+        status.setExitStatus("changed after the update"); // not visible, the update is a snapshot
+
+        service.flush();
+        assertEquals(singletonList("stepStatus:" + status.getStepExecutionId() + ":STARTED:last"), delegate.writes);
+
+        service.flush();
+        assertEquals(1, delegate.writes.size());
+    }
+
+    @Test
+    public void snapshot() {
+        final StepContextImpl stepContext = newStep("snapshot");
+        stepContext.getMetric(MetricImpl.MetricType.READ_COUNT).incValueBy(5);
+        service.updateStepExecution(executionId, stepContext);
+        stepContext.getMetric(MetricImpl.MetricType.READ_COUNT).incValueBy(5); // next chunk, not updated yet
+
+        service.flush();
+        assertEquals(singletonList("stepExecution:" + stepContext.getStepInternalExecID() + ":STARTED:5"), delegate.writes);
+    }
+
+    @Test
+    public void persistentUserDataSnapshot() {
+        final StepContextImpl stepContext = newStep("user-data");
+        final ArrayList<String> userData = new ArrayList<String>(singletonList("first"));
+        stepContext.setPersistentUserData(userData);
+        service.updateStepExecution(executionId, stepContext);
+        userData.add("second"); // next chunk, not updated yet
+
+        service.flush();
+        assertEquals(singletonList("first"), delegate.persistentUserData);
+    }
+
+    @Test
+    public void finalStatusIsWrittenImmediately() {
+        service.updateBatchStatusOnly(executionId, BatchStatus.STARTED, now());
+        service.updateBatchStatusOnly(executionId, BatchStatus.COMPLETED, now());
+        assertEquals(singletonList("batchStatus:" + executionId + ":COMPLETED"), delegate.writes);
+
+        service.flush(); // the pending STARTED was dropped, it must not override the final status
+        assertEquals(1, delegate.writes.size());
+    }
+
+    @Test
+    public void readYourWrites() {
+        final long otherExecution = service.createJobExecution(service.createJobInstance("other", "xml"), new Properties(), BatchStatus.STARTING).getExecutionId();
+        service.updateBatchStatusOnly(otherExecution, BatchStatus.STARTED, now());
+
+        final StepContextImpl stepContext = newStep("read");
+        stepContext.getMetric(MetricImpl.MetricType.READ_COUNT).incValueBy(3);
+        service.updateStepExecution(executionId, stepContext);
+        service.updateBatchStatusOnly(executionId, BatchStatus.STARTED, now());
+        assertTrue(delegate.writes.isEmpty());
+
+        final StepExecution stepExecution = service.getStepExecutionByStepExecutionId(stepContext.getStepInternalExecID());
+        assertEquals(3, readCount(stepExecution.getMetrics()));
+        assertEquals(BatchStatus.STARTED, service.jobOperatorGetJobExecution(executionId).getBatchStatus());
+
+        // only the read execution was flushed
+        assertEquals(2, delegate.writes.size());
+        assertTrue(delegate.writes.contains("batchStatus:" + executionId + ":STARTED"));
+        service.flush();
+        assertEquals("batchStatus:" + otherExecution + ":STARTED", delegate.writes.get(2));
+    }
+
+    @Test
+    public void checkpointFlushesTheStepDataOfItsThreadFirst() throws Exception {
+        final StepContextImpl otherStep = newStep("other-thread");
+        final Thread otherThread = new Thread() {
+            @Override
+            public void run() {
+                service.updateStepExecution(executionId, otherStep);
+            }
+        };
+        otherThread.start();
+        otherThread.join();
+
+        final StepContextImpl stepContext = newStep("checkpoint");
+        final StepStatus status = service.createStepStatus(stepContext.getStepInternalExecID());
+        status.setBatchStatus(BatchStatus.STARTED);
+        service.updateStepStatus(status.getStepExecutionId(), status);
+
+        final CheckpointDataKey key = new CheckpointDataKey(instance.getInstanceId(), "checkpoint", CheckpointType.READER);
+        final CheckpointData data = new CheckpointData(instance.getInstanceId(), "checkpoint", CheckpointType.READER);
+        data.setRestartToken(new byte[1]);
+        service.setCheckpointData(Collections.singletonMap(key, data));
+
+        assertEquals(asList("stepStatus:" + status.getStepExecutionId() + ":STARTED:null", "checkpoint"), delegate.writes);
+    }
+
+    @Test
+    public void closeFlushes() throws IOException {
+        service.updateBatchStatusOnly(executionId, BatchStatus.STARTED, now());
+        service.close();
+        assertEquals(singletonList("batchStatus:" + executionId + ":STARTED"), delegate.writes);
+    }
+
+    private StepContextImpl newStep(final String name) {
+        final StepContextImpl stepContext = new StepContextImpl(name);
+        stepContext.setBatchStatus(BatchStatus.STARTED);
+        stepContext.addMetric(MetricImpl.MetricType.READ_COUNT, 0);
+        stepContext.setInternalStepExecutionId(service.createStepExecution(executionId, stepContext).getStepExecutionId());
+        return stepContext;
+    }
+
+    private static long readCount(final Metric[] metrics) {
+        for (final Metric metric : metrics) {
+            if (metric.getType() == Metric.MetricType.READ_COUNT) {
+                return metric.getValue();
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> singletonList(final String value) {
+        return Collections.singletonList(value);
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    public static class RecordingPersistenceManagerService extends MemoryPersistenceManagerService {
+        private final List<String> writes = Collections.synchronizedList(new ArrayList<String>());
+        private volatile Serializable persistentUserData;
+
+        @Override
+        public void updateBatchStatusOnly(final long executionId, final BatchStatus batchStatus, final Timestamp timestamp) {
+            writes.add("batchStatus:" + executionId + ":" + batchStatus);
+            super.updateBatchStatusOnly(executionId, batchStatus, timestamp);
+        }
+
+        @Override
+        public void updateStepStatus(final long stepExecutionId, final StepStatus stepStatus) {
+            writes.add("stepStatus:" + stepExecutionId + ":" + stepStatus.getBatchStatus() + ":" + stepStatus.getExitStatus());
+            super.updateStepStatus(stepExecutionId, stepStatus);
+        }
+
+        @Override
+        public void updateStepExecution(final long jobExecId, final StepContextImpl stepContext) {
+            writes.add("stepExecution:" + stepContext.getStepInternalExecID() + ":" + stepContext.getBatchStatus() + ":"
+                + stepContext.getMetric(MetricImpl.MetricType.READ_COUNT).getValue());
+            persistentUserData = stepContext.getPersistentUserData();
+            super.updateStepExecution(jobExecId, stepContext);
+        }
+
+        @Override
+        public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
+            writes.add("checkpoint");
+            super.setCheckpointData(key, value);
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.batchee.spi;
 
+import org.apache.batchee.container.impl.JobExecutionImpl;
 import org.apache.batchee.container.impl.StepContextImpl;
 import org.apache.batchee.container.impl.StepExecutionImpl;
 import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
@@ -23,6 +24,7 @@ import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
 import org.apache.batchee.container.impl.controller.chunk.CheckpointType;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.services.InternalJobExecution;
+import org.apache.batchee.container.services.persistence.IncrementalPurge;
 import org.apache.batchee.container.services.persistence.JDBCPersistenceManagerService;
 import org.apache.batchee.container.services.persistence.JPAPersistenceManagerService;
 import org.apache.batchee.container.services.persistence.MemoryPersistenceManagerService;
@@ -33,9 +35,14 @@ import jakarta.batch.operations.NoSuchJobExecutionException;
 import jakarta.batch.runtime.BatchStatus;
 import jakarta.batch.runtime.JobInstance;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import static java.util.Arrays.asList;
@@ -43,10 +50,206 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class PersistenceManagerServiceTest {
+    @Test
+    public void storeCheckpoints() {
+        for (final PersistenceManagerService service : asList(
+            new JDBCPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new JPAPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new MemoryPersistenceManagerService() {{
+                init(new Properties());
+            }})) {
+            final JobInstance instance = service.createJobInstance("checkpoints", "xml");
+            final CheckpointDataKey readerKey = new CheckpointDataKey(instance.getInstanceId(), "step", CheckpointType.READER);
+            final CheckpointDataKey writerKey = new CheckpointDataKey(instance.getInstanceId(), "step", CheckpointType.WRITER);
+
+            for (final String token : asList("first", "second")) { // create then update
+                final Map<CheckpointDataKey, CheckpointData> checkpoints = new HashMap<CheckpointDataKey, CheckpointData>();
+                checkpoints.put(readerKey, new CheckpointData(instance.getInstanceId(), "step", CheckpointType.READER) {{
+                    setRestartToken(("reader-" + token).getBytes());
+                }});
+                checkpoints.put(writerKey, new CheckpointData(instance.getInstanceId(), "step", CheckpointType.WRITER) {{
+                    setRestartToken(("writer-" + token).getBytes());
+                }});
+                service.setCheckpointData(checkpoints);
+
+                assertEquals(service.toString(), "reader-" + token, new String(service.getCheckpointData(readerKey).getRestartToken()));
+                assertEquals(service.toString(), "writer-" + token, new String(service.getCheckpointData(writerKey).getRestartToken()));
+            }
+            service.cleanUp(instance.getInstanceId());
+        }
+    }
+
+    @Test
+    public void bulkReads() {
+        for (final PersistenceManagerService service : asList(
+            new JDBCPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new JPAPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new MemoryPersistenceManagerService() {{
+                init(new Properties());
+            }})) {
+            final List<Long> created = new ArrayList<Long>();
+            for (int i = 0; i < 3; i++) {
+                final JobInstance instance = service.createJobInstance("bulk", "xml");
+                created.add(instance.getInstanceId());
+                for (int e = 0; e <= i; e++) {
+                    service.createJobExecution(instance, new Properties(), BatchStatus.COMPLETED);
+                }
+            }
+
+            final List<Long> ids = new ArrayList<Long>();
+            for (final JobInstance instance : service.jobOperatorGetJobInstances("bulk", 0, 10)) {
+                assertEquals(service.toString(), "bulk", instance.getJobName());
+                ids.add(instance.getInstanceId());
+            }
+            assertEquals(service.toString(), new HashSet<Long>(created), new HashSet<Long>(ids));
+
+            final List<Long> page = new ArrayList<Long>();
+            for (final JobInstance instance : service.jobOperatorGetJobInstances("bulk", 1, 1)) {
+                page.add(instance.getInstanceId());
+            }
+            assertEquals(service.toString(), service.jobOperatorGetJobInstanceIds("bulk", 1, 1), page);
+
+            final Map<Long, List<InternalJobExecution>> executions = service.jobOperatorGetJobExecutions(created);
+            assertEquals(service.toString(), 3, executions.size());
+            for (int i = 0; i < created.size(); i++) {
+                final List<InternalJobExecution> instanceExecutions = executions.get(created.get(i));
+                assertEquals(service.toString(), i + 1, instanceExecutions.size());
+                for (final InternalJobExecution execution : instanceExecutions) {
+                    assertEquals(service.toString(), created.get(i).longValue(), execution.getInstanceId());
+                    assertEquals(service.toString(), "bulk", execution.getJobName());
+                    assertEquals(service.toString(), BatchStatus.COMPLETED, execution.getBatchStatus());
+                }
+            }
+            assertTrue(service.jobOperatorGetJobExecutions(Collections.<Long>emptyList()).isEmpty());
+
+            for (final Long id : created) {
+                service.cleanUp(id);
+            }
+        }
+    }
+
+    @Test
+    public void snapshotAndRefresh() {
+        for (final PersistenceManagerService service : asList(
+            new JDBCPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new JPAPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new MemoryPersistenceManagerService() {{
+                init(new Properties());
+            }})) {
+            final JobInstance instance = service.createJobInstance("snapshot", "xml");
+            final long executionId = service.createJobExecution(instance, new Properties(), BatchStatus.STARTED).getExecutionId();
+
+            final InternalJobExecution execution = service.jobOperatorGetJobExecution(executionId);
+            assertEquals(service.toString(), BatchStatus.STARTED, execution.getBatchStatus());
+            assertNull(service.toString(), execution.getEndTime());
+
+            service.updateWithFinalExecutionStatusesAndTimestamps(executionId, BatchStatus.COMPLETED, "done", new Timestamp(System.currentTimeMillis()));
+            if (JobExecutionImpl.class.cast(execution).isSnapshot()) {
+                assertEquals(service.toString(), BatchStatus.STARTED, execution.getBatchStatus());
+                assertNull(service.toString(), execution.getEndTime());
+            }
+
+            assertSame(execution, execution.refresh());
+            assertEquals(service.toString(), BatchStatus.COMPLETED, execution.getBatchStatus());
+            assertEquals(service.toString(), "done", execution.getExitStatus());
+            assertNotNull(service.toString(), execution.getEndTime());
+            assertEquals(service.toString(), "snapshot", execution.getJobName());
+
+            service.cleanUp(instance.getInstanceId());
+        }
+    }
+
+    @Test
+    public void jobStatusUpdates() {
+        for (final PersistenceManagerService service : asList(
+            new JDBCPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new JPAPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new MemoryPersistenceManagerService() {{
+                init(new Properties());
+            }})) {
+            final JobInstance instance = service.createJobInstance("status", "<job id=\"status\" />");
+            service.createJobStatus(instance.getInstanceId());
+            service.updateJobStatus(instance.getInstanceId(), new JobStatus(instance));
+
+            service.updateJobStatusWithNewExecution(instance.getInstanceId(), 5);
+            service.updateJobCurrentStep(instance.getInstanceId(), "step1");
+            service.updateJobExecutionStatus(instance.getInstanceId(), BatchStatus.STOPPED, "stopped");
+            service.updateJobRestartOn(instance.getInstanceId(), "step2");
+
+            JobStatus status = service.getJobStatus(instance.getInstanceId());
+            assertEquals(service.toString(), BatchStatus.STOPPED, status.getBatchStatus());
+            assertEquals(service.toString(), "stopped", status.getExitStatus());
+            assertEquals(service.toString(), "step1", status.getCurrentStepId());
+            assertEquals(service.toString(), "step2", status.getRestartOn());
+            assertEquals(service.toString(), 5, status.getLatestExecutionId());
+            assertEquals(service.toString(), "status", status.getJobInstance().getJobName());
+            assertEquals(service.toString(), "<job id=\"status\" />", service.getJobXml(instance.getInstanceId()));
+
+            service.updateJobBatchStatus(instance.getInstanceId(), BatchStatus.ABANDONED);
+            service.updateJobStatusWithNewExecution(instance.getInstanceId(), 6);
+            status = service.getJobStatus(instance.getInstanceId());
+            assertEquals(service.toString(), BatchStatus.STARTING, status.getBatchStatus());
+            assertEquals(service.toString(), "stopped", status.getExitStatus());
+            assertNull(service.toString(), status.getRestartOn());
+            assertEquals(service.toString(), 6, status.getLatestExecutionId());
+
+            service.cleanUp(instance.getInstanceId());
+        }
+    }
+
+    @Test
+    public void memoryIndexesAndEviction() {
+        final MemoryPersistenceManagerService service = new MemoryPersistenceManagerService();
+        service.init(new Properties() {{
+            setProperty("persistence.memory.max-jobs-instances", "2");
+        }});
+
+        final JobInstance finished = service.createJobInstance("a", "xml");
+        service.createJobExecution(finished, new Properties(), BatchStatus.COMPLETED);
+        final JobInstance running = service.createJobInstance("a", "xml");
+        final long runningExecution = service.createJobExecution(running, new Properties(), BatchStatus.STARTED).getExecutionId();
+        final StepExecutionImpl step = service.createStepExecution(runningExecution, new StepContextImpl("step"));
+        service.createStepStatus(step.getStepExecutionId()).setBatchStatus(BatchStatus.STARTED);
+
+        final JobInstance other = service.createJobInstance("b", "xml"); // evicts the finished instance, not the running one
+        assertEquals(Collections.singletonList(running.getInstanceId()), service.jobOperatorGetJobInstanceIds("a", 0, 10));
+        assertEquals(1, service.jobOperatorGetJobInstanceCount("a"));
+        assertEquals(new HashSet<String>(asList("a", "b")), service.getJobNames());
+        assertEquals(Collections.singleton(runningExecution), service.jobOperatorGetRunningExecutions("a"));
+        assertNotNull(service.getStepStatus(running.getInstanceId(), "step"));
+        assertNull(service.getStepStatus(running.getInstanceId(), "missing"));
+
+        service.updateWithFinalExecutionStatusesAndTimestamps(runningExecution, BatchStatus.COMPLETED, "ok", new Timestamp(System.currentTimeMillis()));
+        assertTrue(service.jobOperatorGetRunningExecutions("a").isEmpty());
+
+        service.createJobInstance("c", "xml");
+        assertTrue(service.jobOperatorGetJobInstanceIds("a", 0, 10).isEmpty());
+        assertNull(service.getStepStatus(running.getInstanceId(), "step"));
+        assertEquals(new HashSet<String>(asList("b", "c")), service.getJobNames());
+        assertEquals(Collections.singletonList(other.getInstanceId()), service.jobOperatorGetJobInstanceIds("b", 0, 10));
+    }
+
     @Test
     public void cleanUpUntil() {
         for (final PersistenceManagerService service : asList(
@@ -118,4 +321,96 @@ public class PersistenceManagerServiceTest {
             assertFalse(service.jobOperatorGetJobInstanceIds("test", 0, 10).contains(firstExec.getInstanceId()));
         }
     }
+
+    @Test
+    public void cleanUpUntilPurgesExecutions() {
+        for (final PersistenceManagerService service : asList(
+            new JDBCPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new JPAPersistenceManagerService() {{
+                init(new Properties());
+            }})) { // memory purges whole instances
+            final JobInstance restarted = service.createJobInstance("purge-executions", "xml");
+            final long oldExecution = service.createJobExecution(restarted, new Properties(), BatchStatus.STARTED).getExecutionId();
+            service.createStepExecution(oldExecution, new StepContextImpl("step"));
+            service.updateWithFinalExecutionStatusesAndTimestamps(oldExecution, BatchStatus.FAILED, "ko", new Timestamp(1000));
+            final long newExecution = service.createJobExecution(restarted, new Properties(), BatchStatus.STARTED).getExecutionId();
+            final CheckpointDataKey checkpoint = new CheckpointDataKey(restarted.getInstanceId(), "step", CheckpointType.READER);
+            service.setCheckpointData(checkpoint, new CheckpointData(restarted.getInstanceId(), "step", CheckpointType.READER) {{
+                setRestartToken("restart".getBytes());
+            }});
+
+            final JobInstance abandoned = service.createJobInstance("purge-executions", "xml"); // no end time
+            final long abandonedExecution = service.createJobExecution(abandoned, new Properties(), BatchStatus.ABANDONED).getExecutionId();
+
+            assertTrue(service.toString(), service.cleanUp(new Date(System.currentTimeMillis() + 1000), 10) >= 2);
+
+            for (final long executionId : new long[] { oldExecution, abandonedExecution }) {
+                try {
+                    service.getJobInstanceIdByExecutionId(executionId);
+                    fail(service.toString());
+                } catch (final NoSuchJobExecutionException nsje) {
+                    // ok
+                }
+            }
+            assertTrue(service.toString(), service.getStepExecutionsForJobExecution(oldExecution).isEmpty());
+
+            // the running restart keeps its instance and checkpoints
+            assertEquals(service.toString(), restarted.getInstanceId(), service.getJobInstanceIdByExecutionId(newExecution));
+            assertNotNull(service.toString(), service.getCheckpointData(checkpoint));
+            assertEquals(
+                service.toString(),
+                Collections.singletonList(restarted.getInstanceId()), service.jobOperatorGetJobInstanceIds("purge-executions", 0, 10));
+
+            service.cleanUp(restarted.getInstanceId());
+        }
+    }
+
+    @Test
+    public void incrementalCleanUp() {
+        for (final PersistenceManagerService service : asList(
+            new JDBCPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new JPAPersistenceManagerService() {{
+                init(new Properties());
+            }},
+            new MemoryPersistenceManagerService() {{
+                init(new Properties());
+            }})) {
+            final Collection<Long> purgedExecutions = new ArrayList<Long>();
+            for (int i = 0; i < 5; i++) { // ended in 1970 to not purge the data of other tests
+                final JobInstance instance = service.createJobInstance("incremental-purge", "xml");
+                final long executionId = service.createJobExecution(instance, new Properties(), BatchStatus.STARTED).getExecutionId();
+                service.updateWithFinalExecutionStatusesAndTimestamps(executionId, BatchStatus.COMPLETED, "ok", new Timestamp(1000L * (i + 1)));
+                purgedExecutions.add(executionId);
+            }
+            final JobInstance running = service.createJobInstance("incremental-purge", "xml");
+            final long runningExecution = service.createJobExecution(running, new Properties(), BatchStatus.STARTED).getExecutionId();
+            final JobInstance notStarted = service.createJobInstance("incremental-purge", "xml"); // no execution yet
+
+            final IncrementalPurge purge = new IncrementalPurge(service, 2, 0, 0);
+            assertEquals(service.toString(), 5, purge.run(new Date(60000)));
+            assertEquals(service.toString(), 3, purge.getBatches());
+            assertEquals(service.toString(), 0, service.cleanUp(new Date(60000), 2));
+
+            assertEquals(
+                service.toString(),
+                new HashSet<Long>(asList(running.getInstanceId(), notStarted.getInstanceId())),
+                new HashSet<Long>(service.jobOperatorGetJobInstanceIds("incremental-purge", 0, 10)));
+            assertEquals(service.toString(), running.getInstanceId(), service.getJobInstanceIdByExecutionId(runningExecution));
+            for (final Long executionId : purgedExecutions) {
+                try {
+                    service.getJobInstanceIdByExecutionId(executionId);
+                    fail(service.toString());
+                } catch (final NoSuchJobExecutionException nsje) {
+                    // ok
+                }
+            }
+
+            service.cleanUp(running.getInstanceId());
+            service.cleanUp(notStarted.getInstanceId());
+        }
+    }
 }
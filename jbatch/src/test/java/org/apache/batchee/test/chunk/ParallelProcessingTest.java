@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.chunk;
+
+import org.apache.batchee.util.Batches;
+import org.testng.annotations.Test;
+
+import jakarta.batch.api.chunk.AbstractItemReader;
+import jakarta.batch.api.chunk.AbstractItemWriter;
+import jakarta.batch.api.chunk.ItemProcessor;
+import jakarta.batch.operations.JobOperator;
+import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.Metric;
+import jakarta.batch.runtime.StepExecution;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ParallelProcessingTest {
+    private static final List<Object> WRITTEN = new ArrayList<Object>();
+    private static final Collection<String> PROCESSOR_THREADS = new HashSet<String>();
+
+    @Test
+    public void run() {
+        final JobOperator op = BatchRuntime.getJobOperator();
+        final long id = op.start("parallel-processing", null);
+        Batches.waitForEnd(op, id);
+        assertEquals(op.getJobExecution(id).getBatchStatus(), BatchStatus.COMPLETED);
+
+        final List<Object> expected = new ArrayList<Object>();
+        for (int i = 1; i <= 25; i++) {
+            if (i % 5 != 0 && i != 7) {
+                expected.add(i);
+            }
+        }
+        assertEquals(WRITTEN, expected);
+        assertTrue(PROCESSOR_THREADS.size() > 1, PROCESSOR_THREADS.toString());
+
+        final List<StepExecution> steps = op.getStepExecutions(id);
+        int checked = 0;
+        for (final Metric metric : steps.iterator().next().getMetrics()) {
+            if (Metric.MetricType.PROCESS_SKIP_COUNT == metric.getType()) {
+                assertEquals(metric.getValue(), 1);
+                checked++;
+            } else if (Metric.MetricType.WRITE_COUNT == metric.getType()) {
+                assertEquals(metric.getValue(), 19);
+                checked++;
+            }
+        }
+        assertEquals(checked, 2);
+    }
+
+    public static class Reader extends AbstractItemReader {
+        private int current = 0;
+
+        @Override
+        public Object readItem() throws Exception {
+            return current < 25 ? ++current : null;
+        }
+    }
+
+    public static class Processor implements ItemProcessor {
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            synchronized (PROCESSOR_THREADS) {
+                PROCESSOR_THREADS.add(Thread.currentThread().getName());
+            }
+            final int value = Integer.class.cast(item);
+            Thread.sleep((25 - value) % 4 * 5); // finish out of order
+            if (value == 7) {
+                throw new IllegalStateException("skipped");
+            }
+            return value % 5 == 0 ? null : item;
+        }
+    }
+
+    public static class Writer extends AbstractItemWriter {
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            WRITTEN.addAll(items);
+        }
+    }
+}
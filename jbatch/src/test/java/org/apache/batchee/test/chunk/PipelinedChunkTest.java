@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.chunk;
+
+import org.apache.batchee.util.Batches;
+import org.testng.annotations.Test;
+
+import jakarta.batch.api.chunk.AbstractItemReader;
+import jakarta.batch.api.chunk.AbstractItemWriter;
+import jakarta.batch.api.chunk.ItemProcessor;
+import jakarta.batch.operations.JobOperator;
+import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.BatchStatus;
+import jakarta.batch.runtime.Metric;
+import jakarta.batch.runtime.StepExecution;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class PipelinedChunkTest {
+    private static final List<Object> WRITTEN = new ArrayList<Object>();
+    private static final Collection<String> READER_THREADS = new HashSet<String>();
+    private static final Collection<String> WRITER_THREADS = new HashSet<String>();
+    private static final List<Object> RESTART_WRITTEN = new ArrayList<Object>();
+
+    @Test
+    public void run() {
+        final JobOperator op = BatchRuntime.getJobOperator();
+        final long id = op.start("pipelined-chunk", null);
+        Batches.waitForEnd(op, id);
+        assertEquals(op.getJobExecution(id).getBatchStatus(), BatchStatus.COMPLETED);
+
+        final List<Object> expected = new ArrayList<Object>();
+        for (int i = 1; i <= 25; i++) {
+            if (i % 5 != 0) {
+                expected.add(i);
+            }
+        }
+        assertEquals(WRITTEN, expected);
+        assertFalse(READER_THREADS.removeAll(WRITER_THREADS));
+
+        final List<StepExecution> steps = op.getStepExecutions(id);
+        assertEquals(steps.size(), 1);
+        int checked = 0;
+        for (final Metric metric : steps.iterator().next().getMetrics()) {
+            if (Metric.MetricType.READ_COUNT == metric.getType()) {
+                assertEquals(metric.getValue(), 25);
+                checked++;
+            } else if (Metric.MetricType.WRITE_COUNT == metric.getType()) {
+                assertEquals(metric.getValue(), 20);
+                checked++;
+            } else if (Metric.MetricType.FILTER_COUNT == metric.getType()) {
+                assertEquals(metric.getValue(), 5);
+                checked++;
+            } else if (Metric.MetricType.COMMIT_COUNT == metric.getType()) {
+                assertEquals(metric.getValue(), 3);
+                checked++;
+            }
+        }
+        assertEquals(checked, 4);
+    }
+
+    @Test
+    public void restartAfterWriterFailure() {
+        final JobOperator op = BatchRuntime.getJobOperator();
+        final long id = op.start("pipelined-chunk-restart", null);
+        Batches.waitForEnd(op, id);
+        assertEquals(op.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        // chunk 2 failed while chunk 3 was queued and chunk 4 waited for room in the queue
+        assertEquals(RestartReader.lastRead, 40);
+        // the reader waiting on the full queue left it on stop, no need to wait for the stop timeout (30s)
+        final long stopDuration = RestartReader.closedAt - FailOnceWriter.failedAt;
+        assertTrue(stopDuration >= 0 && stopDuration < TimeUnit.SECONDS.toMillis(10), Long.toString(stopDuration));
+
+        final long restartId = op.restart(id, null);
+        Batches.waitForEnd(op, restartId);
+        assertEquals(op.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+
+        // restarted from the checkpoint of chunk 1 and not from what was read ahead: nothing lost, nothing written twice
+        final List<Object> expected = new ArrayList<Object>();
+        for (int i = 1; i <= 50; i++) {
+            if (i % 5 != 0) {
+                expected.add(i);
+            }
+        }
+        assertEquals(RESTART_WRITTEN, expected);
+    }
+
+    @Test
+    public void stopInterruptsBlockedRead() {
+        final JobOperator op = BatchRuntime.getJobOperator();
+        final long id = op.start("pipelined-chunk-stop", null);
+        Batches.waitForEnd(op, id);
+        assertEquals(op.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        // the read of chunk 2 never ends by itself, it was interrupted after the stop timeout
+        assertTrue(BlockingReader.interrupted);
+        // and the reader was only closed once the reader thread left it
+        assertFalse(BlockingReader.closedWhileReading);
+    }
+
+    public static class Reader extends AbstractItemReader {
+        private int current = 0;
+
+        @Override
+        public void open(final Serializable checkpoint) throws Exception {
+            if (checkpoint != null) {
+                current = Integer.class.cast(checkpoint);
+            }
+        }
+
+        @Override
+        public Object readItem() throws Exception {
+            synchronized (READER_THREADS) {
+                READER_THREADS.add(Thread.currentThread().getName());
+            }
+            return current < 25 ? ++current : null;
+        }
+
+        @Override
+        public Serializable checkpointInfo() throws Exception {
+            return current;
+        }
+    }
+
+    public static class Processor implements ItemProcessor {
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            return Integer.class.cast(item) % 5 == 0 ? null : item;
+        }
+    }
+
+    public static class Writer extends AbstractItemWriter {
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            synchronized (WRITER_THREADS) {
+                WRITER_THREADS.add(Thread.currentThread().getName());
+            }
+            WRITTEN.addAll(items);
+        }
+    }
+
+    public static class RestartReader extends AbstractItemReader {
+        private static volatile int lastRead = 0;
+        private static volatile long closedAt = 0;
+
+        private int current = 0;
+
+        @Override
+        public void open(final Serializable checkpoint) throws Exception {
+            if (checkpoint != null) {
+                current = Integer.class.cast(checkpoint);
+            }
+        }
+
+        @Override
+        public Object readItem() throws Exception {
+            if (current == 50) {
+                return null;
+            }
+            lastRead = ++current;
+            return current;
+        }
+
+        @Override
+        public Serializable checkpointInfo() throws Exception {
+            return current;
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (closedAt == 0) {
+                closedAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    public static class FailOnceWriter extends AbstractItemWriter {
+        private static volatile long failedAt = 0;
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            if (failedAt == 0 && items.contains(11)) {
+                final long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+                while (RestartReader.lastRead < 40 && System.currentTimeMillis() < end) { // let the reader fill the queue
+                    Thread.sleep(10);
+                }
+                failedAt = System.currentTimeMillis();
+                throw new IllegalStateException("fail once");
+            }
+            RESTART_WRITTEN.addAll(items);
+        }
+    }
+
+    public static class BlockingReader extends AbstractItemReader {
+        private static final CountDownLatch BLOCKED = new CountDownLatch(1);
+        private static volatile boolean interrupted = false;
+        private static volatile boolean closedWhileReading = false;
+
+        private volatile boolean reading = false;
+        private int current = 0;
+
+        @Override
+        public Object readItem() throws Exception {
+            if (current < 10) {
+                return ++current;
+            }
+
+            reading = true;
+            try {
+                BLOCKED.countDown();
+                new CountDownLatch(1).await();
+                return null;
+            } catch (final InterruptedException e) {
+                interrupted = true;
+                throw e;
+            } finally {
+                reading = false;
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            closedWhileReading = reading;
+        }
+    }
+
+    public static class FailingWriter extends AbstractItemWriter {
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            BlockingReader.BLOCKED.await(10, TimeUnit.SECONDS);
+            throw new IllegalStateException("fail while the reader is blocked");
+        }
+    }
+}
@@ -19,9 +19,14 @@ package org.apache.batchee.test.data;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeSet;
 
 import jakarta.batch.api.chunk.AbstractItemReader;
 import jakarta.batch.api.chunk.AbstractItemWriter;
@@ -97,6 +102,84 @@ public class DefaultDataRepresentationServiceTest {
         assertRoundTripEquals(tst, true);
     }
 
+    @Test
+    public void testBinaryRepresentation() {
+        final DefaultDataRepresentationService binary = binaryService();
+
+        final Timestamp tst = new Timestamp(System.currentTimeMillis());
+        tst.setNanos(123456789);
+        final Object[] values = new Object[]{
+            0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0L, Long.MIN_VALUE, Long.MAX_VALUE, "", "h\u00e9llo", 12.34f, -0.5d,
+            new Date(), tst, MySampleEnum.ANOTHER_VALUE, java.time.LocalDate.now(), java.time.LocalTime.now(), java.time.LocalDateTime.now()
+        };
+        for (final Object value : values) {
+            final byte[] stored = binary.toInternalRepresentation(value);
+            Assert.assertEquals(DefaultDataRepresentationService.BINARY_MAGIC[0], stored[0]);
+            Assert.assertEquals(DefaultDataRepresentationService.BINARY_MAGIC[1], stored[1]);
+
+            final Object read = binary.toJavaRepresentation(stored);
+            Assert.assertEquals(value.getClass(), read.getClass());
+            Assert.assertEquals(value, read);
+            Assert.assertEquals(value, dataExtSvc.toJavaRepresentation(stored)); // readable whatever the config
+        }
+        Assert.assertEquals(4, binary.toInternalRepresentation(50).length);
+    }
+
+    @Test
+    public void testBinaryReadsStringRepresentation() {
+        final DefaultDataRepresentationService binary = binaryService();
+        Assert.assertEquals(4711, binary.<Integer>toJavaRepresentation(dataExtSvc.toInternalRepresentation(4711)).intValue());
+        Assert.assertEquals(MySampleEnum.VALUE2, binary.toJavaRepresentation(dataExtSvc.toInternalRepresentation(MySampleEnum.VALUE2)));
+
+        final SomeCustomJavaPojo pojo = new SomeCustomJavaPojo();
+        pojo.setI(3);
+        Assert.assertEquals(3, binary.<SomeCustomJavaPojo>toJavaRepresentation(binary.toInternalRepresentation(pojo)).getI());
+    }
+
+    @Test
+    public void testCollectionSerializer() {
+        final DefaultDataRepresentationService service = binaryService();
+
+        final Map<String, Object> offsets = new LinkedHashMap<String, Object>();
+        offsets.put("partition-0", 12L);
+        offsets.put("partition-1", null);
+        offsets.put("keys", new ArrayList<Object>(Arrays.asList(1, "two", MySampleEnum.VALUE1)));
+        offsets.put("sorted", new TreeSet<String>(Arrays.asList("b", "a")));
+
+        final byte[] stored = service.toInternalRepresentation(offsets);
+        Assert.assertEquals(DefaultDataRepresentationService.BINARY_MAGIC[0], stored[0]);
+        final Map<String, Object> read = service.toJavaRepresentation(stored);
+        Assert.assertEquals(LinkedHashMap.class, read.getClass());
+        Assert.assertEquals(offsets, read);
+        Assert.assertEquals(new ArrayList<String>(offsets.keySet()), new ArrayList<String>(read.keySet()));
+    }
+
+    @Test
+    public void testDefaultConfigurationKeepsLegacyFormat() {
+        final DefaultDataRepresentationService service = new DefaultDataRepresentationService();
+        service.init(new Properties()); // serializers discovered but binary not enabled
+
+        final Map<String, Object> offsets = new LinkedHashMap<String, Object>();
+        offsets.put("partition-0", 12L);
+        final byte[] stored = service.toInternalRepresentation(offsets);
+        Assert.assertEquals((byte) 0xAC, stored[0]); // java serialization stream
+        Assert.assertEquals((byte) 0xED, stored[1]);
+        Assert.assertEquals(offsets, service.toJavaRepresentation(stored));
+
+        Assert.assertTrue(new String(service.toInternalRepresentation(12L)).startsWith(DefaultDataRepresentationService.BATCHEE_DATA_PREFIX));
+
+        // data written in binary mode stays readable
+        Assert.assertEquals(offsets, service.toJavaRepresentation(binaryService().toInternalRepresentation(offsets)));
+    }
+
+    private static DefaultDataRepresentationService binaryService() {
+        final Properties config = new Properties();
+        config.setProperty("data.representation.binary", "true");
+        final DefaultDataRepresentationService binary = new DefaultDataRepresentationService();
+        binary.init(config);
+        return binary;
+    }
+
     @Test
     public void testJavaMathTypes() {
         //X TODO BigInteger, BigDecimal
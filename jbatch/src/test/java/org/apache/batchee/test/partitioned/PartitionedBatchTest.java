@@ -16,6 +16,8 @@
  */
 package org.apache.batchee.test.partitioned;
 
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.spi.PersistenceManagerService;
 import org.apache.batchee.test.lifecyle.ContainerLifecycle;
 import org.apache.batchee.util.Batches;
 import org.slf4j.Logger;
@@ -27,6 +29,8 @@ import org.testng.annotations.Test;
 import jakarta.batch.api.BatchProperty;
 import jakarta.batch.api.chunk.AbstractItemReader;
 import jakarta.batch.api.chunk.AbstractItemWriter;
+import jakarta.batch.api.partition.AbstractPartitionAnalyzer;
+import jakarta.batch.api.partition.PartitionCollector;
 import jakarta.batch.api.partition.PartitionMapper;
 import jakarta.batch.api.partition.PartitionPlan;
 import jakarta.batch.api.partition.PartitionPlanImpl;
@@ -34,11 +38,17 @@ import jakarta.batch.operations.JobOperator;
 import jakarta.batch.runtime.BatchRuntime;
 import jakarta.batch.runtime.BatchStatus;
 import jakarta.inject.Inject;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Listeners(ContainerLifecycle.class)
 public class PartitionedBatchTest {
@@ -66,6 +76,141 @@ public class PartitionedBatchTest {
         Assert.assertEquals(status, BatchStatus.STOPPED);
     }
 
+    @Test
+    public void partitionsAreMaterializedWhenAThreadIsFree() throws Exception {
+        LazyReader.block = true;
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long executionId = jobOperator.start("partition-lazy", new Properties());
+        Assert.assertTrue(LazyReader.STARTED.await(1, TimeUnit.MINUTES));
+
+        jobOperator.stop(executionId);
+        LazyReader.RELEASE.countDown();
+        Assert.assertEquals(Batches.waitFor(jobOperator, executionId), BatchStatus.STOPPED);
+
+        // threads=1 and the first partition was stopped so the other ones were never created
+        final PersistenceManagerService persistence = ServicesManager.find().service(PersistenceManagerService.class);
+        final long instanceId = jobOperator.getJobInstance(executionId).getInstanceId();
+        for (int i = 1; i < LazyMapper.NUMBER_OF_PARTITIONS; i++) {
+            Assert.assertEquals(persistence.jobOperatorGetJobInstanceCount(":" + instanceId + ":the-step:" + i), 0);
+        }
+
+        LazyReader.block = false;
+        final long restartId = jobOperator.restart(executionId, new Properties());
+        Assert.assertEquals(Batches.waitFor(jobOperator, restartId), BatchStatus.COMPLETED);
+        for (int i = 1; i < LazyMapper.NUMBER_OF_PARTITIONS; i++) {
+            Assert.assertTrue(LazyWriter.WRITTEN.contains(i), LazyWriter.WRITTEN.toString());
+        }
+    }
+
+    @Test
+    public void partitionsAreStartedWhileTheAnalyzerIsBusy() throws Exception {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long executionId = jobOperator.start("partition-analyzer", new Properties());
+        Assert.assertEquals(Batches.waitFor(jobOperator, executionId), BatchStatus.COMPLETED);
+
+        // threads=2 so the last partitions were started by the finished ones while the analyzer was blocked
+        Assert.assertTrue(BlockingAnalyzer.allOpenedWhileBlocked);
+        Assert.assertEquals(BlockingAnalyzer.STATUSES.get(), 4);
+        // the queue is bounded (queue-size=32, large enough to not block the partitions while the analyzer waits) and nothing is lost
+        Assert.assertEquals(BlockingAnalyzer.COLLECTED.get(), AnalyzedCollector.SENT.get());
+    }
+
+    public static class AnalyzedReader extends AbstractItemReader {
+        private static final CountDownLatch OPENED = new CountDownLatch(4);
+
+        private int count = 0;
+
+        @Override
+        public void open(final Serializable checkpoint) throws Exception {
+            OPENED.countDown();
+        }
+
+        @Override
+        public Object readItem() throws Exception {
+            return count++ < 3 ? count : null;
+        }
+    }
+
+    public static class AnalyzedCollector implements PartitionCollector {
+        private static final AtomicInteger SENT = new AtomicInteger();
+
+        @Override
+        public Serializable collectPartitionData() throws Exception {
+            SENT.incrementAndGet();
+            return "data";
+        }
+    }
+
+    public static class BlockingAnalyzer extends AbstractPartitionAnalyzer {
+        private static final AtomicInteger COLLECTED = new AtomicInteger();
+        private static final AtomicInteger STATUSES = new AtomicInteger();
+        private static volatile boolean allOpenedWhileBlocked = false;
+
+        @Override
+        public void analyzeCollectorData(final Serializable data) throws Exception {
+            COLLECTED.incrementAndGet();
+        }
+
+        @Override
+        public void analyzeStatus(final BatchStatus batchStatus, final String exitStatus) throws Exception {
+            if (STATUSES.getAndIncrement() == 0) {
+                allOpenedWhileBlocked = AnalyzedReader.OPENED.await(1, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    public static class LazyReader extends AbstractItemReader {
+        private static final CountDownLatch STARTED = new CountDownLatch(1);
+        private static final CountDownLatch RELEASE = new CountDownLatch(1);
+        private static volatile boolean block = false;
+
+        @Inject
+        @BatchProperty
+        private Integer idx;
+
+        private boolean read = false;
+
+        @Override
+        public Object readItem() throws Exception {
+            if (read) {
+                return null;
+            }
+            if (block && idx == 0) {
+                STARTED.countDown();
+                RELEASE.await(1, TimeUnit.MINUTES);
+            }
+            read = true;
+            return idx;
+        }
+    }
+
+    public static class LazyWriter extends AbstractItemWriter {
+        private static final Set<Object> WRITTEN = new CopyOnWriteArraySet<Object>();
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            WRITTEN.addAll(items);
+        }
+    }
+
+    public static class LazyMapper implements PartitionMapper {
+        private static final int NUMBER_OF_PARTITIONS = 5;
+
+        @Override
+        public PartitionPlan mapPartitions() throws Exception {
+            final Properties[] props = new Properties[NUMBER_OF_PARTITIONS];
+            for (int i = 0; i < NUMBER_OF_PARTITIONS; i++) {
+                props[i] = new Properties();
+                props[i].setProperty("idx", Integer.toString(i));
+            }
+
+            final PartitionPlanImpl plan = new PartitionPlanImpl();
+            plan.setPartitions(NUMBER_OF_PARTITIONS);
+            plan.setThreads(1);
+            plan.setPartitionProperties(props);
+            return plan;
+        }
+    }
 
     public static class StopReader extends AbstractItemReader {
 
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.persistence;
+
+import org.apache.batchee.util.Batches;
+import org.testng.annotations.Test;
+
+import jakarta.batch.operations.JobOperator;
+import jakarta.batch.operations.NoSuchJobExecutionException;
+import jakarta.batch.runtime.BatchRuntime;
+import jakarta.batch.runtime.BatchStatus;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class PurgeBatchletTest {
+    @Test
+    public void purgeEndedInstances() {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long simpleId = jobOperator.start("simple", new Properties());
+        assertEquals(Batches.waitFor(jobOperator, simpleId), BatchStatus.COMPLETED);
+
+        final Properties params = new Properties();
+        params.setProperty("until", new SimpleDateFormat("yyyyMMdd").format(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1))));
+        params.setProperty("batchSize", "1");
+        final long purgeId = jobOperator.start("purge", params);
+        assertEquals(Batches.waitFor(jobOperator, purgeId), BatchStatus.COMPLETED);
+        assertTrue(Long.parseLong(jobOperator.getJobExecution(purgeId).getExitStatus()) >= 1);
+
+        try {
+            jobOperator.getJobInstance(simpleId);
+            fail("simple job instance should be purged");
+        } catch (final NoSuchJobExecutionException e) {
+            // ok
+        }
+        // the purge execution was running so it is kept
+        assertEquals(jobOperator.getJobExecution(purgeId).getBatchStatus(), BatchStatus.COMPLETED);
+    }
+
+    @Test
+    public void retentionKeepsRecentInstances() {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long simpleId = jobOperator.start("simple", new Properties());
+        assertEquals(Batches.waitFor(jobOperator, simpleId), BatchStatus.COMPLETED);
+
+        final Properties params = new Properties();
+        params.setProperty("retentionDays", "1");
+        final long purgeId = jobOperator.start("purge", params);
+        assertEquals(Batches.waitFor(jobOperator, purgeId), BatchStatus.COMPLETED);
+        assertEquals(jobOperator.getJobInstance(simpleId).getJobName(), "simple");
+    }
+
+    @Test
+    public void missingLimitFails() {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long purgeId = jobOperator.start("purge", new Properties());
+        assertEquals(Batches.waitFor(jobOperator, purgeId), BatchStatus.FAILED);
+    }
+}
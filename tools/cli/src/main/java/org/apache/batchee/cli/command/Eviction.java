@@ -19,6 +19,7 @@ package org.apache.batchee.cli.command;
 import org.apache.batchee.cli.command.api.Command;
 import org.apache.batchee.cli.command.api.Option;
 import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.container.services.persistence.IncrementalPurge;
 import org.apache.batchee.spi.PersistenceManagerService;
 
 import java.text.ParseException;
@@ -30,11 +31,22 @@ public class Eviction implements Runnable {
     @Option(name = "until", description = "date until when the eviction will occur (excluded), YYYYMMDD format", required = true)
     private String date;
 
+    @Option(name = "batch-size", description = "when > 0 purges by batches of this number of job instances, each one in its own transaction")
+    private int batchSize = 0;
+
+    @Option(name = "pause", description = "pause in ms between two batches when batch-size is set")
+    private long pause = 0;
+
     @Override
     public void run() {
         try {
             final Date date = new SimpleDateFormat("yyyyMMdd").parse(this.date);
-            ServicesManager.find().service(PersistenceManagerService.class).cleanUp(date);
+            final PersistenceManagerService service = ServicesManager.find().service(PersistenceManagerService.class);
+            if (batchSize > 0) {
+                new IncrementalPurge(service, batchSize, pause, 0).run(date);
+            } else {
+                service.cleanUp(date);
+            }
         } catch (final ParseException e) {
             throw new IllegalArgumentException(e);
         }